@@ -0,0 +1,112 @@
+package com.projectArka.user_service.benchmark;
+
+import com.projectArka.user_service.application.port.out.TokenClaims;
+import com.projectArka.user_service.infrastructure.adapter.out.security.CompactClaims;
+import com.projectArka.user_service.infrastructure.adapter.out.security.Hs256TokenCodec;
+import com.projectArka.user_service.infrastructure.adapter.out.security.RoleBitmask;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issue and verify throughput of {@link Hs256TokenCodec} against the jjwt builder and a reused
+ * jjwt parser, for the claim set the service issues, and of the compact profile. Setup fails if the
+ * codec and jjwt disagree on the bytes, and prints the size of both token profiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenCodecBenchmark {
+
+    private static final byte[] KEY_BYTES = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final long IAT = 1_700_000_000L;
+    private static final long EXP = 4_100_000_000L;
+    private static final String USER_ID = "4f1c2d3e-0000-4000-8000-000000000001";
+
+    private final Set<String> roles = new LinkedHashSet<>(List.of("ROLE_USER", "ROLE_ADMIN"));
+    private Key key;
+    private JwtParser parser;
+    private Hs256TokenCodec codec;
+    private String token;
+    private RoleBitmask bitmask;
+    private String compactUserId;
+    private long roleMask;
+    private String compactToken;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(KEY_BYTES);
+        parser = Jwts.parserBuilder().setSigningKey(key).build();
+        codec = new Hs256TokenCodec(KEY_BYTES);
+        token = jjwtIssue();
+        if (!token.equals(codecIssue())) {
+            throw new IllegalStateException("Codec output differs from jjwt");
+        }
+        bitmask = RoleBitmask.of(List.of("ROLE_ADMIN", "ROLE_USER"));
+        compactUserId = CompactClaims.compactUserId(USER_ID);
+        roleMask = bitmask.encode(roles);
+        compactToken = codecIssueCompact();
+        System.out.printf("%nToken size: regular %d bytes, compact %d bytes%n", token.length(), compactToken.length());
+    }
+
+    @Benchmark
+    public String jjwtIssue() {
+        return Jwts.builder()
+                .setSubject("benchmark-user")
+                .claim("userId", USER_ID)
+                .claim("roles", roles)
+                .setIssuedAt(new Date(IAT * 1000))
+                .setExpiration(new Date(EXP * 1000))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public String codecIssue() {
+        return codec.encode("benchmark-user", USER_ID, roles, IAT, EXP);
+    }
+
+    @Benchmark
+    public Claims jjwtVerify() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public TokenClaims codecVerify() {
+        return codec.decode(token, System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public String codecIssueCompact() {
+        return codec.encodeCompact("benchmark-user", compactUserId, roleMask, bitmask.version(), IAT, EXP);
+    }
+
+    @Benchmark
+    public TokenClaims codecVerifyCompact() {
+        return codec.decode(compactToken, System.currentTimeMillis(),
+                (version, mask) -> version == bitmask.version() ? bitmask.decode(mask) : null);
+    }
+}
@@ -7,6 +7,7 @@ import lombok.Value;
 @Builder
 public class AuthResponseDTO {
     String token;
+    String refreshToken;
     String userId;
     String username;
     String email;
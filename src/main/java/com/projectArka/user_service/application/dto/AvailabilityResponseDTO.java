@@ -0,0 +1,15 @@
+package com.projectArka.user_service.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AvailabilityResponseDTO {
+    String username;
+    Boolean usernameAvailable;
+    String email;
+    Boolean emailAvailable;
+}
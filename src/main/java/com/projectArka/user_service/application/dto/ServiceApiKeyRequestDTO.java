@@ -0,0 +1,19 @@
+package com.projectArka.user_service.application.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceApiKeyRequestDTO {
+
+    @NotBlank(message = "Service name cannot be empty")
+    @Pattern(regexp = "^[a-z0-9][a-z0-9-]{0,99}$", message = "Service name must be lowercase letters, digits and dashes, up to 100 characters")
+    private String name;
+}
@@ -0,0 +1,17 @@
+package com.projectArka.user_service.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ServiceApiKeyResponseDTO {
+    String name;
+    LocalDateTime createdAt;
+    /** Only present in the response that issues the key. */
+    String apiKey;
+}
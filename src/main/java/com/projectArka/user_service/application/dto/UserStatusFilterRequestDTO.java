@@ -0,0 +1,30 @@
+package com.projectArka.user_service.application.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStatusFilterRequestDTO {
+
+    @Size(max = 10000, message = "No more than 10000 user IDs can be sent in a single request")
+    private List<String> ids;
+
+    @Size(max = 255, message = "Email domain cannot exceed 255 characters")
+    private String emailDomain;
+
+    @Size(max = 50, message = "Role cannot exceed 50 characters")
+    private String role;
+
+    private LocalDateTime createdFrom;
+
+    private LocalDateTime createdTo;
+}
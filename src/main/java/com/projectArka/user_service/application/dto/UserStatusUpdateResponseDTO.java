@@ -0,0 +1,11 @@
+package com.projectArka.user_service.application.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class UserStatusUpdateResponseDTO {
+    boolean active;
+    long affected;
+}
@@ -3,9 +3,11 @@ package com.projectArka.user_service.application.mapper;
 
 import com.projectArka.user_service.application.dto.UserRegisterRequestDTO;
 import com.projectArka.user_service.application.dto.UserResponseDTO;
+import com.projectArka.user_service.application.dto.UserStatusFilterRequestDTO;
 import com.projectArka.user_service.application.dto.UserUpdateRequestDTO;
 import com.projectArka.user_service.application.dto.RoleDTO;
 import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.domain.model.UserFilter;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -23,6 +25,8 @@ public interface IUserMapper {
 
     UserResponseDTO toDTO(User domain);
 
+    UserFilter toFilter(UserStatusFilterRequestDTO dto);
+
     default RoleDTO map(String roleName) {
         if (roleName == null) {
             return null;
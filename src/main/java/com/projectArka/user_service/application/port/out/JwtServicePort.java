@@ -1,11 +1,35 @@
 package com.projectArka.user_service.application.port.out;
 
+import com.projectArka.user_service.domain.model.RefreshToken;
 import com.projectArka.user_service.domain.model.User;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.Map;
+
 public interface JwtServicePort {
 
     Mono<String> generateToken(User user);
     Mono<Boolean> validateToken(String token);
     Mono<String> extractUsername(String token);
+
+    /**
+     * Parses and verifies a token (signature and expiry) in one pass. Completes empty when the
+     * token is malformed, forged or expired.
+     */
+    Mono<TokenClaims> verify(String token);
+
+    Duration refreshTokenTtl();
+
+    /** Signs a refresh token for a stored {@link RefreshToken}; it expires with the stored row. */
+    Mono<String> generateRefreshToken(User user, RefreshToken refreshToken);
+
+    /**
+     * Verifies a refresh token's signature and expiry. Completes empty for anything else, access
+     * tokens included.
+     */
+    Mono<RefreshTokenClaims> verifyRefreshToken(String token);
+
+    /** Public verification keys as a JWK set; empty when tokens are signed with a shared secret. */
+    Mono<Map<String, Object>> publicKeySet();
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.projectArka.user_service.application.port.out;
+
+/**
+ * Records login outcomes per user. Calls return at once; the outcomes are written later and may be
+ * lost if the process dies before they are.
+ */
+public interface LoginActivityPort {
+
+    void recordSuccess(String userId);
+
+    void recordFailure(String userId);
+}
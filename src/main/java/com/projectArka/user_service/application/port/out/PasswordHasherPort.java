@@ -0,0 +1,18 @@
+package com.projectArka.user_service.application.port.out;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Password hashing off the event loop. Fails with
+ * {@link com.projectArka.user_service.domain.exception.HashingCapacityExceededException} instead of
+ * queueing when the hashing capacity is exhausted.
+ */
+public interface PasswordHasherPort {
+
+    Mono<String> encode(String rawPassword);
+
+    Mono<Boolean> matches(String rawPassword, String encodedPassword);
+
+    /** Whether the hash was made with another algorithm or cost than new hashes; cheap, no hashing. */
+    boolean needsRehash(String encodedPassword);
+}
@@ -0,0 +1,12 @@
+package com.projectArka.user_service.application.port.out;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class RefreshTokenClaims {
+    String tokenId;
+    String familyId;
+    String userId;
+}
@@ -0,0 +1,17 @@
+package com.projectArka.user_service.application.port.out;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Set;
+
+@Value
+@Builder
+public class TokenClaims {
+    String subject;
+    String userId;
+    Set<String> roles;
+    Instant issuedAt;
+    Instant expiresAt;
+}
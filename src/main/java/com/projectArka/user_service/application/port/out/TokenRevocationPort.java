@@ -0,0 +1,20 @@
+package com.projectArka.user_service.application.port.out;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface TokenRevocationPort {
+
+    /** Revokes one access token until it expires. */
+    Mono<Void> revokeToken(String token, Instant expiresAt);
+
+    /**
+     * Revokes every access token issued to the user so far, including the rest of the current
+     * second, so a token issued right after the call may be rejected as well.
+     */
+    Mono<Void> revokeAllForUser(String userId);
+
+    /** In-memory check, safe to call on every request. */
+    boolean isRevoked(String token, TokenClaims claims);
+}
@@ -0,0 +1,14 @@
+package com.projectArka.user_service.application.port.out;
+
+import com.projectArka.user_service.domain.model.User;
+
+/**
+ * Remembers recently verified passwords so a repeat login can skip the password hash. Answers
+ * {@code false} whenever it cannot vouch for the password, including when it is disabled.
+ */
+public interface VerifiedCredentialsPort {
+
+    boolean isVerified(User user, String rawPassword);
+
+    void remember(User user, String rawPassword);
+}
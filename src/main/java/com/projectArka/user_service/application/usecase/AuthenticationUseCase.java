@@ -1,34 +1,53 @@
 package com.projectArka.user_service.application.usecase;
 
 import com.projectArka.user_service.application.dto.AuthResponseDTO;
+import com.projectArka.user_service.application.dto.AvailabilityResponseDTO;
 import com.projectArka.user_service.application.dto.LoginRequestDTO;
 import com.projectArka.user_service.application.dto.UserRegisterRequestDTO;
 import com.projectArka.user_service.application.mapper.IUserMapper;
 import com.projectArka.user_service.application.port.out.JwtServicePort;
+import com.projectArka.user_service.application.port.out.LoginActivityPort;
+import com.projectArka.user_service.application.port.out.PasswordHasherPort;
+import com.projectArka.user_service.application.port.out.RefreshTokenClaims;
+import com.projectArka.user_service.application.port.out.TokenRevocationPort;
+import com.projectArka.user_service.application.port.out.VerifiedCredentialsPort;
+import com.projectArka.user_service.domain.exception.HashingCapacityExceededException;
 import com.projectArka.user_service.domain.exception.InvalidCredentialsException;
+import com.projectArka.user_service.domain.exception.InvalidRequestException;
 import com.projectArka.user_service.domain.exception.UserAlreadyExistsException;
+import com.projectArka.user_service.domain.exception.UserNotFoundException;
+import com.projectArka.user_service.domain.model.RefreshToken;
 import com.projectArka.user_service.domain.model.User;
 import com.projectArka.user_service.domain.port.in.IAuthenticateUserPort;
+import com.projectArka.user_service.domain.port.in.ICheckAvailabilityPort;
+import com.projectArka.user_service.domain.port.in.IGetPublicKeySetPort;
+import com.projectArka.user_service.domain.port.out.RefreshTokenRepositoryPort;
 import com.projectArka.user_service.domain.port.out.RoleRepositoryPort;
 import com.projectArka.user_service.domain.port.out.UserRepositoryPort;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class AuthenticationUseCase implements IAuthenticateUserPort {
+public class AuthenticationUseCase implements IAuthenticateUserPort, ICheckAvailabilityPort, IGetPublicKeySetPort {
 
     private final UserRepositoryPort userRepositoryPort;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasherPort passwordHasher;
     private final RoleRepositoryPort roleRepositoryPort;
     private final JwtServicePort jwtServicePort;
     private final IUserMapper userMapper;
+    private final RefreshTokenRepositoryPort refreshTokenRepositoryPort;
+    private final TokenRevocationPort tokenRevocationPort;
+    private final LoginActivityPort loginActivityPort;
+    private final VerifiedCredentialsPort verifiedCredentials;
 
     public Mono<AuthResponseDTO> registerUser(UserRegisterRequestDTO requestDTO) {
         Mono<Void> checkUsernameMono = userRepositoryPort.findByUsername(requestDTO.getUsername())
@@ -41,8 +60,7 @@ public class AuthenticationUseCase implements IAuthenticateUserPort {
 
         return Mono.when(checkUsernameMono, checkEmailMono)
                 .then(Mono.defer(() -> {
-                    return Mono.fromCallable(() -> passwordEncoder.encode(requestDTO.getPassword()))
-                            .subscribeOn(Schedulers.boundedElastic())
+                    return passwordHasher.encode(requestDTO.getPassword())
                             .flatMap(encodedPassword -> {
                                 final User baseUser = userMapper.toDomain(requestDTO).toBuilder()
                                         .password(encodedPassword)
@@ -61,13 +79,7 @@ public class AuthenticationUseCase implements IAuthenticateUserPort {
                                         });
                             });
                 }))
-                .flatMap(savedUser -> jwtServicePort.generateToken(savedUser)
-                        .map(token -> AuthResponseDTO.builder()
-                                .token(token)
-                                .userId(savedUser.getId())
-                                .username(savedUser.getUsername())
-                                .email(savedUser.getEmail())
-                                .build()));
+                .flatMap(savedUser -> issueTokens(savedUser, UUID.randomUUID().toString()));
     }
 
     @Override
@@ -75,26 +87,154 @@ public class AuthenticationUseCase implements IAuthenticateUserPort {
         return userRepositoryPort.findByUsername(username)
                 .switchIfEmpty(Mono.error(new InvalidCredentialsException("Invalid username or password")))
                 .flatMap(user ->
-                        Mono.fromCallable(() -> passwordEncoder.matches(rawPassword, user.getPassword()))
-                                .subscribeOn(Schedulers.boundedElastic())
+                        verifyPassword(user, rawPassword)
                                 .flatMap(matches -> {
                                     if (Boolean.TRUE.equals(matches)) {
+                                        loginActivityPort.recordSuccess(user.getId());
+                                        rehashIfOutdated(user, rawPassword);
                                         return Mono.just(user);
                                     } else {
+                                        loginActivityPort.recordFailure(user.getId());
                                         return Mono.error(new InvalidCredentialsException("Invalid username or password"));
                                     }
                                 })
                 );
     }
 
+    private Mono<Boolean> verifyPassword(User user, String rawPassword) {
+        if (verifiedCredentials.isVerified(user, rawPassword)) {
+            return Mono.just(true);
+        }
+        return passwordHasher.matches(rawPassword, user.getPassword())
+                .doOnNext(matches -> {
+                    if (Boolean.TRUE.equals(matches)) {
+                        verifiedCredentials.remember(user, rawPassword);
+                    }
+                });
+    }
+
+    /**
+     * Upgrades a hash made with an older algorithm or a lower cost while the raw password is at hand.
+     * Runs detached from the login; the update only applies if the hash is still the one verified.
+     */
+    private void rehashIfOutdated(User user, String rawPassword) {
+        if (!passwordHasher.needsRehash(user.getPassword())) {
+            return;
+        }
+        passwordHasher.encode(rawPassword)
+                .flatMap(rehashed -> userRepositoryPort.updatePassword(user.getId(), user.getPassword(), rehashed))
+                .subscribe(
+                        updated -> log.debug("Password hash of user {} {}", user.getId(), updated ? "upgraded" : "changed concurrently, not upgraded"),
+                        error -> {
+                            if (error instanceof HashingCapacityExceededException) {
+                                log.debug("Hashing pool busy, password hash of user {} upgraded on a later login", user.getId());
+                            } else {
+                                log.warn("Could not upgrade the password hash of user {}: {}", user.getId(), error.getMessage());
+                            }
+                        });
+    }
+
     public Mono<AuthResponseDTO> authenticateAndGenerateToken(LoginRequestDTO loginRequest) {
         return authenticate(loginRequest.getUsername(), loginRequest.getPassword())
-                .flatMap(user -> jwtServicePort.generateToken(user)
-                        .map(token -> AuthResponseDTO.builder()
-                                .token(token)
-                                .userId(user.getId())
-                                .username(user.getUsername())
-                                .email(user.getEmail())
-                                .build()));
+                .flatMap(user -> issueTokens(user, UUID.randomUUID().toString()));
+    }
+
+    @Override
+    public Mono<AuthResponseDTO> refresh(String refreshToken) {
+        return jwtServicePort.verifyRefreshToken(refreshToken)
+                .switchIfEmpty(Mono.error(new InvalidCredentialsException("Invalid refresh token")))
+                .flatMap(claims -> refreshTokenRepositoryPort.markRotated(claims.getTokenId())
+                        .flatMap(rotated -> rotated
+                                ? userRepositoryPort.findById(claims.getUserId())
+                                        .filter(user -> Boolean.TRUE.equals(user.getActive()))
+                                        .switchIfEmpty(Mono.error(new InvalidCredentialsException("Invalid refresh token")))
+                                        .flatMap(user -> issueTokens(user, claims.getFamilyId()))
+                                : rejectReuse(claims)));
+    }
+
+    /**
+     * Revokes the presented access token and, when given and issued to the same user, the refresh
+     * token family it belongs to.
+     */
+    @Override
+    public Mono<Void> logout(String accessToken, String refreshToken) {
+        return jwtServicePort.verify(accessToken)
+                .switchIfEmpty(Mono.error(new InvalidCredentialsException("Invalid access token")))
+                .flatMap(claims -> {
+                    Mono<Void> family = refreshToken == null || refreshToken.isBlank()
+                            ? Mono.empty()
+                            : jwtServicePort.verifyRefreshToken(refreshToken)
+                                    .filter(refreshClaims -> refreshClaims.getUserId().equals(claims.getUserId()))
+                                    .flatMap(refreshClaims -> refreshTokenRepositoryPort.revokeFamily(refreshClaims.getFamilyId()));
+                    return Mono.when(tokenRevocationPort.revokeToken(accessToken, claims.getExpiresAt()), family);
+                });
+    }
+
+    @Override
+    public Mono<Void> revokeAllTokens(String userId) {
+        return userRepositoryPort.findById(userId)
+                .switchIfEmpty(Mono.error(new UserNotFoundException("User with ID " + userId + " not found")))
+                .flatMap(user -> {
+                    log.info("Revoking all tokens of user {}", user.getId());
+                    return Mono.when(tokenRevocationPort.revokeAllForUser(user.getId()),
+                            refreshTokenRepositoryPort.revokeAllForUser(user.getId()));
+                });
+    }
+
+    private Mono<AuthResponseDTO> rejectReuse(RefreshTokenClaims claims) {
+        return refreshTokenRepositoryPort.findById(claims.getTokenId())
+                .filter(stored -> stored.getRotatedAt() != null && stored.getRevokedAt() == null)
+                .flatMap(stored -> {
+                    log.warn("Refresh token {} of user {} was reused, revoking its family", stored.getId(), stored.getUserId());
+                    return refreshTokenRepositoryPort.revokeFamily(stored.getFamilyId());
+                })
+                .then(Mono.error(new InvalidCredentialsException("Invalid refresh token")));
+    }
+
+    private Mono<AuthResponseDTO> issueTokens(User user, String familyId) {
+        RefreshToken refreshToken = RefreshToken.builder()
+                .familyId(familyId)
+                .userId(user.getId())
+                .expiresAt(LocalDateTime.now().plus(jwtServicePort.refreshTokenTtl()))
+                .build();
+        return Mono.zip(jwtServicePort.generateToken(user),
+                        refreshTokenRepositoryPort.save(refreshToken)
+                                .flatMap(stored -> jwtServicePort.generateRefreshToken(user, stored)))
+                .map(tokens -> AuthResponseDTO.builder()
+                        .token(tokens.getT1())
+                        .refreshToken(tokens.getT2())
+                        .userId(user.getId())
+                        .username(user.getUsername())
+                        .email(user.getEmail())
+                        .build());
+    }
+
+    @Override
+    public Mono<AvailabilityResponseDTO> checkAvailability(String username, String email) {
+        boolean checkUsername = username != null && !username.isBlank();
+        boolean checkEmail = email != null && !email.isBlank();
+        if (!checkUsername && !checkEmail) {
+            return Mono.error(new InvalidRequestException("Provide a username, an email or both"));
+        }
+
+        Mono<Boolean> usernameAvailable = checkUsername
+                ? userRepositoryPort.existsByUsername(username).map(exists -> !exists)
+                : Mono.just(false);
+        Mono<Boolean> emailAvailable = checkEmail
+                ? userRepositoryPort.existsByEmail(email).map(exists -> !exists)
+                : Mono.just(false);
+
+        return Mono.zip(usernameAvailable, emailAvailable)
+                .map(result -> AvailabilityResponseDTO.builder()
+                        .username(checkUsername ? username : null)
+                        .usernameAvailable(checkUsername ? result.getT1() : null)
+                        .email(checkEmail ? email : null)
+                        .emailAvailable(checkEmail ? result.getT2() : null)
+                        .build());
+    }
+
+    @Override
+    public Mono<Map<String, Object>> getPublicKeySet() {
+        return jwtServicePort.publicKeySet();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,81 @@
+package com.projectArka.user_service.application.usecase;
+
+import com.projectArka.user_service.application.dto.ServiceApiKeyRequestDTO;
+import com.projectArka.user_service.application.dto.ServiceApiKeyResponseDTO;
+import com.projectArka.user_service.domain.exception.ServiceApiKeyAlreadyExistsException;
+import com.projectArka.user_service.domain.exception.ServiceApiKeyNotFoundException;
+import com.projectArka.user_service.domain.model.ServiceApiKey;
+import com.projectArka.user_service.domain.port.in.IManageServiceApiKeysPort;
+import com.projectArka.user_service.domain.port.out.ServiceApiKeyRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ServiceApiKeyUseCase implements IManageServiceApiKeysPort {
+
+    static final String KEY_PREFIX = "sk_";
+    private static final int KEY_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final ServiceApiKeyRepositoryPort serviceApiKeyRepositoryPort;
+
+    /**
+     * Issues a new random key for the service. The key is only ever returned here. The insert itself
+     * detects an existing key, so concurrent issues for the same name leave exactly one winner.
+     */
+    @Override
+    public Mono<ServiceApiKeyResponseDTO> issueKey(ServiceApiKeyRequestDTO request) {
+        String name = request.getName();
+        String apiKey = newKey();
+        return serviceApiKeyRepositoryPort.save(name, apiKey)
+                .onErrorMap(DataIntegrityViolationException.class, ex -> alreadyExists(name))
+                .switchIfEmpty(Mono.error(() -> alreadyExists(name)))
+                .doOnNext(saved -> log.info("Issued API key for service {}", saved.getName()))
+                .map(saved -> toResponse(saved, apiKey));
+    }
+
+    @Override
+    public Flux<ServiceApiKeyResponseDTO> listKeys() {
+        return serviceApiKeyRepositoryPort.findAll()
+                .map(key -> toResponse(key, null));
+    }
+
+    @Override
+    public Mono<Void> revokeKey(String name) {
+        return serviceApiKeyRepositoryPort.deleteByName(name)
+                .flatMap(deleted -> {
+                    if (!Boolean.TRUE.equals(deleted)) {
+                        return Mono.error(new ServiceApiKeyNotFoundException("No API key for service '" + name + "'"));
+                    }
+                    log.info("Revoked API key of service {}", name);
+                    return Mono.empty();
+                });
+    }
+
+    private static ServiceApiKeyAlreadyExistsException alreadyExists(String name) {
+        return new ServiceApiKeyAlreadyExistsException("An API key for service '" + name + "' already exists");
+    }
+
+    private static String newKey() {
+        byte[] secret = new byte[KEY_BYTES];
+        RANDOM.nextBytes(secret);
+        return KEY_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+    }
+
+    private static ServiceApiKeyResponseDTO toResponse(ServiceApiKey key, String apiKey) {
+        return ServiceApiKeyResponseDTO.builder()
+                .name(key.getName())
+                .createdAt(key.getCreatedAt())
+                .apiKey(apiKey)
+                .build();
+    }
+}
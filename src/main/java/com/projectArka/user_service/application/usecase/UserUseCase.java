@@ -1,31 +1,34 @@
 package com.projectArka.user_service.application.usecase;
 
+import com.projectArka.user_service.application.port.out.PasswordHasherPort;
+import com.projectArka.user_service.domain.exception.InvalidRequestException;
 import com.projectArka.user_service.domain.port.in.ICreateUserPort;
 import com.projectArka.user_service.domain.port.in.IDeleteUserPort;
 import com.projectArka.user_service.domain.port.in.IGetUserPort;
 import com.projectArka.user_service.domain.port.in.IUpdateUserPort;
+import com.projectArka.user_service.domain.port.in.IUpdateUserStatusPort;
 import com.projectArka.user_service.domain.exception.UserAlreadyExistsException;
 import com.projectArka.user_service.domain.exception.UserNotFoundException;
 import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.domain.model.UserFilter;
 import com.projectArka.user_service.domain.port.out.RoleRepositoryPort;
 import com.projectArka.user_service.domain.port.out.UserRepositoryPort;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
-public class UserUseCase implements ICreateUserPort, IGetUserPort, IUpdateUserPort, IDeleteUserPort {
+public class UserUseCase implements ICreateUserPort, IGetUserPort, IUpdateUserPort, IUpdateUserStatusPort, IDeleteUserPort {
 
     private final UserRepositoryPort userRepositoryPort;
     private final RoleRepositoryPort roleRepositoryPort;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasherPort passwordHasher;
 
     @Override
     public Mono<User> createUser(User user) {
@@ -39,8 +42,7 @@ public class UserUseCase implements ICreateUserPort, IGetUserPort, IUpdateUserPo
 
         return Mono.when(checkUsernameMono, checkEmailMono)
                 .then(Mono.defer(() -> {
-                    return Mono.fromCallable(() -> passwordEncoder.encode(user.getPassword()))
-                            .subscribeOn(Schedulers.boundedElastic())
+                    return passwordHasher.encode(user.getPassword())
                             .flatMap(encodedPassword -> {
                                 return roleRepositoryPort.findByName("ROLE_USER")
                                         .switchIfEmpty(
@@ -67,6 +69,11 @@ public class UserUseCase implements ICreateUserPort, IGetUserPort, IUpdateUserPo
                 .switchIfEmpty(Mono.error(new UserNotFoundException("User with ID " + id + " not found")));
     }
 
+    @Override
+    public Mono<LocalDateTime> getUserVersion(String id) {
+        return userRepositoryPort.findUpdatedAtById(id);
+    }
+
     @Override
     public Mono<User> getUserByUsername(String username) {
         return userRepositoryPort.findByUsername(username)
@@ -89,8 +96,7 @@ public class UserUseCase implements ICreateUserPort, IGetUserPort, IUpdateUserPo
                 .flatMap(existingUser -> {
                     Mono<String> encodedPasswordMono;
                     if (user.getPassword() != null && !user.getPassword().isEmpty()) {
-                        encodedPasswordMono = Mono.fromCallable(() -> passwordEncoder.encode(user.getPassword()))
-                                .subscribeOn(Schedulers.boundedElastic());
+                        encodedPasswordMono = passwordHasher.encode(user.getPassword());
                     } else {
                         encodedPasswordMono = Mono.just(existingUser.getPassword());
                     }
@@ -117,6 +123,47 @@ public class UserUseCase implements ICreateUserPort, IGetUserPort, IUpdateUserPo
                 });
     }
 
+    @Override
+    public Mono<Long> deactivateUsers(UserFilter filter) {
+        return updateActiveByFilter(filter, false);
+    }
+
+    @Override
+    public Mono<Long> reactivateUsers(UserFilter filter) {
+        return updateActiveByFilter(filter, true);
+    }
+
+    private Mono<Long> updateActiveByFilter(UserFilter filter, boolean active) {
+        if (filter == null || filter.isEmpty()) {
+            return Mono.error(new InvalidRequestException("At least one filter criterion is required for a bulk status update"));
+        }
+        if (filter.getCreatedFrom() != null && filter.getCreatedTo() != null
+                && filter.getCreatedFrom().isAfter(filter.getCreatedTo())) {
+            return Mono.error(new InvalidRequestException("createdFrom must not be after createdTo"));
+        }
+        if (filter.getIds() != null) {
+            for (String id : filter.getIds()) {
+                if (!isUuid(id)) {
+                    return Mono.error(new InvalidRequestException("Invalid user id: " + id));
+                }
+            }
+        }
+        return userRepositoryPort.updateActiveByFilter(filter, active)
+                .count();
+    }
+
+    private static boolean isUuid(String id) {
+        if (id == null) {
+            return false;
+        }
+        try {
+            UUID.fromString(id);
+            return true;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
     @Override
     public Mono<Void> deleteUserById(String id) {
         return userRepositoryPort.findById(id)
@@ -131,7 +178,6 @@ public class UserUseCase implements ICreateUserPort, IGetUserPort, IUpdateUserPo
     }
 
     public Mono<Boolean> userExists(String userId) {
-        return userRepositoryPort.findById(userId)
-                .hasElement();
+        return userRepositoryPort.existsById(userId);
     }
 }
\ No newline at end of file
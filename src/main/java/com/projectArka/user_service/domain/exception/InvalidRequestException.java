@@ -0,0 +1,7 @@
+package com.projectArka.user_service.domain.exception;
+
+public class InvalidRequestException extends RuntimeException {
+  public InvalidRequestException(String message) {
+    super(message);
+  }
+}
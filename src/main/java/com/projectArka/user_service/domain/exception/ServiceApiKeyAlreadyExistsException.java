@@ -0,0 +1,7 @@
+package com.projectArka.user_service.domain.exception;
+
+public class ServiceApiKeyAlreadyExistsException extends RuntimeException {
+  public ServiceApiKeyAlreadyExistsException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,7 @@
+package com.projectArka.user_service.domain.exception;
+
+public class ServiceApiKeyNotFoundException extends RuntimeException {
+  public ServiceApiKeyNotFoundException(String message) {
+    super(message);
+  }
+}
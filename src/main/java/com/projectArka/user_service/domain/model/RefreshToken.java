@@ -0,0 +1,17 @@
+package com.projectArka.user_service.domain.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder(toBuilder = true)
+public class RefreshToken {
+    String id;
+    String familyId;
+    String userId;
+    LocalDateTime expiresAt;
+    LocalDateTime rotatedAt;
+    LocalDateTime revokedAt;
+}
@@ -0,0 +1,16 @@
+package com.projectArka.user_service.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+@AllArgsConstructor
+public class ServiceApiKey {
+    String id;
+    String name;
+    LocalDateTime createdAt;
+}
@@ -0,0 +1,25 @@
+package com.projectArka.user_service.domain.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Value
+@Builder
+public class UserFilter {
+    List<String> ids;
+    String emailDomain;
+    String role;
+    LocalDateTime createdFrom;
+    LocalDateTime createdTo;
+
+    public boolean isEmpty() {
+        return (ids == null || ids.isEmpty())
+                && (emailDomain == null || emailDomain.isBlank())
+                && (role == null || role.isBlank())
+                && createdFrom == null
+                && createdTo == null;
+    }
+}
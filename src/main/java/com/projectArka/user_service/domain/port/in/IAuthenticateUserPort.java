@@ -11,4 +11,7 @@ public interface IAuthenticateUserPort {
     Mono<User> authenticate(String username, String rawPassword);
     Mono<AuthResponseDTO> registerUser(UserRegisterRequestDTO requestDTO);
     Mono<AuthResponseDTO> authenticateAndGenerateToken(LoginRequestDTO loginRequest);
+    Mono<AuthResponseDTO> refresh(String refreshToken);
+    Mono<Void> logout(String accessToken, String refreshToken);
+    Mono<Void> revokeAllTokens(String userId);
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.projectArka.user_service.domain.port.in;
+
+import com.projectArka.user_service.application.dto.AvailabilityResponseDTO;
+import reactor.core.publisher.Mono;
+
+public interface ICheckAvailabilityPort {
+    Mono<AvailabilityResponseDTO> checkAvailability(String username, String email);
+}
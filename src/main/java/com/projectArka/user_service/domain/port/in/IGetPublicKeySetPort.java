@@ -0,0 +1,9 @@
+package com.projectArka.user_service.domain.port.in;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public interface IGetPublicKeySetPort {
+    Mono<Map<String, Object>> getPublicKeySet();
+}
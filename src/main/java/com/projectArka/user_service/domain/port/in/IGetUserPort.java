@@ -4,8 +4,11 @@ import com.projectArka.user_service.domain.model.User;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+
 public interface IGetUserPort {
     Mono<User> getUserById(String id);
+    Mono<LocalDateTime> getUserVersion(String id);
     Mono<User> getUserByUsername(String username);
     Flux<User> getAllUsers();
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.projectArka.user_service.domain.port.in;
+
+import com.projectArka.user_service.application.dto.ServiceApiKeyRequestDTO;
+import com.projectArka.user_service.application.dto.ServiceApiKeyResponseDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface IManageServiceApiKeysPort {
+    Mono<ServiceApiKeyResponseDTO> issueKey(ServiceApiKeyRequestDTO request);
+    Flux<ServiceApiKeyResponseDTO> listKeys();
+    Mono<Void> revokeKey(String name);
+}
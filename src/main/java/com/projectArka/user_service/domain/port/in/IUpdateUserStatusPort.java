@@ -0,0 +1,9 @@
+package com.projectArka.user_service.domain.port.in;
+
+import com.projectArka.user_service.domain.model.UserFilter;
+import reactor.core.publisher.Mono;
+
+public interface IUpdateUserStatusPort {
+    Mono<Long> deactivateUsers(UserFilter filter);
+    Mono<Long> reactivateUsers(UserFilter filter);
+}
@@ -0,0 +1,22 @@
+package com.projectArka.user_service.domain.port.out;
+
+import com.projectArka.user_service.domain.model.RefreshToken;
+import reactor.core.publisher.Mono;
+
+public interface RefreshTokenRepositoryPort {
+
+    /** Stores a new token and returns it with its generated id. */
+    Mono<RefreshToken> save(RefreshToken refreshToken);
+
+    Mono<RefreshToken> findById(String id);
+
+    /**
+     * Marks a token as used, only if it is still unused, unrevoked and unexpired. Emits
+     * {@code false} when another request already rotated it.
+     */
+    Mono<Boolean> markRotated(String id);
+
+    Mono<Void> revokeFamily(String familyId);
+
+    Mono<Void> revokeAllForUser(String userId);
+}
@@ -0,0 +1,19 @@
+package com.projectArka.user_service.domain.port.out;
+
+import com.projectArka.user_service.domain.model.ServiceApiKey;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+public interface ServiceApiKeyRepositoryPort {
+    /**
+     * Stores a keyed hash of {@code apiKey}; the key itself is never persisted. Empty if the
+     * service already has a key.
+     */
+    Mono<ServiceApiKey> save(String name, String apiKey);
+    Flux<ServiceApiKey> findAll();
+    Mono<Boolean> deleteByName(String name);
+    /** The service the key was issued to, answered from memory. */
+    Optional<String> findServiceName(String apiKey);
+}
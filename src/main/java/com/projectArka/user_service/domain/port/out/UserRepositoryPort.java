@@ -1,14 +1,28 @@
 package com.projectArka.user_service.domain.port.out;
 
 import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.domain.model.UserFilter;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+
 public interface UserRepositoryPort {
     Mono<User> save(User user);
     Mono<User> findById(String id);
+    Mono<Boolean> existsById(String id);
+    Mono<LocalDateTime> findUpdatedAtById(String id);
     Mono<User> findByUsername(String username);
     Mono<User> findByEmail(String email);
+    Mono<Boolean> existsByUsername(String username);
+    Mono<Boolean> existsByEmail(String email);
     Flux<User> findAll();
     Mono<Void> deleteById(String id);
+    Flux<String> updateActiveByFilter(UserFilter filter, boolean active);
+
+    /**
+     * Replaces the password hash only while it still equals {@code expectedPassword}, so a password
+     * changed concurrently is never overwritten. Emits whether the row was updated.
+     */
+    Mono<Boolean> updatePassword(String id, String expectedPassword, String newPassword);
 }
\ No newline at end of file
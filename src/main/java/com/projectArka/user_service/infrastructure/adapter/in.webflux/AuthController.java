@@ -2,10 +2,14 @@ package com.projectArka.user_service.infrastructure.adapter.in.webflux;
 
 import com.projectArka.user_service.application.dto.LoginRequestDTO;
 import com.projectArka.user_service.application.dto.AuthResponseDTO;
+import com.projectArka.user_service.application.dto.AvailabilityResponseDTO;
+import com.projectArka.user_service.application.dto.RefreshTokenRequestDTO;
 import com.projectArka.user_service.application.dto.UserRegisterRequestDTO;
 import com.projectArka.user_service.application.usecase.AuthenticationUseCase;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
@@ -13,6 +17,7 @@ import jakarta.validation.Valid;
 
 // Importaciones de Swagger
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody; // Usamos este RequestBody para Swagger, no el de Spring si hay conflicto
@@ -27,7 +32,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "Authentication Management", description = "API for user registration and login")
 public class AuthController {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final AuthenticationUseCase authUseCase;
+    private final IdempotencyStore idempotencyStore;
+    private final LoginThrottle loginThrottle;
 
     @PostMapping("/register")
     @ResponseStatus(HttpStatus.CREATED)
@@ -38,13 +47,18 @@ public class AuthController {
             @ApiResponse(responseCode = "400", description = "Invalid registration data supplied (e.g., missing fields, invalid format)",
                     content = @Content(schema = @Schema(implementation = String.class))),
             @ApiResponse(responseCode = "409", description = "User with provided email or username already exists",
+                    content = @Content(schema = @Schema(implementation = String.class))),
+            @ApiResponse(responseCode = "422", description = "Idempotency key already used with a different request",
                     content = @Content(schema = @Schema(implementation = String.class)))
     })
     public Mono<AuthResponseDTO> registerUser(
             @RequestBody(description = "User registration details", required = true,
                     content = @Content(schema = @Schema(implementation = UserRegisterRequestDTO.class)))
-            @Valid @org.springframework.web.bind.annotation.RequestBody UserRegisterRequestDTO userRegisterRequestDTO) {
-        return authUseCase.registerUser(userRegisterRequestDTO);
+            @Valid @org.springframework.web.bind.annotation.RequestBody UserRegisterRequestDTO userRegisterRequestDTO,
+            @Parameter(description = "Client-generated key; retries with the same key and body return the original result")
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute("register", idempotencyKey, userRegisterRequestDTO,
+                () -> authUseCase.registerUser(userRegisterRequestDTO));
     }
 
     @PostMapping("/login")
@@ -55,12 +69,76 @@ public class AuthController {
             @ApiResponse(responseCode = "400", description = "Invalid login credentials (e.g., missing fields, invalid format)",
                     content = @Content(schema = @Schema(implementation = String.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized (Invalid username or password)",
+                    content = @Content(schema = @Schema(implementation = String.class))),
+            @ApiResponse(responseCode = "429", description = "Too many login attempts from this client or for this username; see Retry-After",
                     content = @Content(schema = @Schema(implementation = String.class)))
     })
     public Mono<AuthResponseDTO> loginUser(
             @RequestBody(description = "User login credentials", required = true,
                     content = @Content(schema = @Schema(implementation = LoginRequestDTO.class)))
-            @Valid @org.springframework.web.bind.annotation.RequestBody LoginRequestDTO loginRequestDTO) {
-        return authUseCase.authenticateAndGenerateToken(loginRequestDTO);
+            @Valid @org.springframework.web.bind.annotation.RequestBody LoginRequestDTO loginRequestDTO,
+            ServerHttpRequest request) {
+        return loginThrottle.guard(loginRequestDTO.getUsername(), request.getRemoteAddress(),
+                () -> authUseCase.authenticateAndGenerateToken(loginRequestDTO));
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Renew tokens", description = "Exchanges a refresh token for a new access token and a new refresh token. Each refresh token can be used once.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens renewed",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuthResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Missing refresh token",
+                    content = @Content(schema = @Schema(implementation = String.class))),
+            @ApiResponse(responseCode = "401", description = "Refresh token invalid, expired, revoked or already used",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
+    public Mono<AuthResponseDTO> refreshToken(
+            @RequestBody(description = "Refresh token returned by login, registration or a previous refresh", required = true,
+                    content = @Content(schema = @Schema(implementation = RefreshTokenRequestDTO.class)))
+            @Valid @org.springframework.web.bind.annotation.RequestBody RefreshTokenRequestDTO refreshTokenRequestDTO) {
+        return authUseCase.refresh(refreshTokenRequestDTO.getRefreshToken());
+    }
+
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Logout", description = "Revokes the bearer access token and, when supplied, the refresh token issued with it.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Tokens revoked"),
+            @ApiResponse(responseCode = "401", description = "Missing, invalid or already revoked access token",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
+    public Mono<Void> logout(
+            @Parameter(hidden = true) @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+            @RequestBody(description = "Refresh token to revoke along with the access token", required = false,
+                    content = @Content(schema = @Schema(implementation = RefreshTokenRequestDTO.class)))
+            @org.springframework.web.bind.annotation.RequestBody(required = false) RefreshTokenRequestDTO refreshTokenRequestDTO) {
+        String accessToken = authorization.startsWith(BEARER_PREFIX) ? authorization.substring(BEARER_PREFIX.length()) : authorization;
+        return authUseCase.logout(accessToken, refreshTokenRequestDTO == null ? null : refreshTokenRequestDTO.getRefreshToken());
+    }
+
+    @PostMapping("/revoke/{userId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Revoke all tokens of a user", description = "Rejects every access and refresh token issued to the user so far. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Tokens revoked"),
+            @ApiResponse(responseCode = "404", description = "User not found",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
+    public Mono<Void> revokeAllTokens(@Parameter(description = "ID of the user whose tokens are revoked") @PathVariable String userId) {
+        return authUseCase.revokeAllTokens(userId);
+    }
+
+    @GetMapping("/availability")
+    @Operation(summary = "Check username/email availability", description = "Tells whether a username and/or email can still be used to register.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Availability checked",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AvailabilityResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Neither username nor email supplied",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
+    public Mono<AvailabilityResponseDTO> checkAvailability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        return authUseCase.checkAvailability(username, email);
     }
-}
\ No newline at end of file
+}
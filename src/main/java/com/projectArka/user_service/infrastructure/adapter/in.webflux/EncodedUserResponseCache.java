@@ -0,0 +1,101 @@
+package com.projectArka.user_service.infrastructure.adapter.in.webflux;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projectArka.user_service.application.dto.UserResponseDTO;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.CachingUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized {@link UserResponseDTO} bytes for {@code GET /api/users/{id}}, optionally with a
+ * pre-gzipped copy. Entries are evicted together with the user cache entry they were built from
+ * and, like that cache, are only stored if no eviction happened while the response was produced.
+ * When disabled it only encodes.
+ */
+public class EncodedUserResponseCache implements CachingUserRepository.EvictionListener {
+
+    public record EncodedUserResponse(byte[] json, byte[] gzipped, String etag) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, EncodedUserResponse> responses;
+    private final boolean gzip;
+    private final AtomicLong epoch = new AtomicLong();
+
+    public EncodedUserResponseCache(ObjectMapper objectMapper, long maximumSize, Duration ttl, boolean gzip,
+                                    boolean enabled, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.gzip = gzip;
+        this.responses = enabled
+                ? Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build()
+                : null;
+        if (responses != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, responses, "users.responses.by-id");
+        }
+    }
+
+    public EncodedUserResponse get(String id) {
+        return responses == null ? null : responses.getIfPresent(id);
+    }
+
+    public boolean gzipEnabled() {
+        return gzip;
+    }
+
+    public long epoch() {
+        return epoch.get();
+    }
+
+    public EncodedUserResponse encode(String id, UserResponseDTO response, long epochAtLoad) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize user " + id, e);
+        }
+        EncodedUserResponse encoded = new EncodedUserResponse(json, gzip ? gzip(json) : null, UserETags.forVersion(response.getUpdatedAt()));
+        if (responses != null && epoch.get() == epochAtLoad) {
+            responses.put(id, encoded);
+            if (epoch.get() != epochAtLoad) {
+                responses.invalidate(id);
+            }
+        }
+        return encoded;
+    }
+
+    @Override
+    public void evicted(String id) {
+        epoch.incrementAndGet();
+        if (responses != null) {
+            responses.invalidate(id);
+        }
+    }
+
+    @Override
+    public void evictedAll() {
+        epoch.incrementAndGet();
+        if (responses != null) {
+            responses.invalidateAll();
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,8 @@
+package com.projectArka.user_service.infrastructure.adapter.in.webflux;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+
+    public IdempotencyKeyReuseException(String key) {
+        super("Idempotency key " + key + " was already used with a different request");
+    }
+}
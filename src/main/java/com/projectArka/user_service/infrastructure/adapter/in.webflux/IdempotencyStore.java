@@ -0,0 +1,87 @@
+package com.projectArka.user_service.infrastructure.adapter.in.webflux;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projectArka.user_service.domain.exception.InvalidRequestException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-based store behind the {@code Idempotency-Key} header. The first request with a key
+ * runs the operation; requests that reuse the key while it runs attach to it, and later ones get
+ * its result, so retries never repeat the password hashing or the writes. The operation is not
+ * cancelled when the client that started it goes away. A failed attempt is forgotten once it
+ * completes so it can be retried with the same key. Reusing a key with a different request body
+ * is rejected with {@link IdempotencyKeyReuseException}.
+ */
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private record Entry(byte[] fingerprint, Mono<Object> result) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Entry> entries;
+
+    public IdempotencyStore(ObjectMapper objectMapper, long maximumSize, Duration ttl, boolean enabled,
+                            MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.entries = enabled
+                ? Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build()
+                : null;
+        if (entries != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, entries, "http.idempotency");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(String operation, String key, Object request, Supplier<Mono<T>> action) {
+        if (entries == null || key == null) {
+            return Mono.defer(action);
+        }
+        return Mono.defer(() -> {
+            if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+                return Mono.error(new InvalidRequestException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters"));
+            }
+            byte[] fingerprint = fingerprint(request);
+            String scopedKey = operation + ':' + key;
+            Entry entry = entries.get(scopedKey, k -> newEntry(k, fingerprint, action));
+            if (!MessageDigest.isEqual(entry.fingerprint(), fingerprint)) {
+                return Mono.error(new IdempotencyKeyReuseException(key));
+            }
+            return (Mono<T>) entry.result();
+        });
+    }
+
+    private <T> Entry newEntry(String scopedKey, byte[] fingerprint, Supplier<Mono<T>> action) {
+        AtomicReference<Entry> self = new AtomicReference<>();
+        Mono<Object> result = Mono.defer(action)
+                .cast(Object.class)
+                .doOnError(error -> entries.asMap().remove(scopedKey, self.get()))
+                .cache();
+        Entry entry = new Entry(fingerprint, result);
+        self.set(entry);
+        return entry;
+    }
+
+    private byte[] fingerprint(Object request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not fingerprint the request", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
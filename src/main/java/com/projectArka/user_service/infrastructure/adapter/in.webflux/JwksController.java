@@ -0,0 +1,37 @@
+package com.projectArka.user_service.infrastructure.adapter.in.webflux;
+
+import com.projectArka.user_service.application.usecase.AuthenticationUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Authentication Management", description = "API for user registration and login")
+public class JwksController {
+
+    private final AuthenticationUseCase authUseCase;
+
+    @Value("${application.http.cache.jwks-max-age-seconds:300}")
+    private long jwksMaxAgeSeconds = 300;
+
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(summary = "Token verification keys", description = "Public keys, as a JWK set, that verify the tokens this service issues.")
+    @ApiResponse(responseCode = "200", description = "JWK set (empty while tokens are signed with a shared secret)")
+    public Mono<ResponseEntity<Map<String, Object>>> getPublicKeySet() {
+        return authUseCase.getPublicKeySet()
+                .map(keys -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.maxAge(Duration.ofSeconds(jwksMaxAgeSeconds)).cachePublic())
+                        .body(keys));
+    }
+}
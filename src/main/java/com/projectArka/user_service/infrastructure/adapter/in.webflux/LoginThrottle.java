@@ -0,0 +1,64 @@
+package com.projectArka.user_service.infrastructure.adapter.in.webflux;
+
+import com.projectArka.user_service.domain.exception.InvalidCredentialsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Rejects a login with {@link LoginThrottledException} (429 with {@code Retry-After}) before any
+ * lookup or password hashing when its client address has made too many attempts, or its username
+ * has failed too often, within the sliding window. Every attempt counts against the address; only
+ * failed ones count against the username, so its owner is not locked out by their own logins.
+ * Concurrent attempts for a username that pass the check together are all let through; the
+ * address limit and the hashing pool bound those. Rejections are counted in
+ * {@code auth.login.throttled{key}}.
+ */
+public class LoginThrottle {
+
+    private final SlidingWindowLimiter attemptsByAddress;
+    private final SlidingWindowLimiter failuresByUsername;
+    private final Counter addressThrottled;
+    private final Counter usernameThrottled;
+
+    public LoginThrottle(int maxAttemptsPerAddress, int maxFailuresPerUsername, Duration window, long maximumKeys,
+                         boolean enabled, MeterRegistry meterRegistry) {
+        this.attemptsByAddress = enabled ? new SlidingWindowLimiter(maxAttemptsPerAddress, window, maximumKeys) : null;
+        this.failuresByUsername = enabled ? new SlidingWindowLimiter(maxFailuresPerUsername, window, maximumKeys) : null;
+        this.addressThrottled = Counter.builder("auth.login.throttled").tag("key", "address").register(meterRegistry);
+        this.usernameThrottled = Counter.builder("auth.login.throttled").tag("key", "username").register(meterRegistry);
+    }
+
+    public <T> Mono<T> guard(String username, InetSocketAddress client, Supplier<Mono<T>> login) {
+        if (attemptsByAddress == null) {
+            return Mono.defer(login);
+        }
+        return Mono.defer(() -> {
+            String usernameKey = username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+            Duration wait = failuresByUsername.check(usernameKey);
+            if (!wait.isZero()) {
+                usernameThrottled.increment();
+                return Mono.error(new LoginThrottledException(wait));
+            }
+            wait = attemptsByAddress.tryAcquire(addressKey(client));
+            if (!wait.isZero()) {
+                addressThrottled.increment();
+                return Mono.error(new LoginThrottledException(wait));
+            }
+            return login.get()
+                    .doOnError(InvalidCredentialsException.class, e -> failuresByUsername.record(usernameKey));
+        });
+    }
+
+    private static String addressKey(InetSocketAddress client) {
+        if (client == null || client.getAddress() == null) {
+            return "unknown";
+        }
+        return client.getAddress().getHostAddress();
+    }
+}
@@ -0,0 +1,65 @@
+package com.projectArka.user_service.infrastructure.adapter.in.webflux;
+
+import com.projectArka.user_service.application.dto.ServiceApiKeyRequestDTO;
+import com.projectArka.user_service.application.dto.ServiceApiKeyResponseDTO;
+import com.projectArka.user_service.application.usecase.ServiceApiKeyUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/service-keys")
+@RequiredArgsConstructor
+@Tag(name = "Service API Keys", description = "API keys for internal services (send as X-API-Key on user lookups)")
+public class ServiceApiKeyController {
+
+    private final ServiceApiKeyUseCase serviceApiKeyUseCase;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Issue a service API key", description = "Issues a key for an internal service. The key is only shown in this response.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Key issued",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceApiKeyResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid service name",
+                    content = @Content(schema = @Schema(implementation = String.class))),
+            @ApiResponse(responseCode = "409", description = "The service already has a key",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
+    public Mono<ServiceApiKeyResponseDTO> issueKey(
+            @RequestBody(description = "Service the key is issued to", required = true,
+                    content = @Content(schema = @Schema(implementation = ServiceApiKeyRequestDTO.class)))
+            @Valid @org.springframework.web.bind.annotation.RequestBody ServiceApiKeyRequestDTO request) {
+        return serviceApiKeyUseCase.issueKey(request);
+    }
+
+    @GetMapping
+    @Operation(summary = "List service API keys", description = "Lists the services holding a key, without the keys.")
+    @ApiResponse(responseCode = "200", description = "Services with a key")
+    public Flux<ServiceApiKeyResponseDTO> listKeys() {
+        return serviceApiKeyUseCase.listKeys();
+    }
+
+    @DeleteMapping("/{name}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Revoke a service API key", description = "Revokes the service's key on every node.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Key revoked"),
+            @ApiResponse(responseCode = "404", description = "The service has no key",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
+    public Mono<Void> revokeKey(@Parameter(description = "Service name") @PathVariable String name) {
+        return serviceApiKeyUseCase.revokeKey(name);
+    }
+}
@@ -0,0 +1,112 @@
+package com.projectArka.user_service.infrastructure.adapter.in.webflux;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sliding-window counter per key: the count of the previous fixed window, weighted by how much of
+ * it still overlaps the sliding window, plus the count of the current one. Each key's state is one
+ * {@link AtomicLong} packing the window number (high 32 bits) and the previous and current counts
+ * (16 bits each, saturating), updated by compare-and-set, so callers never take a lock. Keys live
+ * in a bounded Caffeine cache, which stripes its own writes, and expire two windows after their
+ * last use; an evicted key simply starts over.
+ */
+public class SlidingWindowLimiter {
+
+    private static final long COUNT_MASK = 0xFFFF;
+
+    private final Cache<String, AtomicLong> windows;
+    private final int limit;
+    private final long windowNanos;
+    private final Ticker ticker;
+
+    public SlidingWindowLimiter(int limit, Duration window, long maximumKeys) {
+        this(limit, window, maximumKeys, Ticker.systemTicker());
+    }
+
+    public SlidingWindowLimiter(int limit, Duration window, long maximumKeys, Ticker ticker) {
+        if (limit < 1 || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Sliding window needs a limit of at least 1 and a positive window");
+        }
+        this.limit = (int) Math.min(limit, COUNT_MASK);
+        this.windowNanos = window.toNanos();
+        this.ticker = ticker;
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(window.multipliedBy(2))
+                .ticker(ticker)
+                .build();
+    }
+
+    /** {@link Duration#ZERO} if another event for the key would be within the limit, otherwise how long until it would be. */
+    public Duration check(String key) {
+        AtomicLong state = windows.getIfPresent(key);
+        return state == null ? Duration.ZERO : waitTime(state.get(), ticker.read());
+    }
+
+    /** Counts an event for the key regardless of the limit. */
+    public void record(String key) {
+        AtomicLong state = windows.get(key, k -> new AtomicLong());
+        long now = ticker.read();
+        long current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, increment(current, now)));
+    }
+
+    /** Counts an event for the key if it is within the limit; otherwise returns how long until it would be. */
+    public Duration tryAcquire(String key) {
+        AtomicLong state = windows.get(key, k -> new AtomicLong());
+        long now = ticker.read();
+        while (true) {
+            long current = state.get();
+            Duration wait = waitTime(current, now);
+            if (!wait.isZero()) {
+                return wait;
+            }
+            if (state.compareAndSet(current, increment(current, now))) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    private Duration waitTime(long state, long now) {
+        long window = Math.floorDiv(now, windowNanos);
+        long elapsed = now - window * windowNanos;
+        long rolled = roll(state, window);
+        long previous = (rolled >>> 16) & COUNT_MASK;
+        long current = rolled & COUNT_MASK;
+        if (previous * (windowNanos - elapsed) + current * windowNanos < limit * windowNanos) {
+            return Duration.ZERO;
+        }
+        if (current < limit) {
+            long allowedFrom = windowNanos - (limit - current) * windowNanos / previous + 1;
+            return Duration.ofNanos(allowedFrom - elapsed);
+        }
+        long allowedFrom = windowNanos - limit * windowNanos / current + 1;
+        return Duration.ofNanos(windowNanos - elapsed + allowedFrom);
+    }
+
+    private long increment(long state, long now) {
+        long window = Math.floorDiv(now, windowNanos);
+        long rolled = roll(state, window);
+        long current = Math.min(COUNT_MASK, (rolled & COUNT_MASK) + 1);
+        return (window << 32) | (rolled & (COUNT_MASK << 16)) | current;
+    }
+
+    /** The previous and current counts as of {@code window}, packed into the low 32 bits. */
+    private static long roll(long state, long window) {
+        int stateWindow = (int) (state >>> 32);
+        if (stateWindow == (int) window) {
+            return state & 0xFFFF_FFFFL;
+        }
+        if (stateWindow == (int) window - 1) {
+            return (state & COUNT_MASK) << 16;
+        }
+        return 0;
+    }
+}
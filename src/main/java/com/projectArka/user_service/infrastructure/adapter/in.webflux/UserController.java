@@ -2,19 +2,29 @@ package com.projectArka.user_service.infrastructure.adapter.in.webflux;
 
 import com.projectArka.user_service.application.dto.UserRegisterRequestDTO;
 import com.projectArka.user_service.application.dto.UserResponseDTO;
+import com.projectArka.user_service.application.dto.UserStatusFilterRequestDTO;
+import com.projectArka.user_service.application.dto.UserStatusUpdateResponseDTO;
 import com.projectArka.user_service.application.dto.UserUpdateRequestDTO;
 import com.projectArka.user_service.application.mapper.IUserMapper;
 import com.projectArka.user_service.application.usecase.UserUseCase;
 import com.projectArka.user_service.domain.exception.UserNotFoundException;
 import com.projectArka.user_service.domain.model.User;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import jakarta.validation.Valid;
+import java.time.Duration;
+import java.util.Locale;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -32,6 +42,11 @@ public class UserController {
 
     private final UserUseCase userUseCase;
     private final IUserMapper userMapper;
+    private final EncodedUserResponseCache encodedUserResponseCache;
+    private final IdempotencyStore idempotencyStore;
+
+    @Value("${application.http.cache.exists-max-age-seconds:30}")
+    private long existsMaxAgeSeconds = 30;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -42,15 +57,21 @@ public class UserController {
             @ApiResponse(responseCode = "400", description = "Invalid user data supplied",
                     content = @Content(schema = @Schema(implementation = String.class))),
             @ApiResponse(responseCode = "409", description = "User with username or email already exists",
+                    content = @Content(schema = @Schema(implementation = String.class))),
+            @ApiResponse(responseCode = "422", description = "Idempotency key already used with a different request",
                     content = @Content(schema = @Schema(implementation = String.class)))
     })
     public Mono<UserResponseDTO> createUser(
             @RequestBody(description = "Details of the user to be created", required = true,
                     content = @Content(schema = @Schema(implementation = UserRegisterRequestDTO.class)))
-            @Valid @org.springframework.web.bind.annotation.RequestBody UserRegisterRequestDTO userRegisterRequestDTO) {
-        User userDomain = userMapper.toDomain(userRegisterRequestDTO);
-        return userUseCase.createUser(userDomain)
-                .map(userMapper::toDTO);
+            @Valid @org.springframework.web.bind.annotation.RequestBody UserRegisterRequestDTO userRegisterRequestDTO,
+            @Parameter(description = "Client-generated key; retries with the same key and body return the original result")
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute("create-user", idempotencyKey, userRegisterRequestDTO, () -> {
+            User userDomain = userMapper.toDomain(userRegisterRequestDTO);
+            return userUseCase.createUser(userDomain)
+                    .map(userMapper::toDTO);
+        });
     }
 
     @GetMapping("/{id}")
@@ -61,13 +82,97 @@ public class UserController {
             @ApiResponse(responseCode = "404", description = "User not found",
                     content = @Content(schema = @Schema(implementation = String.class)))
     })
-    public Mono<ResponseEntity<UserResponseDTO>> getUserById(
+    public Mono<ResponseEntity<DataBuffer>> getUserById(
             @Parameter(description = "ID of the user to retrieve", required = true, schema = @Schema(type = "string", format = "uuid"))
-            @PathVariable String id) {
+            @PathVariable String id,
+            ServerWebExchange exchange) {
+        return Mono.defer(() -> {
+                    EncodedUserResponseCache.EncodedUserResponse cached = encodedUserResponseCache.get(id);
+                    if (cached != null) {
+                        return Mono.just(encodedResponse(cached, exchange));
+                    }
+                    if (exchange.getRequest().getHeaders().getIfNoneMatch().isEmpty()) {
+                        return loadUser(id, exchange);
+                    }
+                    return userUseCase.getUserVersion(id)
+                            .mapNotNull(version -> UserETags.forVariant(UserETags.forVersion(version), servesGzip(exchange)))
+                            .filter(exchange::checkNotModified)
+                            .map(etag -> ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                    .eTag(etag)
+                                    .cacheControl(userCacheControl())
+                                    .<DataBuffer>build())
+                            .switchIfEmpty(Mono.defer(() -> loadUser(id, exchange)));
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    private Mono<ResponseEntity<DataBuffer>> loadUser(String id, ServerWebExchange exchange) {
+        long epoch = encodedUserResponseCache.epoch();
         return userUseCase.getUserById(id)
                 .map(userMapper::toDTO)
-                .map(ResponseEntity::ok)
-                .defaultIfEmpty(ResponseEntity.notFound().build());
+                .map(dto -> encodedResponse(encodedUserResponseCache.encode(id, dto, epoch), exchange));
+    }
+
+    private ResponseEntity<DataBuffer> encodedResponse(EncodedUserResponseCache.EncodedUserResponse encoded,
+                                                       ServerWebExchange exchange) {
+        boolean gzip = encoded.gzipped() != null && acceptsGzip(exchange);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(userCacheControl());
+        if (encoded.etag() != null) {
+            response.eTag(UserETags.forVariant(encoded.etag(), gzip));
+        }
+        if (encoded.gzipped() != null) {
+            response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(exchange.getResponse().bufferFactory().wrap(gzip ? encoded.gzipped() : encoded.json()));
+    }
+
+    private boolean servesGzip(ServerWebExchange exchange) {
+        return encodedUserResponseCache.gzipEnabled() && acceptsGzip(exchange);
+    }
+
+    /**
+     * Whether Accept-Encoding admits gzip: an explicit gzip or x-gzip entry decides, otherwise a
+     * {@code *} entry does, and a q-value of 0 (or one that does not parse) refuses it.
+     */
+    private static boolean acceptsGzip(ServerWebExchange exchange) {
+        double gzipQuality = -1;
+        double wildcardQuality = -1;
+        for (String value : exchange.getRequest().getHeaders().getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String element : value.split(",")) {
+                String[] parts = element.split(";");
+                String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+                if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                    gzipQuality = Math.max(gzipQuality, quality(parts));
+                } else if (coding.equals("*")) {
+                    wildcardQuality = Math.max(wildcardQuality, quality(parts));
+                }
+            }
+        }
+        return (gzipQuality >= 0 ? gzipQuality : wildcardQuality) > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 2 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q') && parameter.charAt(1) == '=') {
+                try {
+                    double quality = Double.parseDouble(parameter.substring(2).trim());
+                    return quality >= 0 && quality <= 1 ? quality : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static CacheControl userCacheControl() {
+        return CacheControl.noCache().cachePrivate();
     }
 
     @GetMapping("/{userId}/exists")
@@ -78,7 +183,7 @@ public class UserController {
             @ApiResponse(responseCode = "404", description = "User not found",
                     content = @Content(schema = @Schema(implementation = String.class)))
     })
-    public Mono<Boolean> checkUserExists(
+    public Mono<ResponseEntity<Boolean>> checkUserExists(
             @Parameter(description = "ID of the user to check existence for", required = true, schema = @Schema(type = "string", format = "uuid"))
             @PathVariable String userId) {
         return userUseCase.userExists(userId)
@@ -88,7 +193,21 @@ public class UserController {
                     }
                 })
                 .onErrorResume(UserNotFoundException.class, e -> Mono.just(false))
-                .defaultIfEmpty(false);
+                .defaultIfEmpty(false)
+                .map(exists -> ResponseEntity.ok()
+                        .eTag(UserETags.forExists(exists))
+                        .cacheControl(existsCacheControl(exists))
+                        .body(exists));
+    }
+
+    /**
+     * The endpoint is authenticated, so the answer is only ever cached privately. A negative
+     * answer is revalidated every time so a user created a moment ago is seen at once.
+     */
+    private CacheControl existsCacheControl(boolean exists) {
+        return exists
+                ? CacheControl.maxAge(Duration.ofSeconds(existsMaxAgeSeconds)).cachePrivate()
+                : userCacheControl();
     }
 
     @GetMapping
@@ -127,6 +246,43 @@ public class UserController {
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    @PostMapping("/deactivate")
+    @Operation(summary = "Deactivate users by filter", description = "Deactivates every user matching the filter (IDs, email domain, role, creation range) in bounded chunks.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users deactivated",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserStatusUpdateResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or invalid filter supplied",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
+    public Mono<UserStatusUpdateResponseDTO> deactivateUsers(
+            @RequestBody(description = "Filter selecting the users to deactivate", required = true,
+                    content = @Content(schema = @Schema(implementation = UserStatusFilterRequestDTO.class)))
+            @Valid @org.springframework.web.bind.annotation.RequestBody UserStatusFilterRequestDTO filterRequestDTO) {
+        return userUseCase.deactivateUsers(userMapper.toFilter(filterRequestDTO))
+                .map(affected -> UserStatusUpdateResponseDTO.builder()
+                        .active(false)
+                        .affected(affected)
+                        .build());
+    }
+
+    @PostMapping("/reactivate")
+    @Operation(summary = "Reactivate users by filter", description = "Reactivates every user matching the filter (IDs, email domain, role, creation range) in bounded chunks.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users reactivated",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserStatusUpdateResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or invalid filter supplied",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
+    public Mono<UserStatusUpdateResponseDTO> reactivateUsers(
+            @RequestBody(description = "Filter selecting the users to reactivate", required = true,
+                    content = @Content(schema = @Schema(implementation = UserStatusFilterRequestDTO.class)))
+            @Valid @org.springframework.web.bind.annotation.RequestBody UserStatusFilterRequestDTO filterRequestDTO) {
+        return userUseCase.reactivateUsers(userMapper.toFilter(filterRequestDTO))
+                .map(affected -> UserStatusUpdateResponseDTO.builder()
+                        .active(true)
+                        .affected(affected)
+                        .build());
+    }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a user by ID", description = "Deletes a user from the system by their unique ID.")
@@ -0,0 +1,32 @@
+package com.projectArka.user_service.infrastructure.adapter.in.webflux;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Strong validators for user representations. The version is {@code updated_at} at the microsecond
+ * precision Postgres stores, so the value computed from a cached user and from a bare
+ * {@code updated_at} lookup always agree. The gzipped body is a different representation and gets
+ * its own tag.
+ */
+final class UserETags {
+
+    private UserETags() {
+    }
+
+    static String forVersion(LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return null;
+        }
+        long micros = updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + updatedAt.getNano() / 1_000;
+        return "\"" + Long.toString(micros, 36) + "\"";
+    }
+
+    static String forVariant(String etag, boolean gzip) {
+        return etag == null || !gzip ? etag : etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+
+    static String forExists(boolean exists) {
+        return exists ? "\"1\"" : "\"0\"";
+    }
+}
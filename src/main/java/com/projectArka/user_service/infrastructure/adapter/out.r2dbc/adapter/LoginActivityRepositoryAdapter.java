@@ -0,0 +1,163 @@
+package com.projectArka.user_service.infrastructure.adapter.out.r2dbc.adapter;
+
+import com.projectArka.user_service.application.port.out.LoginActivityPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for {@code users.last_login_at} and {@code users.failed_login_attempts} (failed
+ * attempts since the last successful login). Outcomes are folded per user in memory and written
+ * every {@code flushInterval} as one {@code UPDATE ... FROM (VALUES ...)} per {@code batchSize}
+ * users, and once more on shutdown. At most {@code maxPending} users are buffered; outcomes for
+ * further users are dropped until the next flush. A failed batch is folded back in for the next
+ * flush. The columns are not part of {@code UserEntity}, so user saves never overwrite them.
+ * <p>
+ * Metrics: {@code users.login-activity.pending} (gauge), {@code users.login-activity.written} and
+ * {@code users.login-activity.dropped}.
+ */
+@Slf4j
+@Repository
+public class LoginActivityRepositoryAdapter implements LoginActivityPort, DisposableBean {
+
+    private static final Duration SHUTDOWN_FLUSH_TIMEOUT = Duration.ofSeconds(10);
+
+    /** Outcomes of one user since the last flush; {@code reset} when one of them was a successful login. */
+    private record Pending(LocalDateTime lastLoginAt, int failures, boolean reset) {
+
+        /** This activity followed by {@code later}. */
+        Pending then(Pending later) {
+            return later.reset ? later : new Pending(lastLoginAt, failures + later.failures, reset);
+        }
+    }
+
+    private final DatabaseClient databaseClient;
+    private final boolean enabled;
+    private final Duration flushInterval;
+    private final int maxPending;
+    private final int batchSize;
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final Counter written;
+    private final Counter dropped;
+    private Disposable schedule;
+
+    public LoginActivityRepositoryAdapter(DatabaseClient databaseClient,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${application.users.login-activity.enabled:true}") boolean enabled,
+                                          @Value("${application.users.login-activity.flush-interval:PT5S}") Duration flushInterval,
+                                          @Value("${application.users.login-activity.max-pending:10000}") int maxPending,
+                                          @Value("${application.users.login-activity.batch-size:500}") int batchSize) {
+        this.databaseClient = databaseClient;
+        this.enabled = enabled;
+        this.flushInterval = flushInterval;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+        this.written = Counter.builder("users.login-activity.written").register(meterRegistry);
+        this.dropped = Counter.builder("users.login-activity.dropped").register(meterRegistry);
+        Gauge.builder("users.login-activity.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    @Override
+    public void recordSuccess(String userId) {
+        record(userId, new Pending(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS), 0, true));
+    }
+
+    @Override
+    public void recordFailure(String userId) {
+        record(userId, new Pending(null, 1, false));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        schedule = Flux.interval(flushInterval, flushInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> flush())
+                .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+        try {
+            flush().block(SHUTDOWN_FLUSH_TIMEOUT);
+        } catch (RuntimeException e) {
+            log.warn("Could not write the login activity of {} users on shutdown: {}", pending.size(), e.getMessage());
+        }
+    }
+
+    public Mono<Void> flush() {
+        return Flux.defer(() -> Flux.fromIterable(List.copyOf(pending.keySet())))
+                .<Map.Entry<String, Pending>>handle((userId, sink) -> {
+                    Pending activity = pending.remove(userId);
+                    if (activity != null) {
+                        sink.next(Map.entry(userId, activity));
+                    }
+                })
+                .buffer(batchSize)
+                .concatMap(this::write)
+                .then();
+    }
+
+    private void record(String userId, Pending activity) {
+        if (!enabled) {
+            return;
+        }
+        if (pending.size() >= maxPending && !pending.containsKey(userId)) {
+            dropped.increment();
+            return;
+        }
+        pending.merge(userId, activity, Pending::then);
+    }
+
+    private Mono<Void> write(List<Map.Entry<String, Pending>> batch) {
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < batch.size(); i++) {
+            values.append(i == 0 ? "" : ", ")
+                    .append("(CAST(:id").append(i).append(" AS uuid), CAST(:at").append(i).append(" AS timestamp), CAST(:failures")
+                    .append(i).append(" AS int4), CAST(:reset").append(i).append(" AS bool))");
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("UPDATE users AS u SET "
+                + "last_login_at = COALESCE(v.last_login_at, u.last_login_at), "
+                + "failed_login_attempts = CASE WHEN v.reset THEN v.failures ELSE u.failed_login_attempts + v.failures END "
+                + "FROM (VALUES " + values + ") AS v(id, last_login_at, failures, reset) WHERE u.id = v.id");
+        for (int i = 0; i < batch.size(); i++) {
+            Pending activity = batch.get(i).getValue();
+            spec = spec.bind("id" + i, UUID.fromString(batch.get(i).getKey()))
+                    .bind("failures" + i, activity.failures())
+                    .bind("reset" + i, activity.reset());
+            spec = activity.lastLoginAt() == null
+                    ? spec.bindNull("at" + i, LocalDateTime.class)
+                    : spec.bind("at" + i, activity.lastLoginAt());
+        }
+        return spec.then()
+                .doOnSuccess(done -> written.increment(batch.size()))
+                .onErrorResume(error -> {
+                    log.warn("Could not write the login activity of {} users, retrying on the next flush: {}", batch.size(), error.getMessage());
+                    batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), (later, failed) -> failed.then(later)));
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,123 @@
+package com.projectArka.user_service.infrastructure.adapter.out.r2dbc.adapter;
+
+import com.projectArka.user_service.domain.model.RefreshToken;
+import com.projectArka.user_service.domain.port.out.RefreshTokenRepositoryPort;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * One narrow row per issued refresh token. Rotation is a conditional update, so of two requests
+ * presenting the same token only one can win. Rows past their expiry are purged every
+ * {@code purgeInterval}.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class RefreshTokenRepositoryAdapter implements RefreshTokenRepositoryPort, DisposableBean {
+
+    private final DatabaseClient databaseClient;
+
+    @Value("${application.security.refresh-token.purge-interval:PT1H}")
+    private Duration purgeInterval = Duration.ofHours(1);
+
+    private Disposable purge;
+
+    @Override
+    public Mono<RefreshToken> save(RefreshToken refreshToken) {
+        return databaseClient.sql("INSERT INTO refresh_token (family_id, user_id, expires_at) VALUES (:familyId, :userId, :expiresAt) RETURNING id")
+                .bind("familyId", UUID.fromString(refreshToken.getFamilyId()))
+                .bind("userId", UUID.fromString(refreshToken.getUserId()))
+                .bind("expiresAt", refreshToken.getExpiresAt().truncatedTo(ChronoUnit.MICROS))
+                .map(row -> row.get("id", UUID.class))
+                .one()
+                .map(id -> refreshToken.toBuilder().id(id.toString()).build());
+    }
+
+    @Override
+    public Mono<RefreshToken> findById(String id) {
+        return databaseClient.sql("SELECT id, family_id, user_id, expires_at, rotated_at, revoked_at FROM refresh_token WHERE id = :id")
+                .bind("id", UUID.fromString(id))
+                .map(RefreshTokenRepositoryAdapter::toDomain)
+                .one();
+    }
+
+    @Override
+    public Mono<Boolean> markRotated(String id) {
+        LocalDateTime now = LocalDateTime.now();
+        return databaseClient.sql("UPDATE refresh_token SET rotated_at = :now WHERE id = :id AND rotated_at IS NULL AND revoked_at IS NULL AND expires_at > :now")
+                .bind("now", now)
+                .bind("id", UUID.fromString(id))
+                .fetch()
+                .rowsUpdated()
+                .map(updated -> updated == 1);
+    }
+
+    @Override
+    public Mono<Void> revokeFamily(String familyId) {
+        return databaseClient.sql("UPDATE refresh_token SET revoked_at = :now WHERE family_id = :familyId AND revoked_at IS NULL")
+                .bind("now", LocalDateTime.now())
+                .bind("familyId", UUID.fromString(familyId))
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    @Override
+    public Mono<Void> revokeAllForUser(String userId) {
+        return databaseClient.sql("UPDATE refresh_token SET revoked_at = :now WHERE user_id = :userId AND revoked_at IS NULL")
+                .bind("now", LocalDateTime.now())
+                .bind("userId", UUID.fromString(userId))
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void schedulePurge() {
+        purge = Flux.interval(purgeInterval, purgeInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> databaseClient.sql("DELETE FROM refresh_token WHERE expires_at < :now")
+                        .bind("now", LocalDateTime.now())
+                        .fetch()
+                        .rowsUpdated()
+                        .doOnNext(deleted -> log.debug("Purged {} expired refresh tokens", deleted))
+                        .onErrorResume(error -> {
+                            log.warn("Could not purge expired refresh tokens: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        if (purge != null) {
+            purge.dispose();
+        }
+    }
+
+    private static RefreshToken toDomain(Readable row) {
+        return RefreshToken.builder()
+                .id(row.get("id", UUID.class).toString())
+                .familyId(row.get("family_id", UUID.class).toString())
+                .userId(row.get("user_id", UUID.class).toString())
+                .expiresAt(row.get("expires_at", LocalDateTime.class))
+                .rotatedAt(row.get("rotated_at", LocalDateTime.class))
+                .revokedAt(row.get("revoked_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -1,5 +1,9 @@
 package com.projectArka.user_service.infrastructure.adapter.out.r2dbc.adapter;
 
+import com.projectArka.user_service.infrastructure.adapter.out.cache.CacheInvalidationListener;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.CacheInvalidationPublisher;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.InvalidationEvent;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.RoleCatalog;
 import com.projectArka.user_service.infrastructure.entity.RoleEntity;
 import com.projectArka.user_service.application.mapper.IPersistenceRoleMapper;
 import com.projectArka.user_service.domain.model.Role;
@@ -8,46 +12,114 @@ import com.projectArka.user_service.domain.port.out.RoleRepositoryPort;
 import com.projectArka.user_service.infrastructure.adapter.out.r2dbc.repository.SpringDataRoleRepository;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Roles are served from an in-memory {@link RoleCatalog} loaded at startup and swapped wholesale
+ * after every role write, local or announced by another node. The database is only reached for
+ * names or ids the catalog does not know; a role found that way is added to the catalog only if no
+ * write or reload swapped it in the meantime, so a lookup racing a delete cannot bring the role back.
+ */
+@Slf4j
 @Repository
 @RequiredArgsConstructor
-public class RoleRepositoryAdapter implements RoleRepositoryPort {
+public class RoleRepositoryAdapter implements RoleRepositoryPort, CacheInvalidationListener {
 
     private final SpringDataRoleRepository springDataRoleRepository;
     private final IPersistenceRoleMapper roleMapper;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final AtomicReference<RoleCatalog> catalog = new AtomicReference<>(RoleCatalog.EMPTY);
+    private volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCatalog() {
+        reload().subscribe(
+                roles -> log.info("Role catalog loaded with {} roles", roles.size()),
+                error -> log.warn("Could not load the role catalog, roles will be read from the database until it loads: {}", error.getMessage()));
+    }
+
+    public Mono<RoleCatalog> reload() {
+        return springDataRoleRepository.findAll()
+                .map(roleMapper::toDomain)
+                .collectList()
+                .map(RoleCatalog::of)
+                .doOnNext(fresh -> {
+                    catalog.set(fresh);
+                    loaded = true;
+                });
+    }
+
+    public RoleCatalog currentCatalog() {
+        return catalog.get();
+    }
+
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        if (event.concerns(InvalidationEvent.Entity.ROLE)) {
+            reload().subscribe(
+                    roles -> log.debug("Role catalog reloaded after {}", event),
+                    error -> log.warn("Could not reload the role catalog after {}: {}", event, error.getMessage()));
+        }
+    }
 
     @Override
     public Mono<Role> findByName(String name) {
-        return springDataRoleRepository.findByName(name)
-                .map(roleMapper::toDomain);
+        return Mono.defer(() -> {
+            RoleCatalog before = catalog.get();
+            return before.findByName(name)
+                    .map(Mono::just)
+                    .orElseGet(() -> springDataRoleRepository.findByName(name)
+                            .map(roleMapper::toDomain)
+                            .doOnNext(role -> remember(before, role)));
+        });
     }
 
     @Override
     public Mono<Role> save(Role role) {
         RoleEntity roleEntityToSave = roleMapper.toEntity(role);
         return springDataRoleRepository.save(roleEntityToSave)
-                .map(roleMapper::toDomain);
+                .map(roleMapper::toDomain)
+                .flatMap(saved -> reload()
+                        .then(invalidationPublisher.publish(InvalidationEvent.Entity.ROLE, InvalidationEvent.Operation.SAVE, List.of(saved.getId())))
+                        .thenReturn(saved));
     }
 
     @Override
     public Mono<Role> findById(String id) {
-        return springDataRoleRepository.findById(UUID.fromString(id))
-                .map(roleMapper::toDomain);
+        return Mono.defer(() -> {
+            RoleCatalog before = catalog.get();
+            return before.findById(id)
+                    .map(Mono::just)
+                    .orElseGet(() -> springDataRoleRepository.findById(UUID.fromString(id))
+                            .map(roleMapper::toDomain)
+                            .doOnNext(role -> remember(before, role)));
+        });
     }
 
     @Override
     public Flux<Role> findAll() {
-        return springDataRoleRepository.findAll()
-                .map(roleMapper::toDomain);
+        return Flux.defer(() -> loaded
+                ? Flux.fromIterable(catalog.get().all())
+                : reload().flatMapIterable(RoleCatalog::all));
     }
 
     @Override
     public Mono<Void> deleteById(String id) {
-        return springDataRoleRepository.deleteById(UUID.fromString(id));
+        return springDataRoleRepository.deleteById(UUID.fromString(id))
+                .then(reload())
+                .then(invalidationPublisher.publish(InvalidationEvent.Entity.ROLE, InvalidationEvent.Operation.DELETE, List.of(id)));
+    }
+
+    private void remember(RoleCatalog before, Role role) {
+        catalog.compareAndSet(before, before.with(role));
     }
-}
\ No newline at end of file
+}
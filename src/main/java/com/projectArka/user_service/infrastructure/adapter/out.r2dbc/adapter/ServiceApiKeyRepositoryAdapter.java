@@ -0,0 +1,185 @@
+package com.projectArka.user_service.infrastructure.adapter.out.r2dbc.adapter;
+
+import com.projectArka.user_service.domain.model.ServiceApiKey;
+import com.projectArka.user_service.domain.port.out.ServiceApiKeyRepositoryPort;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.CacheInvalidationListener;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.CacheInvalidationPublisher;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.InvalidationEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * API keys are stored as HMAC-SHA256 digests under a server-side pepper, which is fast enough to
+ * check on every request and still useless without the pepper if the table leaks. Verifying a key
+ * is one HMAC and a lookup in an in-memory digest map; the map is loaded when the application is
+ * ready and reloaded after every change here, every {@code SERVICE_API_KEY} notification from other
+ * nodes and every invalidation flush. It is also re-read every {@code reloadInterval}, so a lost
+ * notification keeps a deleted key valid on other nodes for at most that long. Changing the pepper
+ * invalidates every issued key. Without a dedicated pepper one is derived as an HMAC of the label
+ * {@value #PEPPER_LABEL} under the JWT secret, so the secret itself never keys the digests.
+ */
+@Slf4j
+@Repository
+public class ServiceApiKeyRepositoryAdapter implements ServiceApiKeyRepositoryPort, CacheInvalidationListener, DisposableBean {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String PEPPER_LABEL = "service-api-key-pepper";
+
+    private final DatabaseClient databaseClient;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final ThreadLocal<Mac> macs;
+    private final Duration reloadInterval;
+    private volatile Map<ByteBuffer, String> servicesByDigest = Map.of();
+    private Disposable reloads;
+
+    public ServiceApiKeyRepositoryAdapter(DatabaseClient databaseClient,
+                                          CacheInvalidationPublisher invalidationPublisher,
+                                          @Value("${application.security.api-keys.pepper:}") String pepper,
+                                          @Value("${application.security.jwt.secret-key}") String jwtSecret,
+                                          @Value("${application.security.api-keys.reload-interval:PT1M}") Duration reloadInterval) {
+        this.databaseClient = databaseClient;
+        this.invalidationPublisher = invalidationPublisher;
+        this.reloadInterval = reloadInterval;
+        SecretKeySpec key = pepper == null || pepper.isBlank()
+                ? new SecretKeySpec(derivePepper(jwtSecret), ALGORITHM)
+                : new SecretKeySpec(pepper.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(ALGORITHM + " is not available", e);
+            }
+        });
+    }
+
+    @Override
+    public Mono<ServiceApiKey> save(String name, String apiKey) {
+        return databaseClient.sql("INSERT INTO service_api_key (name, key_digest) VALUES (:name, :digest) "
+                        + "ON CONFLICT (name) DO NOTHING RETURNING id, name, created_at")
+                .bind("name", name)
+                .bind("digest", digest(apiKey))
+                .map(row -> toServiceApiKey(row.get("id", UUID.class), row.get("name", String.class),
+                        row.get("created_at", LocalDateTime.class)))
+                .one()
+                .flatMap(saved -> changed(InvalidationEvent.Operation.SAVE, name).thenReturn(saved));
+    }
+
+    @Override
+    public Flux<ServiceApiKey> findAll() {
+        return databaseClient.sql("SELECT id, name, created_at FROM service_api_key ORDER BY name")
+                .map(row -> toServiceApiKey(row.get("id", UUID.class), row.get("name", String.class),
+                        row.get("created_at", LocalDateTime.class)))
+                .all();
+    }
+
+    @Override
+    public Mono<Boolean> deleteByName(String name) {
+        return databaseClient.sql("DELETE FROM service_api_key WHERE name = :name")
+                .bind("name", name)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.just(false)
+                        : changed(InvalidationEvent.Operation.DELETE, name).thenReturn(true));
+    }
+
+    @Override
+    public Optional<String> findServiceName(String apiKey) {
+        if (apiKey == null || apiKey.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(servicesByDigest.get(digest(apiKey)));
+    }
+
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        if (event.concerns(InvalidationEvent.Entity.SERVICE_API_KEY)) {
+            reload().subscribe(
+                    loaded -> log.debug("Loaded {} service API keys after {}", loaded, event),
+                    error -> log.warn("Could not load service API keys after {}: {}", event, error.getMessage()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reload().subscribe(
+                loaded -> log.info("Loaded {} service API keys", loaded),
+                error -> log.warn("Could not load service API keys: {}", error.getMessage()));
+        reloads = Flux.interval(reloadInterval, reloadInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> reload()
+                        .onErrorResume(error -> {
+                            log.warn("Could not reload service API keys: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        if (reloads != null) {
+            reloads.dispose();
+        }
+    }
+
+    public Mono<Integer> reload() {
+        return databaseClient.sql("SELECT name, key_digest FROM service_api_key")
+                .map(row -> Map.entry(row.get("key_digest", ByteBuffer.class), row.get("name", String.class)))
+                .all()
+                .collect(HashMap<ByteBuffer, String>::new, (map, entry) -> map.put(entry.getKey(), entry.getValue()))
+                .map(loaded -> {
+                    servicesByDigest = Map.copyOf(loaded);
+                    return loaded.size();
+                });
+    }
+
+    private Mono<Void> changed(InvalidationEvent.Operation operation, String name) {
+        return reload()
+                .then(invalidationPublisher.publish(InvalidationEvent.Entity.SERVICE_API_KEY, operation, List.of(name)));
+    }
+
+    private ByteBuffer digest(String apiKey) {
+        return ByteBuffer.wrap(macs.get().doFinal(apiKey.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] derivePepper(String jwtSecret) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(jwtSecret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            return mac.doFinal(PEPPER_LABEL.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+
+    private static ServiceApiKey toServiceApiKey(UUID id, String name, LocalDateTime createdAt) {
+        return ServiceApiKey.builder()
+                .id(id.toString())
+                .name(name)
+                .createdAt(createdAt)
+                .build();
+    }
+}
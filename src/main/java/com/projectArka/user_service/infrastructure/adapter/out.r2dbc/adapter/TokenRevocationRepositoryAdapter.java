@@ -0,0 +1,206 @@
+package com.projectArka.user_service.infrastructure.adapter.out.r2dbc.adapter;
+
+import com.projectArka.user_service.application.port.out.TokenClaims;
+import com.projectArka.user_service.application.port.out.TokenRevocationPort;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.CacheInvalidationListener;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.CacheInvalidationPublisher;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.InvalidationEvent;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.TokenDenyList;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Revocations are written to Postgres and mirrored into a {@link TokenDenyList}, so checking a token
+ * never leaves memory. The mirror is loaded when the application is ready and re-read after every
+ * invalidation flush; revocations made on other nodes arrive as {@code REVOKED_TOKEN} and
+ * {@code USER_TOKENS} notifications and are read back from the tables. Both tables are also re-read
+ * every {@code reloadInterval}, so a lost notification delays a remote revocation by at most that
+ * long. Rows past the lifetime of the tokens they reject are purged every {@code purgeInterval}.
+ */
+@Slf4j
+@Repository
+public class TokenRevocationRepositoryAdapter implements TokenRevocationPort, CacheInvalidationListener, DisposableBean {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final DatabaseClient databaseClient;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final Duration tokenLifetime;
+    private final Duration purgeInterval;
+    private final Duration reloadInterval;
+    private final TokenDenyList denyList;
+    private Disposable purge;
+    private Disposable reload;
+
+    public TokenRevocationRepositoryAdapter(DatabaseClient databaseClient,
+                                            CacheInvalidationPublisher invalidationPublisher,
+                                            @Value("${application.security.jwt.expiration}") long jwtExpiration,
+                                            @Value("${application.security.revocation.purge-interval:PT1H}") Duration purgeInterval,
+                                            @Value("${application.security.revocation.reload-interval:PT1M}") Duration reloadInterval) {
+        this.databaseClient = databaseClient;
+        this.invalidationPublisher = invalidationPublisher;
+        this.tokenLifetime = Duration.ofMillis(jwtExpiration);
+        this.purgeInterval = purgeInterval;
+        this.reloadInterval = reloadInterval;
+        this.denyList = new TokenDenyList(tokenLifetime);
+    }
+
+    @Override
+    public Mono<Void> revokeToken(String token, Instant expiresAt) {
+        ByteBuffer digest = TokenDenyList.digest(token);
+        return databaseClient.sql("INSERT INTO revoked_token (token_digest, expires_at) VALUES (:digest, :expiresAt) ON CONFLICT (token_digest) DO NOTHING")
+                .bind("digest", digest.duplicate())
+                .bind("expiresAt", toLocal(expiresAt))
+                .then()
+                .then(Mono.fromRunnable(() -> denyList.revoke(digest, expiresAt)))
+                .then(invalidationPublisher.publish(InvalidationEvent.Entity.REVOKED_TOKEN, InvalidationEvent.Operation.SAVE,
+                        List.of(HEX.formatHex(digest.array()))));
+    }
+
+    @Override
+    public Mono<Void> revokeAllForUser(String userId) {
+        Instant notBefore = TokenDenyList.notBeforeFor(Instant.now());
+        return databaseClient.sql("INSERT INTO user_token_revocation (user_id, not_before) VALUES (:userId, :notBefore) "
+                        + "ON CONFLICT (user_id) DO UPDATE SET not_before = GREATEST(user_token_revocation.not_before, EXCLUDED.not_before)")
+                .bind("userId", UUID.fromString(userId))
+                .bind("notBefore", toLocal(notBefore))
+                .then()
+                .then(Mono.fromRunnable(() -> denyList.revokeAllBefore(userId, notBefore)))
+                .then(invalidationPublisher.publish(InvalidationEvent.Entity.USER_TOKENS, InvalidationEvent.Operation.SAVE,
+                        List.of(userId)));
+    }
+
+    @Override
+    public boolean isRevoked(String token, TokenClaims claims) {
+        return denyList.isRevoked(TokenDenyList.digest(token), claims.getUserId(), claims.getIssuedAt());
+    }
+
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        Mono<Long> load;
+        if (event.isFlush()) {
+            load = loadAll();
+        } else if (event.getEntity() == InvalidationEvent.Entity.REVOKED_TOKEN) {
+            load = loadToken(ByteBuffer.wrap(HEX.parseHex(event.getId())));
+        } else if (event.getEntity() == InvalidationEvent.Entity.USER_TOKENS) {
+            load = loadUser(event.getId());
+        } else {
+            return;
+        }
+        load.subscribe(
+                loaded -> log.debug("Loaded {} token revocations after {}", loaded, event),
+                error -> log.warn("Could not load token revocations after {}: {}", event, error.getMessage()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        loadAll().subscribe(
+                loaded -> log.info("Loaded {} token revocations", loaded),
+                error -> log.warn("Could not load token revocations: {}", error.getMessage()));
+        purge = Flux.interval(purgeInterval, purgeInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> purgeExpired()
+                        .doOnNext(deleted -> log.debug("Purged {} expired token revocations", deleted))
+                        .onErrorResume(error -> {
+                            log.warn("Could not purge expired token revocations: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+        reload = Flux.interval(reloadInterval, reloadInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> loadAll()
+                        .onErrorResume(error -> {
+                            log.warn("Could not reload token revocations: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        if (purge != null) {
+            purge.dispose();
+        }
+        if (reload != null) {
+            reload.dispose();
+        }
+    }
+
+    private Mono<Long> loadAll() {
+        LocalDateTime now = LocalDateTime.now();
+        Flux<Object> tokens = databaseClient.sql("SELECT token_digest, expires_at FROM revoked_token WHERE expires_at > :now")
+                .bind("now", now)
+                .map(row -> remember(row.get("token_digest", ByteBuffer.class), row.get("expires_at", LocalDateTime.class)))
+                .all();
+        Flux<Object> users = databaseClient.sql("SELECT user_id, not_before FROM user_token_revocation WHERE not_before > :cutoff")
+                .bind("cutoff", now.minus(tokenLifetime))
+                .map(row -> remember(row.get("user_id", UUID.class), row.get("not_before", LocalDateTime.class)))
+                .all();
+        return Flux.concat(tokens, users).count();
+    }
+
+    private Mono<Long> loadToken(ByteBuffer digest) {
+        return databaseClient.sql("SELECT token_digest, expires_at FROM revoked_token WHERE token_digest = :digest")
+                .bind("digest", digest)
+                .map(row -> remember(row.get("token_digest", ByteBuffer.class), row.get("expires_at", LocalDateTime.class)))
+                .all()
+                .count();
+    }
+
+    private Mono<Long> loadUser(String userId) {
+        return databaseClient.sql("SELECT user_id, not_before FROM user_token_revocation WHERE user_id = :userId")
+                .bind("userId", UUID.fromString(userId))
+                .map(row -> remember(row.get("user_id", UUID.class), row.get("not_before", LocalDateTime.class)))
+                .all()
+                .count();
+    }
+
+    private Mono<Long> purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        return databaseClient.sql("DELETE FROM revoked_token WHERE expires_at < :now")
+                .bind("now", now)
+                .fetch()
+                .rowsUpdated()
+                .concatWith(databaseClient.sql("DELETE FROM user_token_revocation WHERE not_before < :cutoff")
+                        .bind("cutoff", now.minus(tokenLifetime))
+                        .fetch()
+                        .rowsUpdated())
+                .reduce(0L, Long::sum);
+    }
+
+    private Object remember(ByteBuffer digest, LocalDateTime expiresAt) {
+        denyList.revoke(digest, toInstant(expiresAt));
+        return digest;
+    }
+
+    private Object remember(UUID userId, LocalDateTime notBefore) {
+        denyList.revokeAllBefore(userId.toString(), toInstant(notBefore));
+        return userId;
+    }
+
+    private static LocalDateTime toLocal(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault()).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private static Instant toInstant(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
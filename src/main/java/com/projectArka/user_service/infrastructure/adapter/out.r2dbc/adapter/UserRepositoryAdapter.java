@@ -2,22 +2,31 @@ package com.projectArka.user_service.infrastructure.adapter.out.r2dbc.adapter;
 
 import com.projectArka.user_service.infrastructure.entity.UserEntity;
 import com.projectArka.user_service.infrastructure.entity.UserRoleEntity;
-import com.projectArka.user_service.application.mapper.IPersistenceRoleMapper;
 import com.projectArka.user_service.application.mapper.IPersistenceUserMapper;
 import com.projectArka.user_service.domain.model.Role;
 import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.domain.model.UserFilter;
+import com.projectArka.user_service.domain.port.out.RoleRepositoryPort;
 import com.projectArka.user_service.domain.port.out.UserRepositoryPort;
-import com.projectArka.user_service.infrastructure.adapter.out.r2dbc.repository.SpringDataRoleRepository;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.CacheInvalidationPublisher;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.InvalidationEvent;
 import com.projectArka.user_service.infrastructure.adapter.out.r2dbc.repository.SpringDataUserRepository;
 import com.projectArka.user_service.infrastructure.adapter.out.r2dbc.repository.SpringDataUserRoleRepository;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -27,16 +36,20 @@ import java.util.stream.Collectors;
 public class UserRepositoryAdapter implements UserRepositoryPort {
 
     private final SpringDataUserRepository springDataUserRepository;
-    private final SpringDataRoleRepository springDataRoleRepository;
     private final SpringDataUserRoleRepository springDataUserRoleRepository;
+    private final RoleRepositoryPort roleRepositoryPort;
     private final IPersistenceUserMapper userMapper;
-    private final IPersistenceRoleMapper roleMapper;
+    private final DatabaseClient databaseClient;
+    private final CacheInvalidationPublisher invalidationPublisher;
+
+    @Value("${application.users.bulk-status.chunk-size:500}")
+    private int bulkStatusChunkSize;
 
     @Override
     public Mono<User> save(User user) {
         UserEntity userEntityToSave = userMapper.toEntity(user);
         userEntityToSave = userEntityToSave.toBuilder()
-                .updatedAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
                 .build();
 
         return springDataUserRepository.save(userEntityToSave)
@@ -50,12 +63,12 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
 
                                     return Flux.fromIterable(rolesToSave)
                                             .flatMap(roleName ->
-                                                    springDataRoleRepository.findByName(roleName)
+                                                    roleRepositoryPort.findByName(roleName)
                                                             .switchIfEmpty(Mono.error(new IllegalStateException("Role '" + roleName + "' not found. Ensure it's configured.")))
-                                                            .flatMap(roleEntity -> {
+                                                            .flatMap(role -> {
                                                                 UserRoleEntity userRole = UserRoleEntity.builder()
                                                                         .userId(savedUserEntity.getId())
-                                                                        .roleId(roleEntity.getId())
+                                                                        .roleId(UUID.fromString(role.getId()))
                                                                         .build();
                                                                 return springDataUserRoleRepository.save(userRole);
                                                             })
@@ -64,7 +77,10 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
                                             .then(Mono.just(savedUserEntity));
                                 }))
                 )
-                .flatMap(this::loadUserRoles);
+                .flatMap(this::loadUserRoles)
+                .flatMap(saved -> invalidationPublisher
+                        .publish(InvalidationEvent.Entity.USER, InvalidationEvent.Operation.SAVE, List.of(saved.getId()))
+                        .thenReturn(saved));
     }
 
     @Override
@@ -73,6 +89,20 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
                 .flatMap(this::loadUserRoles);
     }
 
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return springDataUserRepository.existsById(UUID.fromString(id));
+    }
+
+    @Override
+    public Mono<LocalDateTime> findUpdatedAtById(String id) {
+        return databaseClient.sql("SELECT updated_at FROM users WHERE id = :id")
+                .bind("id", UUID.fromString(id))
+                .map(row -> Optional.ofNullable(row.get("updated_at", LocalDateTime.class)))
+                .one()
+                .flatMap(Mono::justOrEmpty);
+    }
+
     @Override
     public Mono<User> findByUsername(String username) {
         return springDataUserRepository.findByUsername(username)
@@ -85,6 +115,52 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
                 .flatMap(this::loadUserRoles);
     }
 
+    @Override
+    public Mono<Boolean> existsByUsername(String username) {
+        return springDataUserRepository.existsByUsername(username);
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email) {
+        return springDataUserRepository.existsByEmail(email);
+    }
+
+    public Flux<UUID> streamIds() {
+        return databaseClient.sql("SELECT id FROM users")
+                .map(row -> row.get("id", UUID.class))
+                .all();
+    }
+
+    public Flux<String> findIdsUpdatedSince(LocalDateTime since) {
+        return databaseClient.sql("SELECT id FROM users WHERE updated_at >= :since")
+                .bind("since", since)
+                .map(row -> row.get("id", UUID.class).toString())
+                .all();
+    }
+
+    public Flux<String> findExistingIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql("SELECT id FROM users WHERE id = ANY(:ids)")
+                .bind("ids", ids.stream().map(UUID::fromString).toArray(UUID[]::new))
+                .map(row -> row.get("id", UUID.class).toString())
+                .all();
+    }
+
+    /**
+     * Streams just the login identifiers of every user, without roles, for building in-memory indexes.
+     */
+    public Flux<User> streamLoginIdentifiers() {
+        return databaseClient.sql("SELECT id, username, email FROM users")
+                .map(row -> User.builder()
+                        .id(row.get("id", UUID.class).toString())
+                        .username(row.get("username", String.class))
+                        .email(row.get("email", String.class))
+                        .build())
+                .all();
+    }
+
     @Override
     public Flux<User> findAll() {
         return springDataUserRepository.findAll()
@@ -94,7 +170,95 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
     @Override
     public Mono<Void> deleteById(String id) {
         return springDataUserRoleRepository.deleteByUserId(UUID.fromString(id))
-                .then(springDataUserRepository.deleteById(UUID.fromString(id)));
+                .then(springDataUserRepository.deleteById(UUID.fromString(id)))
+                .then(invalidationPublisher.publish(InvalidationEvent.Entity.USER, InvalidationEvent.Operation.DELETE, List.of(id)));
+    }
+
+    @Override
+    public Mono<Boolean> updatePassword(String id, String expectedPassword, String newPassword) {
+        return databaseClient.sql("UPDATE users SET password = :newPassword, updated_at = :updatedAt "
+                        + "WHERE id = :id AND password = :expectedPassword")
+                .bind("newPassword", newPassword)
+                .bind("updatedAt", LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                .bind("id", UUID.fromString(id))
+                .bind("expectedPassword", expectedPassword)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(rows -> rows == 0
+                        ? Mono.just(false)
+                        : invalidationPublisher
+                                .publish(InvalidationEvent.Entity.USER, InvalidationEvent.Operation.SAVE, List.of(id))
+                                .thenReturn(true));
+    }
+
+    @Override
+    public Flux<String> updateActiveByFilter(UserFilter filter, boolean active) {
+        return Flux.defer(() -> {
+            String sql = buildUpdateActiveSql(filter);
+            List<UUID> ids = filter.getIds() == null ? List.of() : filter.getIds().stream().map(UUID::fromString).toList();
+
+            return updateActiveChunk(sql, filter, ids, active)
+                    .expand(chunk -> chunk.size() < bulkStatusChunkSize ? Mono.empty() : updateActiveChunk(sql, filter, ids, active))
+                    .flatMapIterable(chunk -> chunk);
+        });
+    }
+
+    private Mono<List<String>> updateActiveChunk(String sql, UserFilter filter, List<UUID> ids, boolean active) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind("active", active)
+                .bind("updatedAt", LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                .bind("chunkSize", bulkStatusChunkSize);
+
+        if (!ids.isEmpty()) {
+            spec = spec.bind("ids", ids.toArray(new UUID[0]));
+        }
+        if (filter.getEmailDomain() != null && !filter.getEmailDomain().isBlank()) {
+            spec = spec.bind("emailPattern", "%@" + escapeLike(filter.getEmailDomain().trim().toLowerCase(Locale.ROOT)));
+        }
+        if (filter.getRole() != null && !filter.getRole().isBlank()) {
+            spec = spec.bind("role", filter.getRole().trim());
+        }
+        if (filter.getCreatedFrom() != null) {
+            spec = spec.bind("createdFrom", filter.getCreatedFrom());
+        }
+        if (filter.getCreatedTo() != null) {
+            spec = spec.bind("createdTo", filter.getCreatedTo());
+        }
+
+        return spec.map(row -> row.get("id", UUID.class).toString())
+                .all()
+                .collectList()
+                .flatMap(chunk -> invalidationPublisher
+                        .publish(InvalidationEvent.Entity.USER, InvalidationEvent.Operation.SAVE, chunk)
+                        .thenReturn(chunk));
+    }
+
+    private String buildUpdateActiveSql(UserFilter filter) {
+        StringBuilder where = new StringBuilder("u.active IS DISTINCT FROM :active");
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            where.append(" AND u.id = ANY(:ids)");
+        }
+        if (filter.getEmailDomain() != null && !filter.getEmailDomain().isBlank()) {
+            where.append(" AND lower(u.email) LIKE :emailPattern");
+        }
+        if (filter.getRole() != null && !filter.getRole().isBlank()) {
+            where.append(" AND EXISTS (SELECT 1 FROM user_role ur JOIN role r ON r.id = ur.role_id"
+                    + " WHERE ur.user_id = u.id AND r.name = :role)");
+        }
+        if (filter.getCreatedFrom() != null) {
+            where.append(" AND u.created_at >= :createdFrom");
+        }
+        if (filter.getCreatedTo() != null) {
+            where.append(" AND u.created_at < :createdTo");
+        }
+
+        return "UPDATE users SET active = :active, updated_at = :updatedAt"
+                + " WHERE id IN (SELECT u.id FROM users u WHERE " + where + " LIMIT :chunkSize)"
+                + " RETURNING id";
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     private Mono<User> loadUserRoles(UserEntity userEntity) {
@@ -102,8 +266,7 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
             return Mono.just(userMapper.toDomain(userEntity).toBuilder().roles(Collections.emptySet()).build());
         }
         return springDataUserRoleRepository.findByUserId(userEntity.getId())
-                .flatMap(userRoleEntity -> springDataRoleRepository.findById(userRoleEntity.getRoleId()))
-                .map(roleMapper::toDomain)
+                .concatMap(userRoleEntity -> roleRepositoryPort.findById(userRoleEntity.getRoleId().toString()))
                 .map(Role::getName)
                 .collect(Collectors.toSet())
                 .map(roles -> userMapper.toDomain(userEntity).toBuilder().roles(roles).build())
@@ -0,0 +1,80 @@
+package com.projectArka.user_service.infrastructure.adapter.out.r2dbc.notification;
+
+import com.projectArka.user_service.infrastructure.adapter.out.cache.CacheInvalidationPublisher;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.InvalidationEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Broadcasts entity changes to the other replicas through {@code pg_notify}. A failed notification
+ * never fails the write that triggered it; the other nodes still converge through cache TTLs.
+ */
+@Slf4j
+@Component
+public class PostgresInvalidationPublisher implements CacheInvalidationPublisher {
+
+    static final String CHANNEL = "arka_user_service_invalidation";
+    private static final String SEPARATOR = "|";
+
+    private final DatabaseClient databaseClient;
+    private final boolean enabled;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public PostgresInvalidationPublisher(DatabaseClient databaseClient,
+                                         @Value("${application.cache.invalidation.enabled:true}") boolean enabled) {
+        this.databaseClient = databaseClient;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Mono<Void> publish(InvalidationEvent.Entity entity, InvalidationEvent.Operation operation, Collection<String> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return Mono.empty();
+        }
+        String[] payloads = ids.stream()
+                .filter(Objects::nonNull)
+                .map(id -> format(entity, operation, id))
+                .toArray(String[]::new);
+
+        return databaseClient.sql("SELECT pg_notify(:channel, payload) FROM unnest(CAST(:payloads AS text[])) AS payload")
+                .bind("channel", CHANNEL)
+                .bind("payloads", payloads)
+                .then()
+                .onErrorResume(error -> {
+                    log.warn("Could not publish {} {} invalidation for {} ids: {}", entity, operation, payloads.length, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    String nodeId() {
+        return nodeId;
+    }
+
+    String format(InvalidationEvent.Entity entity, InvalidationEvent.Operation operation, String id) {
+        return nodeId + SEPARATOR + entity + SEPARATOR + operation + SEPARATOR + id;
+    }
+
+    /** The event in a payload from another node; {@code null} for this node's own echoes and malformed payloads. */
+    InvalidationEvent parse(String payload) {
+        String[] parts = payload.split("\\|", 4);
+        if (parts.length != 4 || nodeId.equals(parts[0])) {
+            return null;
+        }
+        try {
+            return new InvalidationEvent(
+                    InvalidationEvent.Entity.valueOf(parts[1]),
+                    InvalidationEvent.Operation.valueOf(parts[2]),
+                    parts[3]);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed invalidation payload '{}'", payload);
+            return null;
+        }
+    }
+}
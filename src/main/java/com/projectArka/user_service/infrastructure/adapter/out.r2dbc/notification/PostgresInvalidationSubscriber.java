@@ -0,0 +1,134 @@
+package com.projectArka.user_service.infrastructure.adapter.out.r2dbc.notification;
+
+import com.projectArka.user_service.infrastructure.adapter.out.cache.CacheInvalidationListener;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.InvalidationEvent;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Keeps one dedicated (unpooled) connection in {@code LISTEN} mode and fans notifications from the
+ * other replicas out to every {@link CacheInvalidationListener}. Each time the {@code LISTEN}
+ * succeeds, after startup or a reconnect, listeners receive a flush, since anything published
+ * while this node was not listening is lost. It starts before the application runners so startup
+ * work can wait for {@link #whenListening()}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "application.cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class PostgresInvalidationSubscriber implements DisposableBean {
+
+    private final R2dbcProperties r2dbcProperties;
+    private final PostgresInvalidationPublisher publisher;
+    private final ObjectProvider<CacheInvalidationListener> listeners;
+    private final Sinks.Empty<Void> listening = Sinks.empty();
+    private volatile Disposable subscription;
+
+    public PostgresInvalidationSubscriber(R2dbcProperties r2dbcProperties,
+                                          PostgresInvalidationPublisher publisher,
+                                          ObjectProvider<CacheInvalidationListener> listeners) {
+        this.r2dbcProperties = r2dbcProperties;
+        this.publisher = publisher;
+        this.listeners = listeners;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        subscription = events(listenerConnectionFactory()).subscribe(this::dispatch);
+    }
+
+    /**
+     * Completes once the first {@code LISTEN} succeeded; changes committed after that are delivered.
+     */
+    public Mono<Void> whenListening() {
+        return listening.asMono();
+    }
+
+    @Override
+    public void destroy() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    private Flux<InvalidationEvent> events(ConnectionFactory connectionFactory) {
+        return listen(connectionFactory)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("Invalidation listener disconnected, reconnecting (attempt {}): {}",
+                                signal.totalRetries() + 1, signal.failure().getMessage())));
+    }
+
+    private Flux<InvalidationEvent> listen(ConnectionFactory connectionFactory) {
+        return Flux.usingWhen(
+                connectionFactory.create(),
+                connection -> {
+                    PostgresqlConnection postgres = unwrap(connection);
+                    return postgres.createStatement("LISTEN " + PostgresInvalidationPublisher.CHANNEL)
+                            .execute()
+                            .flatMap(PostgresqlResult::getRowsUpdated)
+                            .then(Mono.fromRunnable(() -> {
+                                log.info("Listening for cache invalidations on '{}'", PostgresInvalidationPublisher.CHANNEL);
+                                dispatch(InvalidationEvent.flush());
+                                listening.tryEmitEmpty();
+                            }))
+                            .thenMany(postgres.getNotifications())
+                            .concatWith(Flux.error(new IllegalStateException("Notification stream closed")))
+                            .mapNotNull(notification -> notification.getParameter() == null
+                                    ? null
+                                    : publisher.parse(notification.getParameter()));
+                },
+                Connection::close);
+    }
+
+    private void dispatch(InvalidationEvent event) {
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onInvalidation(event);
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation listener {} failed on {}: {}", listener, event, e.getMessage());
+            }
+        });
+    }
+
+    private ConnectionFactory listenerConnectionFactory() {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(r2dbcProperties.getUrl()).mutate();
+        if (r2dbcProperties.getUsername() != null) {
+            options.option(ConnectionFactoryOptions.USER, r2dbcProperties.getUsername());
+        }
+        if (r2dbcProperties.getPassword() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, r2dbcProperties.getPassword());
+        }
+        return ConnectionFactories.get(options.build());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PostgresqlConnection unwrap(Connection connection) {
+        Connection current = connection;
+        while (!(current instanceof PostgresqlConnection) && current instanceof Wrapped<?>) {
+            current = ((Wrapped<Connection>) current).unwrap();
+        }
+        return (PostgresqlConnection) Objects.requireNonNull(current, "No PostgreSQL connection available for LISTEN");
+    }
+}
@@ -9,4 +9,6 @@ import java.util.UUID;
 public interface SpringDataUserRepository extends ReactiveCrudRepository<UserEntity, UUID> {
     Mono<UserEntity> findByUsername(String username);
     Mono<UserEntity> findByEmail(String email);
+    Mono<Boolean> existsByUsername(String username);
+    Mono<Boolean> existsByEmail(String email);
 }
\ No newline at end of file
@@ -0,0 +1,185 @@
+package com.projectArka.user_service.infrastructure.adapter.out.cache;
+
+import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.domain.port.out.UserRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Answers {@code existsByUsername}/{@code existsByEmail} from Bloom filters of normalized
+ * (trimmed, lower-cased) identifiers. A miss is definitive; a possible hit is confirmed against the
+ * database. Until the first build completes every check goes to the database.
+ * <p>
+ * Bloom filters cannot forget, so deletes and renames leave stale bits that only cost an extra
+ * probe; a rebuild (on flush, every {@code rebuildInterval} or {@link #rebuild()}) clears them and
+ * also repairs identifiers missed while invalidation was off or a notification was lost. While a
+ * rebuild streams the table, new identifiers are written to both the live and the pending filters
+ * so none is lost in the swap.
+ */
+@Slf4j
+public class BloomFilterUserRepository extends DelegatingUserRepository implements DisposableBean {
+
+    private final Supplier<Flux<User>> identifierSource;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration rebuildInterval;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicLong lastBuildSize = new AtomicLong();
+    private final Counter definiteMisses;
+    private final Counter probes;
+
+    private volatile Filters live;
+    private volatile Filters pending;
+    private Disposable scheduledRebuild;
+
+    public BloomFilterUserRepository(UserRepositoryPort delegate,
+                                     Supplier<Flux<User>> identifierSource,
+                                     long expectedInsertions,
+                                     double falsePositiveRate,
+                                     Duration rebuildInterval,
+                                     MeterRegistry meterRegistry) {
+        super(delegate);
+        this.identifierSource = identifierSource;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildInterval = rebuildInterval;
+        this.definiteMisses = Counter.builder("users.availability.bloom")
+                .tag("result", "definite-miss")
+                .register(meterRegistry);
+        this.probes = Counter.builder("users.availability.bloom")
+                .tag("result", "probe")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Boolean> existsByUsername(String username) {
+        return check(username, Filters::usernames, delegate::existsByUsername);
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email) {
+        return check(email, Filters::emails, delegate::existsByEmail);
+    }
+
+    @Override
+    public Mono<User> save(User user) {
+        return delegate.save(user).doOnNext(this::remember);
+    }
+
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        super.onInvalidation(event);
+        if (event.isFlush()) {
+            rebuild().subscribe(null, error -> { });
+        } else if (event.getEntity() == InvalidationEvent.Entity.USER
+                && event.getOperation() == InvalidationEvent.Operation.SAVE) {
+            delegate.findById(event.getId())
+                    .subscribe(this::remember,
+                            error -> log.warn("Could not add user {} to the availability filter: {}", event.getId(), error.getMessage()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild().subscribe(null, error -> { });
+        scheduledRebuild = Flux.interval(rebuildInterval, rebuildInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> rebuild().onErrorResume(error -> Mono.empty()))
+                .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduledRebuild != null) {
+            scheduledRebuild.dispose();
+        }
+    }
+
+    public Mono<Void> rebuild() {
+        return Mono.defer(() -> {
+            if (!rebuilding.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            long capacity = Math.max(expectedInsertions, lastBuildSize.get() * 2);
+            Filters fresh = new Filters(
+                    BloomFilter.create(capacity, falsePositiveRate),
+                    BloomFilter.create(capacity, falsePositiveRate));
+            pending = fresh;
+            return identifierSource.get()
+                    .doOnNext(fresh::add)
+                    .count()
+                    .doOnNext(count -> {
+                        lastBuildSize.set(count);
+                        live = fresh;
+                        log.info("Availability filter built from {} users", count);
+                    })
+                    .doOnError(error -> log.warn("Could not build the availability filter, checks will hit the database: {}", error.getMessage()))
+                    .doFinally(signal -> {
+                        pending = null;
+                        rebuilding.set(false);
+                    })
+                    .then();
+        });
+    }
+
+    public boolean isReady() {
+        return live != null;
+    }
+
+    private Mono<Boolean> check(String value, Function<Filters, BloomFilter> filter, Function<String, Mono<Boolean>> probe) {
+        return Mono.defer(() -> {
+            Filters current = live;
+            if (current != null && !filter.apply(current).mightContain(normalize(value))) {
+                definiteMisses.increment();
+                return Mono.just(false);
+            }
+            probes.increment();
+            return probe.apply(value);
+        });
+    }
+
+    /**
+     * Reads {@code pending} before {@code live}: a rebuild publishes {@code live} before clearing
+     * {@code pending}, so either the pending filter is seen or the live one is already the fresh one.
+     */
+    private void remember(User user) {
+        Filters next = pending;
+        if (next != null) {
+            next.add(user);
+        }
+        Filters current = live;
+        if (current != null && current != next) {
+            current.add(user);
+        }
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+
+        void add(User user) {
+            if (user.getUsername() != null) {
+                usernames.put(normalize(user.getUsername()));
+            }
+            if (user.getEmail() != null) {
+                emails.put(normalize(user.getEmail()));
+            }
+        }
+    }
+}
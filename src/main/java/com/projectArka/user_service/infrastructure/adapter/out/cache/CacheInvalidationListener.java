@@ -0,0 +1,5 @@
+package com.projectArka.user_service.infrastructure.adapter.out.cache;
+
+public interface CacheInvalidationListener {
+    void onInvalidation(InvalidationEvent event);
+}
@@ -0,0 +1,9 @@
+package com.projectArka.user_service.infrastructure.adapter.out.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface CacheInvalidationPublisher {
+    Mono<Void> publish(InvalidationEvent.Entity entity, InvalidationEvent.Operation operation, Collection<String> ids);
+}
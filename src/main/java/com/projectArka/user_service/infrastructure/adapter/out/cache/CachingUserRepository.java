@@ -0,0 +1,237 @@
+package com.projectArka.user_service.infrastructure.adapter.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.domain.model.UserFilter;
+import com.projectArka.user_service.domain.port.out.UserRepositoryPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Read-through cache over {@link UserRepositoryPort}. Users are stored once by id; the username and
+ * email indexes only point at ids and are validated against the cached user on every hit.
+ * <p>
+ * Writes invalidate synchronously. Every invalidation also bumps {@code epoch}, and a load only
+ * populates the cache if no invalidation happened while it was in flight, so a read racing with a
+ * write can never re-insert the old row. Caches derived from user entries register an
+ * {@link EvictionListener} to be invalidated in the same step.
+ */
+public class CachingUserRepository extends DelegatingUserRepository {
+
+    public interface EvictionListener {
+        void evicted(String id);
+
+        void evictedAll();
+    }
+
+    private final Cache<String, User> usersById;
+    private final Cache<String, String> idsByUsername;
+    private final Cache<String, String> idsByEmail;
+    private final AtomicLong epoch = new AtomicLong();
+    private final List<EvictionListener> evictionListeners = new CopyOnWriteArrayList<>();
+
+    public CachingUserRepository(UserRepositoryPort delegate, long maximumSize, Duration ttl, MeterRegistry meterRegistry) {
+        super(delegate);
+        this.usersById = newCache(maximumSize, ttl);
+        this.idsByUsername = newCache(maximumSize, ttl);
+        this.idsByEmail = newCache(maximumSize, ttl);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "users.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByUsername, "users.by-username");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByEmail, "users.by-email");
+    }
+
+    private static <V> Cache<String, V> newCache(long maximumSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Mono<User> findById(String id) {
+        return Mono.defer(() -> {
+            User cached = usersById.getIfPresent(id);
+            if (cached != null) {
+                return Mono.just(copyOf(cached));
+            }
+            return load(delegate::findById, id);
+        });
+    }
+
+    @Override
+    public Mono<LocalDateTime> findUpdatedAtById(String id) {
+        return Mono.defer(() -> {
+            User cached = usersById.getIfPresent(id);
+            return cached != null && cached.getUpdatedAt() != null
+                    ? Mono.just(cached.getUpdatedAt())
+                    : delegate.findUpdatedAtById(id);
+        });
+    }
+
+    @Override
+    public Mono<User> findByUsername(String username) {
+        return Mono.defer(() -> {
+            User cached = lookup(idsByUsername, username, User::getUsername);
+            if (cached != null) {
+                return Mono.just(copyOf(cached));
+            }
+            return load(delegate::findByUsername, username);
+        });
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        return Mono.defer(() -> {
+            User cached = lookup(idsByEmail, email, User::getEmail);
+            if (cached != null) {
+                return Mono.just(copyOf(cached));
+            }
+            return load(delegate::findByEmail, email);
+        });
+    }
+
+    @Override
+    public Mono<User> save(User user) {
+        return Mono.defer(() -> {
+            invalidate(user.getId());
+            return delegate.save(user)
+                    .doOnNext(saved -> invalidate(saved.getId()))
+                    .doFinally(signal -> invalidate(user.getId()));
+        });
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return Mono.defer(() -> {
+            invalidate(id);
+            return delegate.deleteById(id)
+                    .doFinally(signal -> invalidate(id));
+        });
+    }
+
+    @Override
+    public Mono<Boolean> updatePassword(String id, String expectedPassword, String newPassword) {
+        return Mono.defer(() -> {
+            invalidate(id);
+            return delegate.updatePassword(id, expectedPassword, newPassword)
+                    .doFinally(signal -> invalidate(id));
+        });
+    }
+
+    @Override
+    public Flux<String> updateActiveByFilter(UserFilter filter, boolean active) {
+        return delegate.updateActiveByFilter(filter, active)
+                .doOnNext(this::invalidate)
+                .doFinally(signal -> epoch.incrementAndGet());
+    }
+
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        super.onInvalidation(event);
+        if (event.isFlush() || event.getEntity() == InvalidationEvent.Entity.ROLE) {
+            invalidateAll();
+        } else if (event.getEntity() == InvalidationEvent.Entity.USER) {
+            invalidate(event.getId());
+        }
+    }
+
+    public void addEvictionListener(EvictionListener listener) {
+        evictionListeners.add(listener);
+    }
+
+    public void invalidate(String id) {
+        epoch.incrementAndGet();
+        if (id == null) {
+            return;
+        }
+        evictionListeners.forEach(listener -> listener.evicted(id));
+        User previous = usersById.asMap().remove(id);
+        if (previous != null) {
+            removeIndex(idsByUsername, previous.getUsername(), id);
+            removeIndex(idsByEmail, previous.getEmail(), id);
+        }
+    }
+
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+        usersById.invalidateAll();
+        idsByUsername.invalidateAll();
+        idsByEmail.invalidateAll();
+        evictionListeners.forEach(EvictionListener::evictedAll);
+    }
+
+    /**
+     * Copies of every cached user, for writing a directory snapshot.
+     */
+    public List<User> snapshot() {
+        return usersById.asMap().values().stream()
+                .map(DelegatingUserRepository::copyOf)
+                .toList();
+    }
+
+    /**
+     * Seeds the cache from a snapshot. Entries are only added if no invalidation ran meanwhile and
+     * never replace a user that was loaded from the database.
+     */
+    public void warm(Collection<User> users) {
+        long observedEpoch = epoch.get();
+        for (User user : users) {
+            if (user.getId() != null && !usersById.asMap().containsKey(user.getId())) {
+                put(user, observedEpoch);
+            }
+        }
+    }
+
+    private User lookup(Cache<String, String> index, String key, Function<User, String> keyOf) {
+        if (key == null) {
+            return null;
+        }
+        String id = index.getIfPresent(key);
+        if (id == null) {
+            return null;
+        }
+        User user = usersById.getIfPresent(id);
+        return user != null && key.equals(keyOf.apply(user)) ? user : null;
+    }
+
+    private Mono<User> load(Function<String, Mono<User>> loader, String key) {
+        long observedEpoch = epoch.get();
+        return loader.apply(key)
+                .doOnNext(user -> put(user, observedEpoch));
+    }
+
+    private void put(User user, long observedEpoch) {
+        if (user.getId() == null || epoch.get() != observedEpoch) {
+            return;
+        }
+        usersById.put(user.getId(), copyOf(user));
+        if (user.getUsername() != null) {
+            idsByUsername.put(user.getUsername(), user.getId());
+        }
+        if (user.getEmail() != null) {
+            idsByEmail.put(user.getEmail(), user.getId());
+        }
+        if (epoch.get() != observedEpoch) {
+            invalidate(user.getId());
+        }
+    }
+
+    private static void removeIndex(Cache<String, String> index, String key, String id) {
+        if (key != null) {
+            index.asMap().remove(key, id);
+        }
+    }
+}
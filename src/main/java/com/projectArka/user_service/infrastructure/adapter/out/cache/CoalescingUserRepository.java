@@ -0,0 +1,88 @@
+package com.projectArka.user_service.infrastructure.adapter.out.cache;
+
+import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.domain.model.UserFilter;
+import com.projectArka.user_service.domain.port.out.UserRepositoryPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class CoalescingUserRepository extends DelegatingUserRepository {
+
+    private final SingleFlight<String, User> byId;
+    private final SingleFlight<String, User> byUsername;
+    private final SingleFlight<String, User> byEmail;
+
+    public CoalescingUserRepository(UserRepositoryPort delegate, MeterRegistry meterRegistry) {
+        super(delegate);
+        this.byId = new SingleFlight<>("findById", meterRegistry);
+        this.byUsername = new SingleFlight<>("findByUsername", meterRegistry);
+        this.byEmail = new SingleFlight<>("findByEmail", meterRegistry);
+    }
+
+    @Override
+    public Mono<User> findById(String id) {
+        return byId.execute(id, delegate::findById)
+                .map(DelegatingUserRepository::copyOf);
+    }
+
+    @Override
+    public Mono<User> findByUsername(String username) {
+        return byUsername.execute(username, delegate::findByUsername)
+                .map(DelegatingUserRepository::copyOf);
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        return byEmail.execute(email, delegate::findByEmail)
+                .map(DelegatingUserRepository::copyOf);
+    }
+
+    @Override
+    public Mono<User> save(User user) {
+        return Mono.defer(() -> {
+            forgetAll();
+            return delegate.save(user)
+                    .doFinally(signal -> forgetAll());
+        });
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return Mono.defer(() -> {
+            forgetAll();
+            return delegate.deleteById(id)
+                    .doFinally(signal -> forgetAll());
+        });
+    }
+
+    @Override
+    public Mono<Boolean> updatePassword(String id, String expectedPassword, String newPassword) {
+        return Mono.defer(() -> {
+            forgetAll();
+            return delegate.updatePassword(id, expectedPassword, newPassword)
+                    .doFinally(signal -> forgetAll());
+        });
+    }
+
+    @Override
+    public Flux<String> updateActiveByFilter(UserFilter filter, boolean active) {
+        return Flux.defer(() -> {
+            forgetAll();
+            return delegate.updateActiveByFilter(filter, active)
+                    .doFinally(signal -> forgetAll());
+        });
+    }
+
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        forgetAll();
+        super.onInvalidation(event);
+    }
+
+    public void forgetAll() {
+        byId.forgetAll();
+        byUsername.forgetAll();
+        byEmail.forgetAll();
+    }
+}
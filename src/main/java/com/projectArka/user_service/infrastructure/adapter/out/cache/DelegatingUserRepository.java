@@ -0,0 +1,103 @@
+package com.projectArka.user_service.infrastructure.adapter.out.cache;
+
+import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.domain.model.UserFilter;
+import com.projectArka.user_service.domain.port.out.UserRepositoryPort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+
+/**
+ * Base class for the layers stacked in front of the R2DBC user adapter. Every call is forwarded
+ * unchanged; subclasses override only the operations they care about.
+ */
+public abstract class DelegatingUserRepository implements UserRepositoryPort {
+
+    protected final UserRepositoryPort delegate;
+
+    protected DelegatingUserRepository(UserRepositoryPort delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Mono<User> save(User user) {
+        return delegate.save(user);
+    }
+
+    @Override
+    public Mono<User> findById(String id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return delegate.existsById(id);
+    }
+
+    @Override
+    public Mono<LocalDateTime> findUpdatedAtById(String id) {
+        return delegate.findUpdatedAtById(id);
+    }
+
+    @Override
+    public Mono<User> findByUsername(String username) {
+        return delegate.findByUsername(username);
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public Mono<Boolean> existsByUsername(String username) {
+        return delegate.existsByUsername(username);
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public Flux<User> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return delegate.deleteById(id);
+    }
+
+    @Override
+    public Flux<String> updateActiveByFilter(UserFilter filter, boolean active) {
+        return delegate.updateActiveByFilter(filter, active);
+    }
+
+    @Override
+    public Mono<Boolean> updatePassword(String id, String expectedPassword, String newPassword) {
+        return delegate.updatePassword(id, expectedPassword, newPassword);
+    }
+
+    /**
+     * Applies a change made elsewhere (usually by another node) to this layer and every layer
+     * beneath it. Inner layers go first so an outer cache can never refill from a stale inner one.
+     */
+    public void onInvalidation(InvalidationEvent event) {
+        if (delegate instanceof DelegatingUserRepository inner) {
+            inner.onInvalidation(event);
+        }
+    }
+
+    /**
+     * {@link User} is mutable, so instances shared between callers (cached or coalesced) are
+     * handed out as copies.
+     */
+    protected static User copyOf(User user) {
+        return user.toBuilder()
+                .roles(user.getRoles() == null ? null : new HashSet<>(user.getRoles()))
+                .build();
+    }
+}
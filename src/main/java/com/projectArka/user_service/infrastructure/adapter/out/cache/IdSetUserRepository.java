@@ -0,0 +1,163 @@
+package com.projectArka.user_service.infrastructure.adapter.out.cache;
+
+import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.domain.port.out.UserRepositoryPort;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Answers {@code existsById} from a {@link UuidSet} of every user id. The set is loaded after
+ * startup, follows local and remote creates and deletes, and is rebuilt from the database every
+ * {@code reconcileInterval} (and on a flush) to repair any drift. Creates and deletes that happen
+ * while a rebuild streams the table are journaled and replayed onto the new set before it is
+ * swapped in. Until the first load completes every check goes to the database.
+ */
+@Slf4j
+public class IdSetUserRepository extends DelegatingUserRepository implements DisposableBean {
+
+    private final Supplier<Flux<UUID>> idSource;
+    private final Duration reconcileInterval;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private final Object mutationLock = new Object();
+
+    private volatile UuidSet live;
+    private List<Mutation> journal;
+    private Disposable reconciliation;
+
+    public IdSetUserRepository(UserRepositoryPort delegate,
+                               Supplier<Flux<UUID>> idSource,
+                               Duration reconcileInterval,
+                               MeterRegistry meterRegistry) {
+        super(delegate);
+        this.idSource = idSource;
+        this.reconcileInterval = reconcileInterval;
+        Gauge.builder("users.exists.id-set.size", this, repository -> repository.live == null ? 0 : repository.live.size())
+                .register(meterRegistry);
+        Gauge.builder("users.exists.id-set.memory", this, repository -> repository.live == null ? 0 : repository.live.memoryBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return Mono.defer(() -> {
+            UUID uuid = UUID.fromString(id);
+            UuidSet current = live;
+            return current != null ? Mono.just(current.contains(uuid)) : delegate.existsById(id);
+        });
+    }
+
+    @Override
+    public Mono<User> save(User user) {
+        return delegate.save(user)
+                .doOnNext(saved -> apply(new Mutation(UUID.fromString(saved.getId()), true)));
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return delegate.deleteById(id)
+                .then(Mono.fromRunnable(() -> apply(new Mutation(UUID.fromString(id), false))));
+    }
+
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        super.onInvalidation(event);
+        if (event.isFlush()) {
+            reload().subscribe(null, error -> { });
+        } else if (event.getEntity() == InvalidationEvent.Entity.USER) {
+            apply(new Mutation(UUID.fromString(event.getId()), event.getOperation() == InvalidationEvent.Operation.SAVE));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reload().subscribe(null, error -> { });
+        reconciliation = Flux.interval(reconcileInterval, reconcileInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> reload().onErrorResume(error -> Mono.empty()))
+                .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        if (reconciliation != null) {
+            reconciliation.dispose();
+        }
+    }
+
+    public Mono<Void> reload() {
+        return Mono.defer(() -> {
+            if (!reloading.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            UuidSet current = live;
+            UuidSet fresh = new UuidSet(current == null ? 0 : current.size());
+            synchronized (mutationLock) {
+                journal = new ArrayList<>();
+            }
+            return idSource.get()
+                    .doOnNext(fresh::add)
+                    .then(Mono.fromRunnable(() -> swapIn(fresh)))
+                    .doOnError(error -> log.warn("Could not load user ids, existence checks will hit the database: {}", error.getMessage()))
+                    .doFinally(signal -> {
+                        synchronized (mutationLock) {
+                            journal = null;
+                        }
+                        reloading.set(false);
+                    })
+                    .then();
+        });
+    }
+
+    public boolean isReady() {
+        return live != null;
+    }
+
+    private void swapIn(UuidSet fresh) {
+        synchronized (mutationLock) {
+            journal.forEach(mutation -> mutation.applyTo(fresh));
+            UuidSet previous = live;
+            live = fresh;
+            if (previous != null && previous.size() != fresh.size()) {
+                log.info("User id set reconciled: {} -> {} ids", previous.size(), fresh.size());
+            }
+        }
+    }
+
+    private void apply(Mutation mutation) {
+        synchronized (mutationLock) {
+            UuidSet current = live;
+            if (current != null) {
+                mutation.applyTo(current);
+            }
+            if (journal != null) {
+                journal.add(mutation);
+            }
+        }
+    }
+
+    private record Mutation(UUID id, boolean present) {
+
+        void applyTo(UuidSet set) {
+            if (present) {
+                set.add(id);
+            } else {
+                set.remove(id);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.projectArka.user_service.infrastructure.adapter.out.cache;
+
+import lombok.Value;
+
+@Value
+public class InvalidationEvent {
+
+    public enum Entity { USER, ROLE, REVOKED_TOKEN, USER_TOKENS, SERVICE_API_KEY }
+
+    public enum Operation { SAVE, DELETE, FLUSH }
+
+    Entity entity;
+    Operation operation;
+    String id;
+
+    /**
+     * Emitted when notifications from other nodes may have been missed (startup, reconnect).
+     * Listeners must drop everything they cannot prove is still current.
+     */
+    public static InvalidationEvent flush() {
+        return new InvalidationEvent(null, Operation.FLUSH, null);
+    }
+
+    public boolean isFlush() {
+        return operation == Operation.FLUSH;
+    }
+
+    public boolean concerns(Entity candidate) {
+        return isFlush() || entity == candidate;
+    }
+}
@@ -0,0 +1,74 @@
+package com.projectArka.user_service.infrastructure.adapter.out.cache;
+
+import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.domain.model.UserFilter;
+import com.projectArka.user_service.domain.port.out.UserRepositoryPort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Serves repeated lookups within one request from the {@link RequestUserMemo} found in the
+ * subscriber context, so the caller authenticated by the security filter is not loaded again by the
+ * use case. Without a memo in the context every call is forwarded as is. Writes clear the memo.
+ */
+public class RequestMemoUserRepository extends DelegatingUserRepository {
+
+    public RequestMemoUserRepository(UserRepositoryPort delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public Mono<User> findById(String id) {
+        return memoized(RequestUserMemo.Key.ID, id, delegate::findById);
+    }
+
+    @Override
+    public Mono<User> findByUsername(String username) {
+        return memoized(RequestUserMemo.Key.USERNAME, username, delegate::findByUsername);
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        return memoized(RequestUserMemo.Key.EMAIL, email, delegate::findByEmail);
+    }
+
+    @Override
+    public Mono<User> save(User user) {
+        return clearingMemo(delegate.save(user));
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return clearingMemo(delegate.deleteById(id));
+    }
+
+    @Override
+    public Mono<Boolean> updatePassword(String id, String expectedPassword, String newPassword) {
+        return clearingMemo(delegate.updatePassword(id, expectedPassword, newPassword));
+    }
+
+    @Override
+    public Flux<String> updateActiveByFilter(UserFilter filter, boolean active) {
+        return Flux.deferContextual(context -> {
+            context.<RequestUserMemo>getOrEmpty(RequestUserMemo.class).ifPresent(RequestUserMemo::clear);
+            return delegate.updateActiveByFilter(filter, active)
+                    .doFinally(signal -> context.<RequestUserMemo>getOrEmpty(RequestUserMemo.class).ifPresent(RequestUserMemo::clear));
+        });
+    }
+
+    private Mono<User> memoized(RequestUserMemo.Key key, String value, Function<String, Mono<User>> loader) {
+        return Mono.deferContextual(context -> context.<RequestUserMemo>getOrEmpty(RequestUserMemo.class)
+                        .map(memo -> memo.lookup(key, value, loader))
+                        .orElseGet(() -> loader.apply(value)))
+                .map(DelegatingUserRepository::copyOf);
+    }
+
+    private <T> Mono<T> clearingMemo(Mono<T> write) {
+        return Mono.deferContextual(context -> {
+            context.<RequestUserMemo>getOrEmpty(RequestUserMemo.class).ifPresent(RequestUserMemo::clear);
+            return write.doFinally(signal -> context.<RequestUserMemo>getOrEmpty(RequestUserMemo.class).ifPresent(RequestUserMemo::clear));
+        });
+    }
+}
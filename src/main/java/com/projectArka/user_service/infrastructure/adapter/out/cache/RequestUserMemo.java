@@ -0,0 +1,45 @@
+package com.projectArka.user_service.infrastructure.adapter.out.cache;
+
+import com.projectArka.user_service.domain.model.User;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Users already loaded while serving one exchange, keyed by id, username and email. Lives in the
+ * Reactor {@code Context} of a single request, so nothing is shared between callers; a lookup that
+ * resolves registers the user under all three keys, and empty results are remembered too.
+ */
+public final class RequestUserMemo {
+
+    enum Key { ID, USERNAME, EMAIL }
+
+    private final Map<String, Mono<User>> entries = new ConcurrentHashMap<>();
+
+    Mono<User> lookup(Key key, String value, Function<String, Mono<User>> loader) {
+        String entryKey = key + ":" + value;
+        return entries.computeIfAbsent(entryKey, ignored -> loader.apply(value)
+                .doOnNext(this::remember)
+                .doOnError(error -> entries.remove(entryKey))
+                .cache());
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    private void remember(User user) {
+        Mono<User> resolved = Mono.just(user);
+        if (user.getId() != null) {
+            entries.putIfAbsent(Key.ID + ":" + user.getId(), resolved);
+        }
+        if (user.getUsername() != null) {
+            entries.putIfAbsent(Key.USERNAME + ":" + user.getUsername(), resolved);
+        }
+        if (user.getEmail() != null) {
+            entries.putIfAbsent(Key.EMAIL + ":" + user.getEmail(), resolved);
+        }
+    }
+}
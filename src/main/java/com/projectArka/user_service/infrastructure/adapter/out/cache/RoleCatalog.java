@@ -0,0 +1,62 @@
+package com.projectArka.user_service.infrastructure.adapter.out.cache;
+
+import com.projectArka.user_service.domain.model.Role;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of the {@code role} table with name and id lookups. Writers build a new
+ * catalog and swap it in; readers never lock.
+ */
+public final class RoleCatalog {
+
+    public static final RoleCatalog EMPTY = new RoleCatalog(List.of());
+
+    private final List<Role> roles;
+    private final Map<String, Role> byName;
+    private final Map<String, Role> byId;
+
+    private RoleCatalog(Collection<Role> roles) {
+        Map<String, Role> names = new LinkedHashMap<>();
+        Map<String, Role> ids = new LinkedHashMap<>();
+        for (Role role : roles) {
+            names.put(role.getName(), role);
+            ids.put(role.getId(), role);
+        }
+        this.roles = List.copyOf(names.values());
+        this.byName = Collections.unmodifiableMap(names);
+        this.byId = Collections.unmodifiableMap(ids);
+    }
+
+    public static RoleCatalog of(Collection<Role> roles) {
+        return new RoleCatalog(roles);
+    }
+
+    public Optional<Role> findByName(String name) {
+        return Optional.ofNullable(byName.get(name));
+    }
+
+    public Optional<Role> findById(String id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public List<Role> all() {
+        return roles;
+    }
+
+    public RoleCatalog with(Role role) {
+        Map<String, Role> updated = new LinkedHashMap<>(byId);
+        updated.values().removeIf(existing -> existing.getName().equals(role.getName()));
+        updated.put(role.getId(), role);
+        return new RoleCatalog(updated.values());
+    }
+
+    public int size() {
+        return roles.size();
+    }
+}
@@ -0,0 +1,114 @@
+package com.projectArka.user_service.infrastructure.adapter.out.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Collapses concurrent loads of the same key into one subscription to the loader. Every caller
+ * that arrives while a load is in flight shares its outcome, errors included, even if it joins
+ * after the value was emitted but before the key was released. The load is cancelled only once all
+ * of its callers have cancelled, and the key is released as soon as the load terminates, so nothing
+ * is cached beyond the lifetime of the flight.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public SingleFlight(String operation, MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder("users.lookups.single-flight")
+                .tag("operation", operation)
+                .tag("result", "leader")
+                .register(meterRegistry);
+        this.followers = Counter.builder("users.lookups.single-flight")
+                .tag("operation", operation)
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("users.lookups.single-flight.in-flight", inFlight, ConcurrentHashMap::size)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    public Mono<V> execute(K key, Function<K, Mono<V>> loader) {
+        return Mono.defer(() -> {
+            boolean[] leader = {false};
+            Flight flight = inFlight.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                return new Flight(k, loader);
+            });
+            (leader[0] ? leaders : followers).increment();
+            return flight.join();
+        });
+    }
+
+    /**
+     * Detaches every in-flight load so later callers start a fresh one. Used on writes: a load that
+     * started before the write may return the old row and must not be joined afterwards.
+     */
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    /**
+     * One load and its replayed outcome. Callers are counted so the load is cancelled when the last
+     * one leaves; a caller that finds the flight already abandoned that way starts a new one.
+     */
+    private final class Flight {
+
+        private final K key;
+        private final Function<K, Mono<V>> loader;
+        private final Sinks.One<V> result = Sinks.one();
+        private final Disposable.Swap load = Disposables.swap();
+        private int callers;
+        private boolean started;
+        private boolean abandoned;
+
+        private Flight(K key, Function<K, Mono<V>> loader) {
+            this.key = key;
+            this.loader = loader;
+        }
+
+        Mono<V> join() {
+            return Mono.defer(() -> {
+                boolean start;
+                synchronized (this) {
+                    if (abandoned) {
+                        return execute(key, loader);
+                    }
+                    callers++;
+                    start = !started;
+                    started = true;
+                }
+                if (start) {
+                    load.update(Mono.defer(() -> loader.apply(key))
+                            .doFinally(signal -> inFlight.remove(key, this))
+                            .subscribe(
+                                    value -> result.tryEmitValue(value),
+                                    error -> result.tryEmitError(error),
+                                    () -> result.tryEmitEmpty()));
+                }
+                return result.asMono().doOnCancel(this::leave);
+            });
+        }
+
+        private void leave() {
+            synchronized (this) {
+                if (--callers > 0) {
+                    return;
+                }
+                abandoned = true;
+            }
+            inFlight.remove(key, this);
+            load.dispose();
+        }
+    }
+}
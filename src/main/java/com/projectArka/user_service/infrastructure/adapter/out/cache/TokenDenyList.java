@@ -0,0 +1,105 @@
+package com.projectArka.user_service.infrastructure.adapter.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * In-memory mirror of revoked access tokens: SHA-256 digests of single revoked tokens, and per-user
+ * "not before" instants that revoke every token issued earlier. A revoked token is only kept until
+ * its own expiry and a not-before entry until {@code tokenLifetime} after it, when every token it
+ * could reject has expired anyway. Entries are never evicted for size, since dropping one would
+ * bring a revoked token back.
+ * <p>
+ * Not-before instants are compared in whole seconds, the precision of {@code iat}. A revoke-all uses
+ * {@link #notBeforeFor(Instant)}, the second after the revoke, so a token issued earlier in the
+ * revoke's own second is rejected too. The price is that a login in the rest of that second gets a
+ * token that is already rejected, and the user has to log in again a second later.
+ */
+public final class TokenDenyList {
+
+    private final Cache<ByteBuffer, Instant> revokedTokens;
+    private final Cache<String, Instant> notBefore;
+
+    public TokenDenyList(Duration tokenLifetime) {
+        this.revokedTokens = Caffeine.newBuilder()
+                .expireAfter(new UntilInstant<ByteBuffer>(Duration.ZERO))
+                .build();
+        this.notBefore = Caffeine.newBuilder()
+                .expireAfter(new UntilInstant<String>(tokenLifetime))
+                .build();
+    }
+
+    public void revoke(ByteBuffer digest, Instant expiresAt) {
+        if (expiresAt.isAfter(Instant.now())) {
+            revokedTokens.put(digest, expiresAt);
+        }
+    }
+
+    /** The not-before cutoff for a revoke-all at {@code revokedAt}: the start of the next second. */
+    public static Instant notBeforeFor(Instant revokedAt) {
+        return revokedAt.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+    }
+
+    /**
+     * Rejects every token of the user issued before the second of {@code instant}; an earlier instant
+     * never wins.
+     */
+    public void revokeAllBefore(String userId, Instant instant) {
+        notBefore.asMap().merge(userId, instant, (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+    }
+
+    public boolean isRevoked(ByteBuffer digest, String userId, Instant issuedAt) {
+        if (userId != null) {
+            Instant cutoff = notBefore.getIfPresent(userId);
+            if (cutoff != null && (issuedAt == null || issuedAt.getEpochSecond() < cutoff.getEpochSecond())) {
+                return true;
+            }
+        }
+        return revokedTokens.getIfPresent(digest) != null;
+    }
+
+    public long size() {
+        return revokedTokens.estimatedSize() + notBefore.estimatedSize();
+    }
+
+    public static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class UntilInstant<K> implements Expiry<K, Instant> {
+
+        private final Duration grace;
+
+        UntilInstant(Duration grace) {
+            this.grace = grace;
+        }
+
+        @Override
+        public long expireAfterCreate(K key, Instant value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.plus(grace)).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, Instant value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, Instant value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
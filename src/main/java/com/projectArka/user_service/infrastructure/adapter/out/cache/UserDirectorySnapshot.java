@@ -0,0 +1,256 @@
+package com.projectArka.user_service.infrastructure.adapter.out.cache;
+
+import com.projectArka.user_service.domain.model.User;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Binary image of the cached user directory. Layout (big-endian):
+ * <pre>
+ * header : magic int, version int, watermark long (epoch micros), role count short, role names
+ * records: user count int, then per user
+ *          id (2 longs), active byte, role bitmask long,
+ *          username, email, password, name, phone (length-prefixed UTF-8, -1 for null),
+ *          createdAt, updatedAt (epoch micros, Long.MIN_VALUE for null)
+ * trailer: CRC32 of everything before it
+ * </pre>
+ * Roles are stored as a bitmask over the role-name table in the header, which limits a snapshot to
+ * 64 distinct roles. Files are written next to the target and atomically moved into place, and are
+ * read through a read-only memory mapping.
+ */
+public final class UserDirectorySnapshot {
+
+    private static final int MAGIC = 0x41555352;
+    private static final int VERSION = 1;
+    private static final long NULL_TIME = Long.MIN_VALUE;
+
+    private final LocalDateTime watermark;
+    private final List<User> users;
+
+    public UserDirectorySnapshot(LocalDateTime watermark, List<User> users) {
+        this.watermark = watermark;
+        this.users = users;
+    }
+
+    public LocalDateTime watermark() {
+        return watermark;
+    }
+
+    public List<User> users() {
+        return users;
+    }
+
+    public void writeTo(Path target) throws IOException {
+        List<String> roleNames = new ArrayList<>(new TreeSet<>(users.stream()
+                .filter(user -> user.getRoles() != null)
+                .flatMap(user -> user.getRoles().stream())
+                .toList()));
+        if (roleNames.size() > Long.SIZE) {
+            throw new IOException("Snapshot supports at most " + Long.SIZE + " roles, found " + roleNames.size());
+        }
+
+        GrowableBuffer out = new GrowableBuffer(64 + users.size() * 160);
+        out.putInt(MAGIC).putInt(VERSION).putLong(toMicros(watermark)).putShort((short) roleNames.size());
+        roleNames.forEach(out::putString);
+        out.putInt(users.size());
+        for (User user : users) {
+            UUID id = UUID.fromString(user.getId());
+            out.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+            out.put((byte) (Boolean.TRUE.equals(user.getActive()) ? 1 : 0));
+            long mask = 0;
+            if (user.getRoles() != null) {
+                for (String role : user.getRoles()) {
+                    mask |= 1L << roleNames.indexOf(role);
+                }
+            }
+            out.putLong(mask);
+            out.putString(user.getUsername()).putString(user.getEmail()).putString(user.getPassword())
+                    .putString(user.getName()).putString(user.getPhone());
+            out.putLong(toMicros(user.getCreatedAt())).putLong(toMicros(user.getUpdatedAt()));
+        }
+        ByteBuffer body = out.flip();
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            try {
+                Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException ignored) {
+                // Non-POSIX file system; rely on the directory permissions.
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (body.hasRemaining()) {
+                    channel.write(body);
+                }
+                ByteBuffer trailer = ByteBuffer.allocate(Long.BYTES).putLong(crc.getValue()).flip();
+                while (trailer.hasRemaining()) {
+                    channel.write(trailer);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public static UserDirectorySnapshot readFrom(Path source) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < Long.BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot has an invalid size: " + size);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            ByteBuffer body = mapped.duplicate().limit((int) size - Long.BYTES);
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            if (crc.getValue() != mapped.getLong((int) size - Long.BYTES)) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+
+            if (body.getInt() != MAGIC || body.getInt() != VERSION) {
+                throw new IOException("Not a user directory snapshot of version " + VERSION);
+            }
+            LocalDateTime watermark = fromMicros(body.getLong());
+            String[] roleNames = new String[body.getShort()];
+            for (int i = 0; i < roleNames.length; i++) {
+                roleNames[i] = getString(body);
+            }
+            int count = body.getInt();
+            List<User> users = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                UUID id = new UUID(body.getLong(), body.getLong());
+                boolean active = body.get() == 1;
+                long mask = body.getLong();
+                Set<String> roles = new HashSet<>();
+                for (int bit = 0; bit < roleNames.length; bit++) {
+                    if ((mask & (1L << bit)) != 0) {
+                        roles.add(roleNames[bit]);
+                    }
+                }
+                String username = getString(body);
+                String email = getString(body);
+                String password = getString(body);
+                String name = getString(body);
+                String phone = getString(body);
+                LocalDateTime createdAt = fromMicros(body.getLong());
+                LocalDateTime updatedAt = fromMicros(body.getLong());
+                users.add(User.builder()
+                        .id(id.toString())
+                        .username(username)
+                        .name(name)
+                        .email(email)
+                        .password(password)
+                        .phone(phone)
+                        .active(active)
+                        .createdAt(createdAt)
+                        .updatedAt(updatedAt)
+                        .roles(roles)
+                        .build());
+            }
+            return new UserDirectorySnapshot(watermark, users);
+        }
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        if (time == null) {
+            return NULL_TIME;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        if (micros == NULL_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static final class GrowableBuffer {
+
+        private ByteBuffer buffer;
+
+        GrowableBuffer(int initialCapacity) {
+            this.buffer = ByteBuffer.allocate(initialCapacity);
+        }
+
+        GrowableBuffer put(byte value) {
+            ensure(1).put(value);
+            return this;
+        }
+
+        GrowableBuffer putShort(short value) {
+            ensure(Short.BYTES).putShort(value);
+            return this;
+        }
+
+        GrowableBuffer putInt(int value) {
+            ensure(Integer.BYTES).putInt(value);
+            return this;
+        }
+
+        GrowableBuffer putLong(long value) {
+            ensure(Long.BYTES).putLong(value);
+            return this;
+        }
+
+        GrowableBuffer putString(String value) {
+            if (value == null) {
+                return putInt(-1);
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ensure(Integer.BYTES + bytes.length).putInt(bytes.length).put(bytes);
+            return this;
+        }
+
+        ByteBuffer flip() {
+            return buffer.flip();
+        }
+
+        private ByteBuffer ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+                grown.put(buffer.flip());
+                buffer = grown;
+            }
+            return buffer;
+        }
+    }
+}
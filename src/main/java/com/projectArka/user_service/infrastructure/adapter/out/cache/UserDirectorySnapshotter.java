@@ -0,0 +1,138 @@
+package com.projectArka.user_service.infrastructure.adapter.out.cache;
+
+import com.projectArka.user_service.domain.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Persists the user cache to a {@link UserDirectorySnapshot} every {@code interval} and on shutdown,
+ * and restores it while the application starts, before it reports ready.
+ * <p>
+ * A snapshot is stamped with a watermark taken before the cache is read, minus {@code clockSkew} to
+ * absorb clock differences between nodes and notification lag. On restore, once the invalidation
+ * listener is up, every user updated at or after the watermark and every user no longer in the
+ * table is evicted again, so entries that survive are as fresh as a database read. If the
+ * catch-up fails the restored entries are dropped.
+ */
+@Slf4j
+public class UserDirectorySnapshotter implements ApplicationRunner, DisposableBean {
+
+    private static final int EXISTENCE_CHECK_BATCH = 1_000;
+
+    private final CachingUserRepository cache;
+    private final Path path;
+    private final Duration interval;
+    private final Duration clockSkew;
+    private final Duration catchUpTimeout;
+    private final Mono<Void> listening;
+    private final Function<LocalDateTime, Flux<String>> idsUpdatedSince;
+    private final Function<Collection<String>, Flux<String>> existingIds;
+    private Disposable schedule;
+
+    public UserDirectorySnapshotter(CachingUserRepository cache,
+                                    Path path,
+                                    Duration interval,
+                                    Duration clockSkew,
+                                    Duration catchUpTimeout,
+                                    Mono<Void> listening,
+                                    Function<LocalDateTime, Flux<String>> idsUpdatedSince,
+                                    Function<Collection<String>, Flux<String>> existingIds) {
+        this.cache = cache;
+        this.path = path;
+        this.interval = interval;
+        this.clockSkew = clockSkew;
+        this.catchUpTimeout = catchUpTimeout;
+        this.listening = listening;
+        this.idsUpdatedSince = idsUpdatedSince;
+        this.existingIds = existingIds;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        restore();
+        schedule = Flux.interval(interval, interval, Schedulers.boundedElastic())
+                .onBackpressureDrop()
+                .subscribe(tick -> write());
+    }
+
+    @Override
+    public void destroy() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+        write();
+    }
+
+    public void restore() {
+        UserDirectorySnapshot snapshot;
+        try {
+            snapshot = UserDirectorySnapshot.readFrom(path);
+        } catch (NoSuchFileException e) {
+            log.info("No user directory snapshot at {}, starting cold", path);
+            return;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable user directory snapshot at {}: {}", path, e.getMessage());
+            return;
+        }
+
+        listening.timeout(catchUpTimeout)
+                .onErrorResume(error -> {
+                    log.warn("Invalidation listener not up yet, restored users may be flushed once it connects");
+                    return Mono.empty();
+                })
+                .block();
+        cache.warm(snapshot.users());
+        try {
+            Long stale = catchUp(snapshot).block(catchUpTimeout);
+            log.info("Restored {} users from snapshot taken at {}, {} were stale",
+                    snapshot.users().size(), snapshot.watermark(), stale);
+        } catch (RuntimeException e) {
+            cache.invalidateAll();
+            log.warn("Could not catch up the user directory snapshot, starting cold: {}", e.getMessage());
+        }
+    }
+
+    public void write() {
+        LocalDateTime watermark = LocalDateTime.now().minus(clockSkew);
+        List<User> users = cache.snapshot();
+        if (users.isEmpty()) {
+            return;
+        }
+        try {
+            new UserDirectorySnapshot(watermark, users).writeTo(path);
+            log.debug("Wrote user directory snapshot with {} users to {}", users.size(), path);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write the user directory snapshot to {}: {}", path, e.getMessage());
+        }
+    }
+
+    private Mono<Long> catchUp(UserDirectorySnapshot snapshot) {
+        Flux<String> updated = idsUpdatedSince.apply(snapshot.watermark());
+        Flux<String> deleted = Flux.fromIterable(snapshot.users())
+                .map(User::getId)
+                .buffer(EXISTENCE_CHECK_BATCH)
+                .concatMap(batch -> existingIds.apply(batch)
+                        .collect(HashSet<String>::new, Set::add)
+                        .flatMapIterable(existing -> batch.stream().filter(id -> !existing.contains(id)).toList()));
+        return Flux.concat(updated, deleted)
+                .doOnNext(cache::invalidate)
+                .count();
+    }
+}
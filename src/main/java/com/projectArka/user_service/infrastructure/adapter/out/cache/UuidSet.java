@@ -0,0 +1,199 @@
+package com.projectArka.user_service.infrastructure.adapter.out.cache;
+
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Set of UUIDs stored as pairs of {@code long}s in a single open-addressed table (linear probing,
+ * backward-shift deletion), so there is no boxing and no per-entry object. The all-zero pair marks an
+ * empty slot; the nil UUID is tracked with a flag instead.
+ * <p>
+ * Lookups run under an optimistic {@link StampedLock} read and only fall back to a read lock when a
+ * writer interfered.
+ */
+public final class UuidSet {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final double MAX_LOAD = 0.75;
+
+    private final StampedLock lock = new StampedLock();
+    private long[] table;
+    private int size;
+    private boolean containsNil;
+
+    public UuidSet() {
+        this(MIN_CAPACITY);
+    }
+
+    public UuidSet(int expectedSize) {
+        this.table = new long[2 * capacityFor(expectedSize)];
+    }
+
+    public boolean contains(UUID id) {
+        long stamp = lock.tryOptimisticRead();
+        boolean found = containsUnlocked(id);
+        if (lock.validate(stamp)) {
+            return found;
+        }
+        stamp = lock.readLock();
+        try {
+            return containsUnlocked(id);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean add(UUID id) {
+        long stamp = lock.writeLock();
+        try {
+            long hi = id.getMostSignificantBits();
+            long lo = id.getLeastSignificantBits();
+            if (hi == 0 && lo == 0) {
+                boolean added = !containsNil;
+                containsNil = true;
+                return added;
+            }
+            int capacity = table.length >> 1;
+            if (size + 1 > capacity * MAX_LOAD) {
+                resize(capacity * 2);
+            }
+            if (!insert(table, hi, lo)) {
+                return false;
+            }
+            size++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean remove(UUID id) {
+        long stamp = lock.writeLock();
+        try {
+            long hi = id.getMostSignificantBits();
+            long lo = id.getLeastSignificantBits();
+            if (hi == 0 && lo == 0) {
+                boolean removed = containsNil;
+                containsNil = false;
+                return removed;
+            }
+            long[] slots = table;
+            int mask = (slots.length >> 1) - 1;
+            int slot = slotFor(hi, lo, mask);
+            while (slots[2 * slot] != 0 || slots[2 * slot + 1] != 0) {
+                if (slots[2 * slot] == hi && slots[2 * slot + 1] == lo) {
+                    shiftBack(slots, slot, mask);
+                    size--;
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size + (containsNil ? 1 : 0);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Bytes held by the backing table; the per-entry cost is {@code 16 / load factor}.
+     */
+    public long memoryBytes() {
+        long stamp = lock.readLock();
+        try {
+            return (long) table.length * Long.BYTES;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private boolean containsUnlocked(UUID id) {
+        long hi = id.getMostSignificantBits();
+        long lo = id.getLeastSignificantBits();
+        if (hi == 0 && lo == 0) {
+            return containsNil;
+        }
+        long[] slots = table;
+        int capacity = slots.length >> 1;
+        int mask = capacity - 1;
+        int slot = slotFor(hi, lo, mask);
+        for (int probes = 0; probes < capacity; probes++) {
+            long slotHi = slots[2 * slot];
+            long slotLo = slots[2 * slot + 1];
+            if (slotHi == 0 && slotLo == 0) {
+                return false;
+            }
+            if (slotHi == hi && slotLo == lo) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    private static boolean insert(long[] slots, long hi, long lo) {
+        int mask = (slots.length >> 1) - 1;
+        int slot = slotFor(hi, lo, mask);
+        while (slots[2 * slot] != 0 || slots[2 * slot + 1] != 0) {
+            if (slots[2 * slot] == hi && slots[2 * slot + 1] == lo) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        slots[2 * slot] = hi;
+        slots[2 * slot + 1] = lo;
+        return true;
+    }
+
+    private static void shiftBack(long[] slots, int freed, int mask) {
+        int gap = freed;
+        int slot = (gap + 1) & mask;
+        while (slots[2 * slot] != 0 || slots[2 * slot + 1] != 0) {
+            int home = slotFor(slots[2 * slot], slots[2 * slot + 1], mask);
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                slots[2 * gap] = slots[2 * slot];
+                slots[2 * gap + 1] = slots[2 * slot + 1];
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        slots[2 * gap] = 0;
+        slots[2 * gap + 1] = 0;
+    }
+
+    private void resize(int newCapacity) {
+        long[] old = table;
+        long[] grown = new long[2 * newCapacity];
+        for (int i = 0; i < old.length; i += 2) {
+            if (old[i] != 0 || old[i + 1] != 0) {
+                insert(grown, old[i], old[i + 1]);
+            }
+        }
+        table = grown;
+    }
+
+    private static int slotFor(long hi, long lo, int mask) {
+        long hash = hi * 0x9E3779B97F4A7C15L ^ lo;
+        hash ^= hash >>> 32;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 29;
+        return (int) hash & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 1) / MAX_LOAD);
+        int capacity = MIN_CAPACITY;
+        while (capacity < needed) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,110 @@
+package com.projectArka.user_service.infrastructure.adapter.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projectArka.user_service.application.port.out.VerifiedCredentialsPort;
+import com.projectArka.user_service.domain.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+/**
+ * Short-lived record of the last password verified per user, as an HMAC-SHA256 under a random key
+ * that never leaves the process, next to the stored hash it was verified against. A repeat login
+ * with the same password is accepted without bcrypt until {@code ttl} after the verification.
+ * An entry only counts while the user's stored hash is unchanged, and is dropped when the user is
+ * saved or deleted on any node, so a password change takes effect immediately.
+ * <p>
+ * Off by default: while an entry lives, the password can be guessed at HMAC speed by anyone able
+ * to read this process's memory. Metrics: {@code auth.credentials.cache{result=hit|miss}} and
+ * {@code auth.credentials.cache.size}.
+ */
+@Component
+public class VerifiedCredentialCache implements VerifiedCredentialsPort, CacheInvalidationListener {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private record Verified(String passwordHash, byte[] digest) {
+    }
+
+    private final Cache<String, Verified> verified;
+    private final ThreadLocal<Mac> macs;
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedCredentialCache(MeterRegistry meterRegistry,
+                                   @Value("${application.security.password.verification-cache.enabled:false}") boolean enabled,
+                                   @Value("${application.security.password.verification-cache.ttl:PT5M}") Duration ttl,
+                                   @Value("${application.security.password.verification-cache.maximum-size:10000}") long maximumSize) {
+        this.verified = enabled
+                ? Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).build()
+                : null;
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        SecretKeySpec key = new SecretKeySpec(secret, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(ALGORITHM + " is not available", e);
+            }
+        });
+        this.hits = Counter.builder("auth.credentials.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("auth.credentials.cache").tag("result", "miss").register(meterRegistry);
+        if (verified != null) {
+            Gauge.builder("auth.credentials.cache.size", verified, Cache::estimatedSize).register(meterRegistry);
+        }
+    }
+
+    @Override
+    public boolean isVerified(User user, String rawPassword) {
+        if (verified == null || user.getId() == null || user.getPassword() == null || rawPassword == null) {
+            return false;
+        }
+        Verified entry = verified.getIfPresent(user.getId());
+        boolean hit = entry != null
+                && entry.passwordHash().equals(user.getPassword())
+                && MessageDigest.isEqual(entry.digest(), digest(user.getId(), rawPassword));
+        (hit ? hits : misses).increment();
+        return hit;
+    }
+
+    @Override
+    public void remember(User user, String rawPassword) {
+        if (verified == null || user.getId() == null || user.getPassword() == null || rawPassword == null) {
+            return;
+        }
+        verified.put(user.getId(), new Verified(user.getPassword(), digest(user.getId(), rawPassword)));
+    }
+
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        if (verified == null) {
+            return;
+        }
+        if (event.isFlush()) {
+            verified.invalidateAll();
+        } else if (event.getEntity() == InvalidationEvent.Entity.USER) {
+            verified.invalidate(event.getId());
+        }
+    }
+
+    private byte[] digest(String userId, String rawPassword) {
+        Mac mac = macs.get();
+        mac.update(userId.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return mac.doFinal(rawPassword.getBytes(StandardCharsets.UTF_8));
+    }
+}
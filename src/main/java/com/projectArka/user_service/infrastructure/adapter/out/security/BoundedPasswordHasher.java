@@ -0,0 +1,133 @@
+package com.projectArka.user_service.infrastructure.adapter.out.security;
+
+import com.projectArka.user_service.application.port.out.PasswordHasherPort;
+import com.projectArka.user_service.domain.exception.HashingCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing on its own fixed pool, one thread per core by default, in front of a short
+ * bounded queue. When the queue is full the call fails at once with
+ * {@link HashingCapacityExceededException} (503 with {@code Retry-After}) instead of waiting, so
+ * a burst of logins cannot delay other blocking work or pile up behind itself. Work whose
+ * subscriber went away is dropped from the queue. Results are delivered on the parallel scheduler,
+ * so whatever the caller chains after the hash (token signing, a rehash) never holds a hashing thread.
+ * <p>
+ * Metrics: {@code password.hashing} (hash time by operation), {@code password.hashing.wait} (time
+ * queued), {@code password.hashing.queue} and {@code password.hashing.active} (gauges) and
+ * {@code password.hashing.rejected}.
+ */
+@Slf4j
+@Component
+public class BoundedPasswordHasher implements PasswordHasherPort, DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+    private final Timer waitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter encodeRejected;
+    private final Counter matchesRejected;
+
+    public BoundedPasswordHasher(PasswordEncoder passwordEncoder,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${application.security.password-hashing.threads:0}") int threads,
+                                 @Value("${application.security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                 @Value("${application.security.password-hashing.retry-after:PT1S}") Duration retryAfter) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfter = retryAfter;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.waitTimer = Timer.builder("password.hashing.wait").register(meterRegistry);
+        this.encodeTimer = Timer.builder("password.hashing").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hashing").tag("operation", "matches").register(meterRegistry);
+        this.encodeRejected = Counter.builder("password.hashing.rejected").tag("operation", "encode").register(meterRegistry);
+        this.matchesRejected = Counter.builder("password.hashing.rejected").tag("operation", "matches").register(meterRegistry);
+        Gauge.builder("password.hashing.queue", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        log.info("Password hashing pool started with {} threads and a queue of {}", poolSize, queueCapacity);
+    }
+
+    @Override
+    public Mono<String> encode(String rawPassword) {
+        return submit(encodeTimer, encodeRejected, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public Mono<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(matchesTimer, matchesRejected, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> Mono<T> submit(Timer hashTimer, Counter rejected, Callable<T> work) {
+        return Mono.<T>create(sink -> {
+            long queuedAt = System.nanoTime();
+            FutureTask<Void> task = new FutureTask<>(() -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+                T result = null;
+                Throwable failure = null;
+                try {
+                    result = work.call();
+                } catch (Throwable error) {
+                    failure = error;
+                }
+                hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                if (failure != null) {
+                    sink.error(failure);
+                } else {
+                    sink.success(result);
+                }
+                return null;
+            });
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                sink.error(new HashingCapacityExceededException("Too many concurrent authentication requests, retry later", retryAfter));
+                return;
+            }
+            sink.onCancel(() -> {
+                if (task.cancel(false)) {
+                    executor.remove(task);
+                }
+            });
+        }).publishOn(Schedulers.parallel());
+    }
+}
@@ -0,0 +1,49 @@
+package com.projectArka.user_service.infrastructure.adapter.out.security;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Claim names and encodings of the compact token profile: the user id as 22 Base64URL characters
+ * instead of a 36-character UUID, and roles as a {@link RoleBitmask} mask plus its catalog version.
+ */
+public final class CompactClaims {
+
+    public static final String USER_ID = "uid";
+    public static final String ROLE_MASK = "rm";
+    public static final String ROLE_VERSION = "rv";
+
+    /** Resolves a role mask issued against the catalog with the given version. */
+    public interface RoleMasks {
+        Set<String> roles(int version, long mask);
+    }
+
+    private CompactClaims() {
+    }
+
+    /** The compact form of a UUID user id, or {@code null} when the id is not a UUID. */
+    public static String compactUserId(String userId) {
+        UUID id;
+        try {
+            id = UUID.fromString(userId);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+        if (!id.toString().equals(userId)) {
+            return null;
+        }
+        byte[] bytes = ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    public static String expandUserId(String compact) {
+        byte[] bytes = Base64.getUrlDecoder().decode(compact);
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("Compact user id must hold 16 bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+}
@@ -0,0 +1,526 @@
+package com.projectArka.user_service.infrastructure.adapter.out.security;
+
+import com.projectArka.user_service.application.port.out.TokenClaims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Encoder and verifier for the token shapes this service issues: header {@code {"alg":"HS256"}}
+ * and claims {@code sub, userId, roles, iat, exp} in that order, or for the compact profile
+ * {@code sub, uid, rm, rv, iat, exp} (see {@link CompactClaims}). The output is byte-for-byte what
+ * jjwt produces for the same claims, so tokens from either side verify on the other.
+ * <p>
+ * Each thread keeps its own initialised {@link Mac} and scratch buffers, so encoding allocates
+ * little beyond the resulting string. {@link #decode} returns {@code null} for any token outside
+ * these shapes (another header, extra claims, non-string roles, a role mask it cannot resolve), and
+ * the caller falls back to jjwt for those.
+ */
+public final class Hs256TokenCodec {
+
+    private static final String HEADER = "eyJhbGciOiJIUzI1NiJ9";
+    private static final byte[] HEADER_BYTES = HEADER.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BASE64_URL =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final int SIGNATURE_BYTES = 32;
+    private static final CompactClaims.RoleMasks NO_ROLE_MASKS = (version, mask) -> null;
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Scratch> scratch;
+
+    public Hs256TokenCodec(byte[] keyBytes) {
+        this.key = new SecretKeySpec(keyBytes, "HmacSHA256");
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(newMac()));
+    }
+
+    public String encode(String subject, String userId, Collection<String> roles, long issuedAtSeconds, long expiresAtSeconds) {
+        Scratch buffers = scratch.get();
+        Json json = buffers.json.reset();
+        json.put((byte) '{');
+        boolean first = true;
+        if (subject != null) {
+            json.key("sub", first).string(subject);
+            first = false;
+        }
+        if (userId != null) {
+            json.key("userId", first).string(userId);
+            first = false;
+        }
+        if (roles != null) {
+            json.key("roles", first).put((byte) '[');
+            boolean firstRole = true;
+            for (String role : roles) {
+                if (!firstRole) {
+                    json.put((byte) ',');
+                }
+                json.string(role);
+                firstRole = false;
+            }
+            json.put((byte) ']');
+            first = false;
+        }
+        json.key("iat", first).number(issuedAtSeconds);
+        json.key("exp", false).number(expiresAtSeconds);
+        json.put((byte) '}');
+        return sign(buffers, json);
+    }
+
+    /** Encodes a compact-profile token; {@code compactUserId} comes from {@link CompactClaims#compactUserId}. */
+    public String encodeCompact(String subject, String compactUserId, long roleMask, int roleVersion,
+                                long issuedAtSeconds, long expiresAtSeconds) {
+        Scratch buffers = scratch.get();
+        Json json = buffers.json.reset();
+        json.put((byte) '{');
+        boolean first = true;
+        if (subject != null) {
+            json.key("sub", first).string(subject);
+            first = false;
+        }
+        json.key(CompactClaims.USER_ID, first).string(compactUserId);
+        json.key(CompactClaims.ROLE_MASK, false).number(roleMask);
+        json.key(CompactClaims.ROLE_VERSION, false).number(roleVersion);
+        json.key("iat", false).number(issuedAtSeconds);
+        json.key("exp", false).number(expiresAtSeconds);
+        json.put((byte) '}');
+        return sign(buffers, json);
+    }
+
+    private String sign(Scratch buffers, Json json) {
+        byte[] out = buffers.output(HEADER_BYTES.length + 1 + encodedLength(json.length) + 1 + encodedLength(SIGNATURE_BYTES));
+        System.arraycopy(HEADER_BYTES, 0, out, 0, HEADER_BYTES.length);
+        int position = HEADER_BYTES.length;
+        out[position++] = '.';
+        position = base64Url(json.bytes, json.length, out, position);
+
+        Mac mac = buffers.mac;
+        mac.update(out, 0, position);
+        byte[] signature = mac.doFinal();
+        out[position++] = '.';
+        position = base64Url(signature, signature.length, out, position);
+        return new String(out, 0, position, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Verifies the signature and expiry of a token in the fixed shape.
+     *
+     * @return the claims, or {@code null} when the token is not in the fixed shape
+     * @throws SignatureException if the signature does not match
+     * @throws ExpiredJwtException if the token expired
+     * @throws MalformedJwtException if the token is not a compact JWS
+     */
+    public TokenClaims decode(String token, long nowMillis) {
+        return decode(token, nowMillis, NO_ROLE_MASKS);
+    }
+
+    /** As {@link #decode(String, long)}, resolving compact-profile role masks through {@code roleMasks}. */
+    public TokenClaims decode(String token, long nowMillis, CompactClaims.RoleMasks roleMasks) {
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot < 0 || firstDot == lastDot) {
+            throw new MalformedJwtException("JWT strings must contain exactly 2 period characters");
+        }
+        if (firstDot != HEADER.length() || !token.startsWith(HEADER)) {
+            return null;
+        }
+        byte[] actual;
+        try {
+            actual = Base64.getUrlDecoder().decode(token.substring(lastDot + 1));
+        } catch (IllegalArgumentException e) {
+            throw new MalformedJwtException("Invalid Base64URL signature", e);
+        }
+        Scratch buffers = scratch.get();
+        byte[] signingInput = buffers.output(lastDot);
+        for (int i = 0; i < lastDot; i++) {
+            char c = token.charAt(i);
+            if (c >= 0x80) {
+                throw new MalformedJwtException("JWT strings must be ASCII");
+            }
+            signingInput[i] = (byte) c;
+        }
+        buffers.mac.update(signingInput, 0, lastDot);
+        byte[] expected = buffers.mac.doFinal();
+        if (actual.length != SIGNATURE_BYTES || !MessageDigest.isEqual(expected, actual)) {
+            throw new SignatureException("JWT signature does not match locally computed signature");
+        }
+
+        byte[] payload;
+        try {
+            payload = Base64.getUrlDecoder().decode(token.substring(firstDot + 1, lastDot));
+        } catch (IllegalArgumentException e) {
+            throw new MalformedJwtException("Invalid Base64URL payload", e);
+        }
+        ParsedClaims claims = new ClaimParser(payload).parse();
+        if (claims == null) {
+            return null;
+        }
+        if (claims.expiresAt != null && nowMillis > claims.expiresAt * 1000L) {
+            throw new ExpiredJwtException(null, null, "JWT expired at " + Instant.ofEpochSecond(claims.expiresAt));
+        }
+        String userId = claims.userId;
+        Set<String> roles = claims.roles == null ? Collections.emptySet() : Collections.unmodifiableSet(claims.roles);
+        if (claims.isCompact()) {
+            if (claims.userId != null || claims.roles != null || claims.roleMask == null || claims.roleVersion == null) {
+                return null;
+            }
+            roles = roleMasks.roles(claims.roleVersion.intValue(), claims.roleMask);
+            if (roles == null) {
+                return null;
+            }
+            try {
+                userId = claims.compactUserId == null ? null : CompactClaims.expandUserId(claims.compactUserId);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return TokenClaims.builder()
+                .subject(claims.subject)
+                .userId(userId)
+                .roles(roles)
+                .issuedAt(claims.issuedAt == null ? null : Instant.ofEpochSecond(claims.issuedAt))
+                .expiresAt(claims.expiresAt == null ? null : Instant.ofEpochSecond(claims.expiresAt))
+                .build();
+    }
+
+    private static int encodedLength(int length) {
+        return (length * 4 + 2) / 3;
+    }
+
+    /** Unpadded Base64URL of {@code src[0, length)} into {@code dst} at {@code offset}; returns the end offset. */
+    private static int base64Url(byte[] src, int length, byte[] dst, int offset) {
+        int i = 0;
+        while (i + 3 <= length) {
+            int bits = (src[i++] & 0xFF) << 16 | (src[i++] & 0xFF) << 8 | (src[i++] & 0xFF);
+            dst[offset++] = BASE64_URL[bits >>> 18];
+            dst[offset++] = BASE64_URL[(bits >>> 12) & 0x3F];
+            dst[offset++] = BASE64_URL[(bits >>> 6) & 0x3F];
+            dst[offset++] = BASE64_URL[bits & 0x3F];
+        }
+        int remaining = length - i;
+        if (remaining == 1) {
+            int bits = (src[i] & 0xFF) << 16;
+            dst[offset++] = BASE64_URL[bits >>> 18];
+            dst[offset++] = BASE64_URL[(bits >>> 12) & 0x3F];
+        } else if (remaining == 2) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8;
+            dst[offset++] = BASE64_URL[bits >>> 18];
+            dst[offset++] = BASE64_URL[(bits >>> 12) & 0x3F];
+            dst[offset++] = BASE64_URL[(bits >>> 6) & 0x3F];
+        }
+        return offset;
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static final class Scratch {
+
+        private final Mac mac;
+        private final Json json = new Json();
+        private byte[] output = new byte[512];
+
+        Scratch(Mac mac) {
+            this.mac = mac;
+        }
+
+        byte[] output(int size) {
+            if (output.length < size) {
+                output = new byte[Math.max(size, output.length * 2)];
+            }
+            return output;
+        }
+    }
+
+    /** Writes JSON the way Jackson's default generator does for strings and longs. */
+    private static final class Json {
+
+        private byte[] bytes = new byte[256];
+        private int length;
+
+        Json reset() {
+            length = 0;
+            return this;
+        }
+
+        Json put(byte value) {
+            ensure(1);
+            bytes[length++] = value;
+            return this;
+        }
+
+        Json key(String name, boolean first) {
+            if (!first) {
+                put((byte) ',');
+            }
+            string(name);
+            return put((byte) ':');
+        }
+
+        Json number(long value) {
+            byte[] digits = Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+            ensure(digits.length);
+            System.arraycopy(digits, 0, bytes, length, digits.length);
+            length += digits.length;
+            return this;
+        }
+
+        Json string(String value) {
+            put((byte) '"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                    put((byte) c);
+                } else if (c == '"' || c == '\\') {
+                    put((byte) '\\').put((byte) c);
+                } else if (c < 0x20) {
+                    escapeControl(c);
+                } else if (Character.isSurrogate(c)) {
+                    // jjwt's Jackson writer escapes supplementary characters as surrogate pairs
+                    unicodeEscape(c);
+                } else {
+                    utf8(c);
+                }
+            }
+            return put((byte) '"');
+        }
+
+        private void escapeControl(char c) {
+            switch (c) {
+                case '\b' -> put((byte) '\\').put((byte) 'b');
+                case '\t' -> put((byte) '\\').put((byte) 't');
+                case '\n' -> put((byte) '\\').put((byte) 'n');
+                case '\f' -> put((byte) '\\').put((byte) 'f');
+                case '\r' -> put((byte) '\\').put((byte) 'r');
+                default -> unicodeEscape(c);
+            }
+        }
+
+        private void unicodeEscape(char c) {
+            put((byte) '\\').put((byte) 'u')
+                    .put(HEX[c >> 12]).put(HEX[(c >> 8) & 0xF]).put(HEX[(c >> 4) & 0xF]).put(HEX[c & 0xF]);
+        }
+
+        private void utf8(char c) {
+            if (c < 0x800) {
+                put((byte) (0xC0 | (c >> 6))).put((byte) (0x80 | (c & 0x3F)));
+            } else {
+                put((byte) (0xE0 | (c >> 12))).put((byte) (0x80 | ((c >> 6) & 0x3F))).put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+    }
+
+    private static final class ParsedClaims {
+        String subject;
+        String userId;
+        Set<String> roles;
+        Long issuedAt;
+        Long expiresAt;
+        String compactUserId;
+        Long roleMask;
+        Long roleVersion;
+
+        boolean isCompact() {
+            return compactUserId != null || roleMask != null || roleVersion != null;
+        }
+    }
+
+    /**
+     * Parses a flat JSON object holding only the known claims. Returns {@code null} from
+     * {@link #parse} for anything else, including valid JSON it does not handle.
+     */
+    private static final class ClaimParser {
+
+        private final byte[] in;
+        private int position;
+
+        ClaimParser(byte[] in) {
+            this.in = in;
+        }
+
+        ParsedClaims parse() {
+            try {
+                ParsedClaims claims = new ParsedClaims();
+                skipWhitespace();
+                expect('{');
+                skipWhitespace();
+                if (peek() == '}') {
+                    position++;
+                    return end(claims);
+                }
+                while (true) {
+                    skipWhitespace();
+                    String name = readString();
+                    skipWhitespace();
+                    expect(':');
+                    skipWhitespace();
+                    if (!readValue(name, claims)) {
+                        return null;
+                    }
+                    skipWhitespace();
+                    byte next = in[position++];
+                    if (next == '}') {
+                        return end(claims);
+                    }
+                    if (next != ',') {
+                        return null;
+                    }
+                }
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+
+        private ParsedClaims end(ParsedClaims claims) {
+            skipWhitespace();
+            return position == in.length ? claims : null;
+        }
+
+        private boolean readValue(String name, ParsedClaims claims) {
+            if (peek() == 'n') {
+                expectLiteral("null");
+                return true;
+            }
+            switch (name) {
+                case "sub" -> claims.subject = readString();
+                case "userId" -> claims.userId = readString();
+                case "iat" -> claims.issuedAt = readLong();
+                case "exp" -> claims.expiresAt = readLong();
+                case "roles" -> claims.roles = readStringArray();
+                case CompactClaims.USER_ID -> claims.compactUserId = readString();
+                case CompactClaims.ROLE_MASK -> claims.roleMask = readLong();
+                case CompactClaims.ROLE_VERSION -> claims.roleVersion = readLong();
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Set<String> readStringArray() {
+            expect('[');
+            List<String> values = new ArrayList<>();
+            skipWhitespace();
+            if (peek() == ']') {
+                position++;
+                return new LinkedHashSet<>(values);
+            }
+            while (true) {
+                skipWhitespace();
+                values.add(readString());
+                skipWhitespace();
+                byte next = in[position++];
+                if (next == ']') {
+                    return new LinkedHashSet<>(values);
+                }
+                if (next != ',') {
+                    throw new IllegalArgumentException("Expected , or ]");
+                }
+            }
+        }
+
+        private long readLong() {
+            int start = position;
+            if (peek() == '-') {
+                position++;
+            }
+            while (position < in.length && in[position] >= '0' && in[position] <= '9') {
+                position++;
+            }
+            if (position < in.length && (in[position] == '.' || in[position] == 'e' || in[position] == 'E')) {
+                throw new IllegalArgumentException("Fractional timestamps are not supported");
+            }
+            return Long.parseLong(new String(in, start, position - start, StandardCharsets.US_ASCII));
+        }
+
+        private String readString() {
+            expect('"');
+            int start = position;
+            while (in[position] != '"' && in[position] != '\\') {
+                position++;
+            }
+            if (in[position] == '"') {
+                return new String(in, start, position++ - start, StandardCharsets.UTF_8);
+            }
+            StringBuilder value = new StringBuilder(new String(in, start, position - start, StandardCharsets.UTF_8));
+            int run = position;
+            while (true) {
+                byte b = in[position];
+                if (b == '"') {
+                    value.append(new String(in, run, position++ - run, StandardCharsets.UTF_8));
+                    return value.toString();
+                }
+                if (b != '\\') {
+                    position++;
+                    continue;
+                }
+                value.append(new String(in, run, position - run, StandardCharsets.UTF_8));
+                byte escaped = in[position + 1];
+                position += 2;
+                switch (escaped) {
+                    case '"', '\\', '/' -> value.append((char) escaped);
+                    case 'b' -> value.append('\b');
+                    case 't' -> value.append('\t');
+                    case 'n' -> value.append('\n');
+                    case 'f' -> value.append('\f');
+                    case 'r' -> value.append('\r');
+                    case 'u' -> {
+                        value.append((char) Integer.parseInt(new String(in, position, 4, StandardCharsets.US_ASCII), 16));
+                        position += 4;
+                    }
+                    default -> throw new IllegalArgumentException("Invalid escape");
+                }
+                run = position;
+            }
+        }
+
+        private void expectLiteral(String literal) {
+            for (int i = 0; i < literal.length(); i++) {
+                expect(literal.charAt(i));
+            }
+        }
+
+        private void expect(char c) {
+            if (in[position++] != c) {
+                throw new IllegalArgumentException("Expected " + c);
+            }
+        }
+
+        private byte peek() {
+            return in[position];
+        }
+
+        private void skipWhitespace() {
+            while (position < in.length && (in[position] == ' ' || in[position] == '\n' || in[position] == '\r' || in[position] == '\t')) {
+                position++;
+            }
+        }
+    }
+}
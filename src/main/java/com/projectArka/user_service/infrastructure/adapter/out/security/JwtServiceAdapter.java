@@ -1,24 +1,86 @@
 package com.projectArka.user_service.infrastructure.adapter.out.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.projectArka.user_service.application.port.out.JwtServicePort;
+import com.projectArka.user_service.application.port.out.RefreshTokenClaims;
+import com.projectArka.user_service.application.port.out.TokenClaims;
+import com.projectArka.user_service.domain.model.RefreshToken;
+import com.projectArka.user_service.domain.model.Role;
 import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.RoleCatalog;
+import com.projectArka.user_service.infrastructure.adapter.out.r2dbc.adapter.RoleRepositoryAdapter;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import javax.crypto.Mac;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies tokens, signed with the shared HS256 secret or, with
+ * {@code application.security.jwt.algorithm=ES256}, with the active key of a {@link SigningKeyRing}
+ * and a {@code kid} header so other services can verify them against the published JWKS. While
+ * {@code accept-hs256} is on, HS256 tokens issued before the switch keep verifying until they
+ * expire. Under ES256 the key ring is loaded at startup, so a missing or invalid key fails the start
+ * rather than the first login; the other keys, the parser and {@link Hs256TokenCodec} are built once,
+ * on first use. HS256 tokens without extra claims go through the codec, everything else through
+ * jjwt. Verified tokens are cached by SHA-256 digest until their {@code exp}, so a client that
+ * reuses its token skips parsing and the HMAC check on later requests.
+ * <p>
+ * With {@code compact.enabled}, access tokens use the {@link CompactClaims} profile: roles as a
+ * {@link RoleBitmask} over the current role catalog and the user id in Base64URL. Users holding a
+ * role the catalog does not know yet get a regular token. Compact tokens always verify, whatever the
+ * setting, as long as this node has seen the catalog version they were issued against.
+ * <p>
+ * Refresh tokens are always HS256 under a key of their own, {@code refresh-token.secret-key} or,
+ * when that is empty, an HMAC of the label {@value #REFRESH_KEY_LABEL} under the shared secret. That
+ * key is never published or shared, so a refresh token never verifies against the JWKS or the access
+ * token secret. ES256 access tokens also carry the JOSE header {@code typ: at+jwt} (RFC 9068), and
+ * services verifying against the JWKS must reject tokens without it.
+ */
 @Service
-public class JwtServiceAdapter implements JwtServicePort {
+public class JwtServiceAdapter implements JwtServicePort, InitializingBean {
+
+    private static final String TOKEN_TYPE = "typ";
+    private static final String REFRESH = "refresh";
+    private static final String ACCESS_TOKEN_MEDIA_TYPE = "at+jwt";
+    private static final String REFRESH_KEY_LABEL = "refresh-token";
 
     @Value("${application.security.jwt.secret-key}")
     private String secretKey;
@@ -29,57 +91,255 @@ public class JwtServiceAdapter implements JwtServicePort {
     @Value("${application.security.jwt.refresh-token.expiration}")
     private long refreshExpiration;
 
+    @Value("${application.security.jwt.refresh-token.secret-key:}")
+    private String refreshSecretKey = "";
+
+    @Value("${application.security.jwt.algorithm:HS256}")
+    private String algorithm = "HS256";
+
+    @Value("${application.security.jwt.es256.key-location:}")
+    private String keyLocation = "";
+
+    @Value("${application.security.jwt.es256.active-kid:}")
+    private String activeKid = "";
+
+    @Value("${application.security.jwt.es256.accept-hs256:true}")
+    private boolean acceptHs256 = true;
+
+    @Value("${application.security.jwt.compact.enabled:false}")
+    private boolean compact = false;
+
+    private final Cache<ByteBuffer, TokenClaims> verifiedTokens;
+    private final boolean fastCodec;
+    private volatile Key signInKey;
+    private volatile Key refreshKey;
+    private volatile JwtParser parser;
+    private volatile JwtParser refreshParser;
+    private volatile Hs256TokenCodec codec;
+    private volatile SigningKeyRing keyRing;
+    private final RoleRepositoryAdapter roleRepository;
+    private final Map<Integer, RoleBitmask> roleBitmasks = new ConcurrentHashMap<>();
+    private volatile RoleCatalog bitmaskCatalog;
+    private volatile RoleBitmask roleBitmask;
+
+    public JwtServiceAdapter(MeterRegistry meterRegistry,
+                             RoleRepositoryAdapter roleRepository,
+                             @Value("${application.security.jwt.verified-cache.enabled:true}") boolean cacheEnabled,
+                             @Value("${application.security.jwt.verified-cache.maximum-size:10000}") long maximumSize,
+                             @Value("${application.security.jwt.fast-codec.enabled:true}") boolean fastCodec) {
+        this.roleRepository = roleRepository;
+        this.fastCodec = fastCodec;
+        this.verifiedTokens = cacheEnabled
+                ? Caffeine.newBuilder().maximumSize(maximumSize).expireAfter(new UntilTokenExpiry()).recordStats().build()
+                : null;
+        if (verifiedTokens != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified");
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (es256()) {
+            getKeyRing();
+        }
+    }
+
     @Override
     public Mono<String> generateToken(User user) {
         return generateToken(new HashMap<>(), user);
     }
 
     public Mono<String> generateToken(Map<String, Object> extraClaims, User user) {
-        return Mono.fromCallable(() -> {
-            Date now = new Date(System.currentTimeMillis());
-            Date expirationDate = new Date(now.getTime() + jwtExpiration);
+        return generateToken(extraClaims, user, jwtExpiration);
+    }
 
-            return Jwts.builder()
-                    .setClaims(extraClaims)
-                    .setSubject(user.getUsername())
-                    .claim("userId", user.getId())
-                    .claim("roles", user.getRoles())
-                    .setIssuedAt(now)
-                    .setExpiration(expirationDate)
-                    .signWith(getSignInKey(), SignatureAlgorithm.HS256)
-                    .compact();
-        });
+    @Override
+    public Duration refreshTokenTtl() {
+        return Duration.ofMillis(refreshExpiration);
     }
 
-    public Mono<String> generateRefreshToken(User user) {
-        return generateToken(new HashMap<>(), user, refreshExpiration);
+    @Override
+    public Mono<String> generateRefreshToken(User user, RefreshToken refreshToken) {
+        return Mono.fromCallable(() -> Jwts.builder()
+                .setId(refreshToken.getId())
+                .setSubject(user.getUsername())
+                .claim(TOKEN_TYPE, REFRESH)
+                .claim("userId", user.getId())
+                .claim("fam", refreshToken.getFamilyId())
+                .setIssuedAt(new Date())
+                .setExpiration(Date.from(refreshToken.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant()))
+                .signWith(getRefreshKey(), SignatureAlgorithm.HS256)
+                .compact());
+    }
+
+    @Override
+    public Mono<RefreshTokenClaims> verifyRefreshToken(String token) {
+        return Mono.fromCallable(() -> {
+                    Claims claims = getRefreshParser().parseClaimsJws(token).getBody();
+                    if (!REFRESH.equals(claims.get(TOKEN_TYPE))) {
+                        throw new UnsupportedJwtException("Not a refresh token");
+                    }
+                    return RefreshTokenClaims.builder()
+                            .tokenId(claims.getId())
+                            .familyId(claims.get("fam", String.class))
+                            .userId(claims.get("userId", String.class))
+                            .build();
+                })
+                .onErrorResume(error -> error instanceof JwtException || error instanceof IllegalArgumentException,
+                        error -> Mono.empty());
     }
 
     public Mono<String> generateToken(Map<String, Object> extraClaims, User user, long expiration) {
         return Mono.fromCallable(() -> {
             Date now = new Date(System.currentTimeMillis());
             Date expirationDate = new Date(now.getTime() + expiration);
+            String compactUserId = compact && extraClaims.isEmpty() ? CompactClaims.compactUserId(user.getId()) : null;
+            if (compactUserId != null) {
+                RoleBitmask bitmask = currentRoleBitmask();
+                Long roleMask = bitmask.encode(user.getRoles() == null ? Set.of() : user.getRoles());
+                if (roleMask != null) {
+                    if (!es256() && fastCodec) {
+                        return getCodec().encodeCompact(user.getUsername(), compactUserId, roleMask, bitmask.version(),
+                                now.getTime() / 1000, expirationDate.getTime() / 1000);
+                    }
+                    return sign(Jwts.builder()
+                            .setSubject(user.getUsername())
+                            .claim(CompactClaims.USER_ID, compactUserId)
+                            .claim(CompactClaims.ROLE_MASK, roleMask)
+                            .claim(CompactClaims.ROLE_VERSION, bitmask.version())
+                            .setIssuedAt(now)
+                            .setExpiration(expirationDate));
+                }
+            }
+            if (!es256() && fastCodec && extraClaims.isEmpty()) {
+                return getCodec().encode(user.getUsername(), user.getId(), user.getRoles(),
+                        now.getTime() / 1000, expirationDate.getTime() / 1000);
+            }
 
-            return Jwts.builder()
+            return sign(Jwts.builder()
                     .setClaims(extraClaims)
                     .setSubject(user.getUsername())
                     .claim("userId", user.getId())
                     .claim("roles", user.getRoles())
                     .setIssuedAt(now)
-                    .setExpiration(expirationDate)
-                    .signWith(getSignInKey(), SignatureAlgorithm.HS256)
-                    .compact();
+                    .setExpiration(expirationDate));
         });
     }
 
+    private String sign(JwtBuilder builder) {
+        if (es256()) {
+            SigningKeyRing ring = getKeyRing();
+            return builder.setHeaderParam(JwsHeader.KEY_ID, ring.activeKid())
+                    .setHeaderParam(JwsHeader.TYPE, ACCESS_TOKEN_MEDIA_TYPE)
+                    .signWith(ring.activeKey(), SignatureAlgorithm.ES256)
+                    .compact();
+        }
+        return builder.signWith(getSignInKey(), SignatureAlgorithm.HS256).compact();
+    }
+
     @Override
     public Mono<Boolean> validateToken(String token) {
-        return Mono.fromCallable(() -> !isTokenExpired(token));
+        return verify(token).hasElement();
     }
 
     @Override
     public Mono<String> extractUsername(String token) {
-        return Mono.just(extractClaim(token, Claims::getSubject));
+        return verify(token).mapNotNull(TokenClaims::getSubject);
+    }
+
+    @Override
+    public Mono<TokenClaims> verify(String token) {
+        return Mono.fromCallable(() -> {
+                    if (verifiedTokens == null) {
+                        return parse(token);
+                    }
+                    ByteBuffer digest = digest(token);
+                    TokenClaims cached = verifiedTokens.getIfPresent(digest);
+                    if (cached != null && isUnexpired(cached)) {
+                        return cached;
+                    }
+                    TokenClaims claims = parse(token);
+                    verifiedTokens.put(digest, claims);
+                    return claims;
+                })
+                .onErrorResume(error -> error instanceof JwtException || error instanceof IllegalArgumentException,
+                        error -> Mono.empty());
+    }
+
+    @Override
+    public Mono<Map<String, Object>> publicKeySet() {
+        return Mono.fromCallable(() -> es256() ? getKeyRing().jwks() : Map.<String, Object>of("keys", List.of()));
+    }
+
+    private TokenClaims parse(String token) {
+        if (fastCodec && (!es256() || acceptHs256)) {
+            TokenClaims claims = getCodec().decode(token, System.currentTimeMillis(), this::rolesForMask);
+            if (claims != null) {
+                return claims;
+            }
+        }
+        return toTokenClaims(extractAllClaims(token));
+    }
+
+    private TokenClaims toTokenClaims(Claims claims) {
+        if (REFRESH.equals(claims.get(TOKEN_TYPE))) {
+            throw new UnsupportedJwtException("Refresh tokens cannot authenticate requests");
+        }
+        if (claims.containsKey(CompactClaims.ROLE_MASK)) {
+            return toCompactTokenClaims(claims);
+        }
+        Set<String> roles = new LinkedHashSet<>();
+        if (claims.get("roles") instanceof Collection<?> names) {
+            names.forEach(name -> roles.add(String.valueOf(name)));
+        }
+        return TokenClaims.builder()
+                .subject(claims.getSubject())
+                .userId(claims.get("userId", String.class))
+                .roles(Collections.unmodifiableSet(roles))
+                .issuedAt(claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant())
+                .expiresAt(claims.getExpiration() == null ? null : claims.getExpiration().toInstant())
+                .build();
+    }
+
+    private TokenClaims toCompactTokenClaims(Claims claims) {
+        if (!(claims.get(CompactClaims.ROLE_MASK) instanceof Number mask)
+                || !(claims.get(CompactClaims.ROLE_VERSION) instanceof Number version)) {
+            throw new UnsupportedJwtException("Malformed compact role claims");
+        }
+        Set<String> roles = rolesForMask(version.intValue(), mask.longValue());
+        if (roles == null) {
+            throw new UnsupportedJwtException("Token issued against unknown role catalog " + version);
+        }
+        String compactUserId = claims.get(CompactClaims.USER_ID, String.class);
+        return TokenClaims.builder()
+                .subject(claims.getSubject())
+                .userId(compactUserId == null ? null : CompactClaims.expandUserId(compactUserId))
+                .roles(roles)
+                .issuedAt(claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant())
+                .expiresAt(claims.getExpiration() == null ? null : claims.getExpiration().toInstant())
+                .build();
+    }
+
+    private Set<String> rolesForMask(int version, long mask) {
+        currentRoleBitmask();
+        RoleBitmask bitmask = roleBitmasks.get(version);
+        return bitmask == null ? null : bitmask.decode(mask);
+    }
+
+    /**
+     * The bitmask for the current role catalog. Every catalog seen is remembered by version, so
+     * tokens issued before a role change keep verifying on this node.
+     */
+    private RoleBitmask currentRoleBitmask() {
+        RoleCatalog catalog = roleRepository.currentCatalog();
+        RoleBitmask current = roleBitmask;
+        if (current == null || catalog != bitmaskCatalog) {
+            RoleBitmask fresh = RoleBitmask.of(catalog.all().stream().map(Role::getName).toList());
+            current = roleBitmasks.computeIfAbsent(fresh.version(), version -> fresh);
+            roleBitmask = current;
+            bitmaskCatalog = catalog;
+        }
+        return current;
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -88,23 +348,139 @@ public class JwtServiceAdapter implements JwtServicePort {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return getParser()
                 .parseClaimsJws(token)
                 .getBody();
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private boolean isUnexpired(TokenClaims claims) {
+        return claims.getExpiresAt() == null || claims.getExpiresAt().isAfter(Instant.now());
+    }
+
+    private JwtParser getParser() {
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts.parserBuilder()
+                    .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                        @Override
+                        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                            return verificationKey(header);
+                        }
+                    })
+                    .build();
+            parser = current;
+        }
+        return current;
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private JwtParser getRefreshParser() {
+        JwtParser current = refreshParser;
+        if (current == null) {
+            current = Jwts.parserBuilder().setSigningKey(getRefreshKey()).build();
+            refreshParser = current;
+        }
+        return current;
+    }
+
+    private Key verificationKey(JwsHeader<?> header) {
+        String alg = header.getAlgorithm();
+        if (SignatureAlgorithm.HS256.getValue().equals(alg) && (!es256() || acceptHs256)) {
+            return getSignInKey();
+        }
+        if (SignatureAlgorithm.ES256.getValue().equals(alg) && es256()) {
+            Key key = getKeyRing().publicKey(header.getKeyId());
+            if (key == null) {
+                throw new SignatureException("Unknown signing key " + header.getKeyId());
+            }
+            return key;
+        }
+        throw new UnsupportedJwtException("Tokens signed with " + alg + " are not accepted");
+    }
+
+    private boolean es256() {
+        return SignatureAlgorithm.ES256.getValue().equalsIgnoreCase(algorithm);
+    }
+
+    private SigningKeyRing getKeyRing() {
+        SigningKeyRing current = keyRing;
+        if (current == null) {
+            synchronized (this) {
+                current = keyRing;
+                if (current == null) {
+                    current = keyLocation == null || keyLocation.isBlank()
+                            ? SigningKeyRing.ephemeral()
+                            : SigningKeyRing.load(Path.of(keyLocation), activeKid);
+                    keyRing = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Hs256TokenCodec getCodec() {
+        Hs256TokenCodec current = codec;
+        if (current == null) {
+            current = new Hs256TokenCodec(getSignInKey().getEncoded());
+            codec = current;
+        }
+        return current;
     }
 
     private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        Key current = signInKey;
+        if (current == null) {
+            byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+            current = Keys.hmacShaKeyFor(keyBytes);
+            signInKey = current;
+        }
+        return current;
+    }
+
+    private Key getRefreshKey() {
+        Key current = refreshKey;
+        if (current == null) {
+            if (refreshSecretKey != null && !refreshSecretKey.isBlank()) {
+                current = Keys.hmacShaKeyFor(Decoders.BASE64.decode(refreshSecretKey));
+            } else {
+                try {
+                    Mac mac = Mac.getInstance("HmacSHA256");
+                    mac.init(getSignInKey());
+                    current = Keys.hmacShaKeyFor(mac.doFinal(REFRESH_KEY_LABEL.getBytes(StandardCharsets.US_ASCII)));
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("HmacSHA256 is not available", e);
+                }
+            }
+            refreshKey = current;
+        }
+        return current;
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<ByteBuffer, TokenClaims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, TokenClaims claims, long currentTime) {
+            if (claims.getExpiresAt() == null) {
+                return Long.MAX_VALUE;
+            }
+            return Math.max(0, Duration.between(Instant.now(), claims.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, TokenClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, TokenClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
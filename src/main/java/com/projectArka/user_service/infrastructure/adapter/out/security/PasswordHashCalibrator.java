@@ -0,0 +1,103 @@
+package com.projectArka.user_service.infrastructure.adapter.out.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Times bcrypt at each cost from {@code min-cost} to {@code max-cost} on this hardware once the
+ * application is ready, logs the median per cost and the highest cost that stays within
+ * {@code target}, and publishes the medians as {@code password.hashing.calibration{cost}}. Stops
+ * early once a cost takes more than twice the target. Runs off the request path, but competes for
+ * CPU while it runs, so it is meant for sizing an environment rather than for every start.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "application.security.password.calibration.enabled", havingValue = "true")
+public class PasswordHashCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-Passw0rd!";
+
+    private final MeterRegistry meterRegistry;
+    private final int configuredCost;
+    private final int minCost;
+    private final int maxCost;
+    private final int samples;
+    private final Duration target;
+
+    public PasswordHashCalibrator(MeterRegistry meterRegistry,
+                                  @Value("${application.security.password.bcrypt.strength:10}") int configuredCost,
+                                  @Value("${application.security.password.calibration.min-cost:8}") int minCost,
+                                  @Value("${application.security.password.calibration.max-cost:14}") int maxCost,
+                                  @Value("${application.security.password.calibration.samples:3}") int samples,
+                                  @Value("${application.security.password.calibration.target:PT0.25S}") Duration target) {
+        this.meterRegistry = meterRegistry;
+        this.configuredCost = configuredCost;
+        this.minCost = Math.max(4, minCost);
+        this.maxCost = Math.min(31, maxCost);
+        this.samples = Math.max(1, samples);
+        this.target = target;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Mono.fromRunnable(this::calibrate)
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(null, error -> log.warn("Password hash calibration failed: {}", error.getMessage()));
+    }
+
+    public Map<Integer, Duration> calibrate() {
+        Map<Integer, Duration> medians = new TreeMap<>();
+        int recommended = -1;
+        for (int cost = minCost; cost <= maxCost; cost++) {
+            Duration median = measure(cost);
+            medians.put(cost, median);
+            long millis = median.toMillis();
+            Gauge.builder("password.hashing.calibration", () -> millis)
+                    .tag("cost", String.valueOf(cost))
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            log.info("bcrypt cost {}: {} ms per hash", cost, millis);
+            if (median.compareTo(target) <= 0) {
+                recommended = cost;
+            }
+            if (median.compareTo(target.multipliedBy(2)) > 0) {
+                break;
+            }
+        }
+        if (recommended < 0) {
+            log.warn("No bcrypt cost from {} stays within {} on this hardware; configured cost is {}", minCost, target, configuredCost);
+        } else if (recommended != configuredCost) {
+            log.info("Highest bcrypt cost within {} is {}; configured cost is {}", target, recommended, configuredCost);
+        } else {
+            log.info("Configured bcrypt cost {} is the highest within {}", configuredCost, target);
+        }
+        return medians;
+    }
+
+    private Duration measure(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        String hash = encoder.encode(SAMPLE_PASSWORD);
+        long[] nanos = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            long startedAt = System.nanoTime();
+            encoder.matches(SAMPLE_PASSWORD, hash);
+            nanos[i] = System.nanoTime() - startedAt;
+        }
+        Arrays.sort(nanos);
+        return Duration.ofNanos(nanos[samples / 2]);
+    }
+}
@@ -0,0 +1,78 @@
+package com.projectArka.user_service.infrastructure.adapter.out.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.CRC32;
+
+/**
+ * Role names of one catalog mapped to bits, in name order, for compact tokens. The version is a
+ * 24-bit checksum of the names, carried in the token so a verifier never reads a mask against a
+ * different catalog. Decoded role sets are built once per mask and shared.
+ */
+public final class RoleBitmask {
+
+    static final int MAX_ROLES = Long.SIZE - 1;
+
+    private final String[] names;
+    private final Map<String, Integer> bits;
+    private final int version;
+    private final ConcurrentMap<Long, Set<String>> decoded = new ConcurrentHashMap<>();
+
+    private RoleBitmask(List<String> names) {
+        this.names = names.toArray(String[]::new);
+        this.bits = new HashMap<>();
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < this.names.length; i++) {
+            bits.put(this.names[i], i);
+            crc.update(this.names[i].getBytes(StandardCharsets.UTF_8));
+            crc.update('\n');
+        }
+        this.version = (int) (crc.getValue() & 0xFFFFFF);
+    }
+
+    public static RoleBitmask of(Collection<String> roleNames) {
+        return new RoleBitmask(new TreeSet<>(roleNames).stream().limit(MAX_ROLES).toList());
+    }
+
+    public int version() {
+        return version;
+    }
+
+    /** The mask for {@code roles}, or {@code null} when one of them has no bit in this catalog. */
+    public Long encode(Collection<String> roles) {
+        long mask = 0;
+        for (String role : roles) {
+            Integer bit = bits.get(role);
+            if (bit == null) {
+                return null;
+            }
+            mask |= 1L << bit;
+        }
+        return mask;
+    }
+
+    /** The shared role set for {@code mask}, or {@code null} when it sets bits this catalog lacks. */
+    public Set<String> decode(long mask) {
+        if (mask < 0 || (mask >>> names.length) != 0) {
+            return null;
+        }
+        return decoded.computeIfAbsent(mask, key -> {
+            Set<String> roles = new LinkedHashSet<>();
+            for (int bit = 0; bit < names.length; bit++) {
+                if ((key & (1L << bit)) != 0) {
+                    roles.add(names[bit]);
+                }
+            }
+            return Collections.unmodifiableSet(roles);
+        });
+    }
+}
@@ -0,0 +1,157 @@
+package com.projectArka.user_service.infrastructure.adapter.out.security;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * ES256 (P-256) keys for signing tokens, identified by {@code kid}. Keys are read from a directory
+ * holding {@code <kid>.pub} (X.509 PEM) and, for keys that may sign, {@code <kid>.key} (PKCS#8 PEM).
+ * The active key signs; every public key verifies and is published in the JWKS. Rotation is a new
+ * key pair plus a new active kid, keeping the old {@code .pub} until the last token it signed has
+ * expired. Keys on any other curve are rejected, since the JWKS announces every key as P-256.
+ * Without a directory an ephemeral key is generated, which only suits a single node.
+ */
+@Slf4j
+public final class SigningKeyRing {
+
+    private final String activeKid;
+    private final PrivateKey activeKey;
+    private final Map<String, ECPublicKey> publicKeys;
+
+    private SigningKeyRing(String activeKid, PrivateKey activeKey, Map<String, ECPublicKey> publicKeys) {
+        this.activeKid = activeKid;
+        this.activeKey = activeKey;
+        this.publicKeys = publicKeys;
+    }
+
+    public static SigningKeyRing load(Path directory, String activeKid) {
+        Map<String, ECPublicKey> publicKeys = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.pub")) {
+            for (Path file : files) {
+                String kid = file.getFileName().toString().replaceFirst("\\.pub$", "");
+                publicKeys.put(kid, requireP256(file, (ECPublicKey) keyFactory().generatePublic(new X509EncodedKeySpec(pem(file)))));
+            }
+            if (activeKid == null || activeKid.isBlank()) {
+                throw new IllegalStateException("An active kid is required when signing keys are loaded from " + directory);
+            }
+            if (!publicKeys.containsKey(activeKid)) {
+                throw new IllegalStateException("No public key " + activeKid + ".pub in " + directory);
+            }
+            Path privateKeyFile = directory.resolve(activeKid + ".key");
+            PrivateKey privateKey = requireP256(privateKeyFile,
+                    (ECPrivateKey) keyFactory().generatePrivate(new PKCS8EncodedKeySpec(pem(privateKeyFile))));
+            log.info("Loaded {} token verification keys from {}, signing with {}", publicKeys.size(), directory, activeKid);
+            return new SigningKeyRing(activeKid, privateKey, publicKeys);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read signing keys from " + directory, e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid signing key in " + directory, e);
+        }
+    }
+
+    public static SigningKeyRing ephemeral() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair pair = generator.generateKeyPair();
+            String kid = "ephemeral-" + UUID.randomUUID();
+            log.warn("No signing key directory configured, generated ephemeral key {}; tokens will not survive a restart", kid);
+            return new SigningKeyRing(kid, pair.getPrivate(), Map.of(kid, (ECPublicKey) pair.getPublic()));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("P-256 key generation is not available", e);
+        }
+    }
+
+    public String activeKid() {
+        return activeKid;
+    }
+
+    public PrivateKey activeKey() {
+        return activeKey;
+    }
+
+    public PublicKey publicKey(String kid) {
+        return kid == null ? null : publicKeys.get(kid);
+    }
+
+    /** The public keys as an RFC 7517 JWK set. */
+    public Map<String, Object> jwks() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        publicKeys.forEach((kid, key) -> {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", coordinate(key.getW().getAffineX()));
+            jwk.put("y", coordinate(key.getW().getAffineY()));
+            jwk.put("use", "sig");
+            jwk.put("alg", "ES256");
+            jwk.put("kid", kid);
+            keys.add(jwk);
+        });
+        return Map.of("keys", keys);
+    }
+
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, fixed.length);
+        System.arraycopy(bytes, bytes.length - length, fixed, fixed.length - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    private static <K extends ECKey> K requireP256(Path file, K key) throws GeneralSecurityException {
+        ECParameterSpec params = key.getParams();
+        ECParameterSpec p256 = p256();
+        if (!params.getCurve().equals(p256.getCurve())
+                || !params.getGenerator().equals(p256.getGenerator())
+                || !params.getOrder().equals(p256.getOrder())) {
+            throw new IllegalStateException("Signing key " + file + " is not a P-256 key");
+        }
+        return key;
+    }
+
+    private static ECParameterSpec p256() throws GeneralSecurityException {
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+        return parameters.getParameterSpec(ECParameterSpec.class);
+    }
+
+    private static byte[] pem(Path file) throws IOException {
+        String body = Files.readString(file, StandardCharsets.US_ASCII)
+                .replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+
+    private static KeyFactory keyFactory() throws GeneralSecurityException {
+        return KeyFactory.getInstance("EC");
+    }
+}
@@ -3,8 +3,16 @@ package com.projectArka.user_service.infrastructure.config;
 import com.projectArka.user_service.domain.exception.UserAlreadyExistsException;
 import com.projectArka.user_service.domain.exception.UserNotFoundException;
 import com.projectArka.user_service.domain.exception.InvalidCredentialsException;
+import com.projectArka.user_service.domain.exception.HashingCapacityExceededException;
+import com.projectArka.user_service.domain.exception.ServiceApiKeyAlreadyExistsException;
+import com.projectArka.user_service.domain.exception.ServiceApiKeyNotFoundException;
+import com.projectArka.user_service.domain.exception.InvalidRequestException;
+import com.projectArka.user_service.infrastructure.adapter.in.webflux.IdempotencyKeyReuseException;
+import com.projectArka.user_service.infrastructure.adapter.in.webflux.LoginThrottledException;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -34,12 +42,54 @@ public class GlobalExceptionHandler {
         return createErrorResponse(ex.getMessage());
     }
 
+    @ExceptionHandler(ServiceApiKeyNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public Mono<Map<String, String>> handleServiceApiKeyNotFoundException(ServiceApiKeyNotFoundException ex) {
+        return createErrorResponse(ex.getMessage());
+    }
+
+    @ExceptionHandler(ServiceApiKeyAlreadyExistsException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Mono<Map<String, String>> handleServiceApiKeyAlreadyExistsException(ServiceApiKeyAlreadyExistsException ex) {
+        return createErrorResponse(ex.getMessage());
+    }
+
     @ExceptionHandler(InvalidCredentialsException.class)
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
     public Mono<Map<String, String>> handleInvalidCredentialsException(InvalidCredentialsException ex) {
         return createErrorResponse(ex.getMessage());
     }
 
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    public Mono<Map<String, String>> handleIdempotencyKeyReuseException(IdempotencyKeyReuseException ex) {
+        return createErrorResponse(ex.getMessage());
+    }
+
+    @ExceptionHandler(HashingCapacityExceededException.class)
+    public Mono<ResponseEntity<Map<String, String>>> handleHashingCapacityExceededException(HashingCapacityExceededException ex) {
+        long retryAfterSeconds = Math.max(1, ex.getRetryAfter().toSeconds());
+        return createErrorResponse(ex.getMessage())
+                .map(body -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                        .body(body));
+    }
+
+    @ExceptionHandler(LoginThrottledException.class)
+    public Mono<ResponseEntity<Map<String, String>>> handleLoginThrottledException(LoginThrottledException ex) {
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return createErrorResponse(ex.getMessage())
+                .map(body -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                        .body(body));
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Mono<Map<String, String>> handleInvalidRequestException(InvalidRequestException ex) {
+        return createErrorResponse(ex.getMessage());
+    }
+
     @ExceptionHandler(Throwable.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public Mono<Map<String, String>> handleAllExceptions(Throwable ex) {
@@ -0,0 +1,24 @@
+package com.projectArka.user_service.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectArka.user_service.infrastructure.adapter.in.webflux.IdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${application.http.idempotency.enabled:true}") boolean enabled,
+            @Value("${application.http.idempotency.maximum-size:10000}") long maximumSize,
+            @Value("${application.http.idempotency.ttl:PT1H}") Duration ttl) {
+        return new IdempotencyStore(objectMapper, maximumSize, ttl, enabled, meterRegistry);
+    }
+}
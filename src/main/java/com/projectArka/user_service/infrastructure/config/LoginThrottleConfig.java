@@ -0,0 +1,24 @@
+package com.projectArka.user_service.infrastructure.config;
+
+import com.projectArka.user_service.infrastructure.adapter.in.webflux.LoginThrottle;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class LoginThrottleConfig {
+
+    @Bean
+    public LoginThrottle loginThrottle(
+            MeterRegistry meterRegistry,
+            @Value("${application.security.login-throttle.enabled:true}") boolean enabled,
+            @Value("${application.security.login-throttle.window:PT1M}") Duration window,
+            @Value("${application.security.login-throttle.address.max-attempts:60}") int maxAttemptsPerAddress,
+            @Value("${application.security.login-throttle.username.max-failures:10}") int maxFailuresPerUsername,
+            @Value("${application.security.login-throttle.maximum-keys:100000}") long maximumKeys) {
+        return new LoginThrottle(maxAttemptsPerAddress, maxFailuresPerUsername, window, maximumKeys, enabled, meterRegistry);
+    }
+}
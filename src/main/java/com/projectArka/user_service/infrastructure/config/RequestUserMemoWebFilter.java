@@ -0,0 +1,27 @@
+package com.projectArka.user_service.infrastructure.config;
+
+import com.projectArka.user_service.infrastructure.adapter.out.cache.RequestUserMemo;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs ahead of the security filter chain so the user loaded to authenticate the request and the
+ * one loaded by the handler come from the same {@link RequestUserMemo}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "application.users.request-memo.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestUserMemoWebFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(RequestUserMemo.class, new RequestUserMemo()));
+    }
+}
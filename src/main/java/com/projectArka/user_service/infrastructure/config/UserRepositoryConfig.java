@@ -0,0 +1,164 @@
+package com.projectArka.user_service.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectArka.user_service.domain.port.out.UserRepositoryPort;
+import com.projectArka.user_service.infrastructure.adapter.in.webflux.EncodedUserResponseCache;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.BloomFilterUserRepository;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.CacheInvalidationListener;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.CachingUserRepository;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.CoalescingUserRepository;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.DelegatingUserRepository;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.IdSetUserRepository;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.RequestMemoUserRepository;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.UserDirectorySnapshotter;
+import com.projectArka.user_service.infrastructure.adapter.out.r2dbc.notification.PostgresInvalidationSubscriber;
+import com.projectArka.user_service.infrastructure.adapter.out.r2dbc.adapter.UserRepositoryAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class UserRepositoryConfig {
+
+    @Bean
+    public UserRepositoryPort userLookupRepository(
+            UserRepositoryAdapter userRepositoryAdapter,
+            MeterRegistry meterRegistry,
+            @Value("${application.cache.users.single-flight.enabled:true}") boolean singleFlightEnabled) {
+        return singleFlightEnabled
+                ? new CoalescingUserRepository(userRepositoryAdapter, meterRegistry)
+                : userRepositoryAdapter;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "application.cache.users.enabled", havingValue = "true", matchIfMissing = true)
+    public CachingUserRepository cachingUserRepository(
+            @Qualifier("userLookupRepository") UserRepositoryPort userLookupRepository,
+            MeterRegistry meterRegistry,
+            @Value("${application.cache.users.maximum-size:10000}") long maximumSize,
+            @Value("${application.cache.users.ttl:PT5M}") Duration ttl) {
+        return new CachingUserRepository(userLookupRepository, maximumSize, ttl, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "application.users.availability.bloom.enabled", havingValue = "true", matchIfMissing = true)
+    public BloomFilterUserRepository bloomFilterUserRepository(
+            @Qualifier("userLookupRepository") UserRepositoryPort userLookupRepository,
+            ObjectProvider<CachingUserRepository> cachingUserRepository,
+            UserRepositoryAdapter userRepositoryAdapter,
+            MeterRegistry meterRegistry,
+            @Value("${application.users.availability.bloom.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${application.users.availability.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${application.users.availability.bloom.rebuild-interval:PT1H}") Duration rebuildInterval) {
+        return new BloomFilterUserRepository(firstAvailable(userLookupRepository, cachingUserRepository),
+                userRepositoryAdapter::streamLoginIdentifiers, expectedInsertions, falsePositiveRate, rebuildInterval, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "application.users.exists.id-set.enabled", havingValue = "true", matchIfMissing = true)
+    public IdSetUserRepository idSetUserRepository(
+            @Qualifier("userLookupRepository") UserRepositoryPort userLookupRepository,
+            ObjectProvider<CachingUserRepository> cachingUserRepository,
+            ObjectProvider<BloomFilterUserRepository> bloomFilterUserRepository,
+            UserRepositoryAdapter userRepositoryAdapter,
+            MeterRegistry meterRegistry,
+            @Value("${application.users.exists.id-set.reconcile-interval:PT15M}") Duration reconcileInterval) {
+        return new IdSetUserRepository(firstAvailable(userLookupRepository, bloomFilterUserRepository, cachingUserRepository),
+                userRepositoryAdapter::streamIds, reconcileInterval, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "application.users.request-memo.enabled", havingValue = "true", matchIfMissing = true)
+    public RequestMemoUserRepository requestMemoUserRepository(
+            @Qualifier("userLookupRepository") UserRepositoryPort userLookupRepository,
+            ObjectProvider<CachingUserRepository> cachingUserRepository,
+            ObjectProvider<BloomFilterUserRepository> bloomFilterUserRepository,
+            ObjectProvider<IdSetUserRepository> idSetUserRepository) {
+        return new RequestMemoUserRepository(
+                firstAvailable(userLookupRepository, idSetUserRepository, bloomFilterUserRepository, cachingUserRepository));
+    }
+
+    @Bean
+    @Primary
+    public UserRepositoryPort userRepositoryPort(
+            @Qualifier("userLookupRepository") UserRepositoryPort userLookupRepository,
+            ObjectProvider<CachingUserRepository> cachingUserRepository,
+            ObjectProvider<BloomFilterUserRepository> bloomFilterUserRepository,
+            ObjectProvider<IdSetUserRepository> idSetUserRepository,
+            ObjectProvider<RequestMemoUserRepository> requestMemoUserRepository) {
+        return firstAvailable(userLookupRepository,
+                requestMemoUserRepository, idSetUserRepository, bloomFilterUserRepository, cachingUserRepository);
+    }
+
+    @Bean
+    public EncodedUserResponseCache encodedUserResponseCache(
+            ObjectMapper objectMapper,
+            ObjectProvider<CachingUserRepository> cachingUserRepository,
+            MeterRegistry meterRegistry,
+            @Value("${application.cache.users.responses.enabled:true}") boolean enabled,
+            @Value("${application.cache.users.responses.gzip:false}") boolean gzip,
+            @Value("${application.cache.users.maximum-size:10000}") long maximumSize,
+            @Value("${application.cache.users.ttl:PT5M}") Duration ttl) {
+        CachingUserRepository userCache = cachingUserRepository.getIfAvailable();
+        EncodedUserResponseCache responseCache = new EncodedUserResponseCache(
+                objectMapper, maximumSize, ttl, gzip, enabled && userCache != null, meterRegistry);
+        if (userCache != null) {
+            userCache.addEvictionListener(responseCache);
+        }
+        return responseCache;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "application.cache.users.snapshot.enabled", havingValue = "true")
+    public UserDirectorySnapshotter userDirectorySnapshotter(
+            ObjectProvider<CachingUserRepository> cachingUserRepository,
+            ObjectProvider<PostgresInvalidationSubscriber> invalidationSubscriber,
+            UserRepositoryAdapter userRepositoryAdapter,
+            @Value("${application.cache.users.snapshot.path}") Path path,
+            @Value("${application.cache.users.snapshot.interval:PT5M}") Duration interval,
+            @Value("${application.cache.users.snapshot.clock-skew:PT1M}") Duration clockSkew,
+            @Value("${application.cache.users.snapshot.catch-up-timeout:PT30S}") Duration catchUpTimeout) {
+        CachingUserRepository userCache = cachingUserRepository.getIfAvailable();
+        if (userCache == null) {
+            throw new IllegalStateException("application.cache.users.snapshot.enabled requires application.cache.users.enabled");
+        }
+        PostgresInvalidationSubscriber subscriber = invalidationSubscriber.getIfAvailable();
+        return new UserDirectorySnapshotter(userCache, path, interval, clockSkew, catchUpTimeout,
+                subscriber != null ? subscriber.whenListening() : Mono.empty(),
+                userRepositoryAdapter::findIdsUpdatedSince, userRepositoryAdapter::findExistingIds);
+    }
+
+    @Bean
+    public CacheInvalidationListener userCacheInvalidationListener(UserRepositoryPort userRepositoryPort) {
+        return event -> {
+            if (userRepositoryPort instanceof DelegatingUserRepository layers) {
+                layers.onInvalidation(event);
+            }
+        };
+    }
+
+    /**
+     * Returns the outermost layer that is enabled, given layers ordered from outermost to innermost.
+     */
+    @SafeVarargs
+    private static UserRepositoryPort firstAvailable(UserRepositoryPort innermost,
+                                                     ObjectProvider<? extends UserRepositoryPort>... layers) {
+        for (ObjectProvider<? extends UserRepositoryPort> layer : layers) {
+            UserRepositoryPort available = layer.getIfAvailable();
+            if (available != null) {
+                return available;
+            }
+        }
+        return innermost;
+    }
+}
@@ -1,23 +1,64 @@
 package com.projectArka.user_service.infrastructure.config.security;
 
 import com.projectArka.user_service.application.port.out.JwtServicePort;
+import com.projectArka.user_service.application.port.out.TokenClaims;
+import com.projectArka.user_service.application.port.out.TokenRevocationPort;
+import com.projectArka.user_service.domain.port.out.ServiceApiKeyRepositoryPort;
+import com.projectArka.user_service.domain.port.out.UserRepositoryPort;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextImpl;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.server.context.ServerSecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the security context from the bearer token. By default the user is reloaded through
+ * {@link ReactiveUserDetailsService} on every request. In stateless mode the context comes from the
+ * verified claims alone. The optional active check then confirms the user still exists, is active
+ * and has the same username, using the cached user lookups. Revoked tokens are rejected in either
+ * mode. Authority lists are built once per distinct role set and shared between requests.
+ * <p>
+ * A request carrying {@value #API_KEY_HEADER} is authenticated as the service the key was issued
+ * to, with {@code ROLE_SERVICE} only, from the in-memory key map and without touching the database;
+ * an unknown key leaves the request unauthenticated.
+ */
 @Component
 @RequiredArgsConstructor
 public class BearerTokenServerSecurityContextRepository implements ServerSecurityContextRepository {
 
+    public static final String API_KEY_HEADER = "X-API-Key";
+    public static final String SERVICE_ROLE = "ROLE_SERVICE";
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final List<GrantedAuthority> SERVICE_AUTHORITIES = List.of(new SimpleGrantedAuthority(SERVICE_ROLE));
+    private static final int MAX_SHARED_AUTHORITY_SETS = 1_024;
+
     private final JwtServicePort jwtServicePort;
     private final ReactiveUserDetailsService userDetailsService;
+    private final UserRepositoryPort userRepositoryPort;
+    private final TokenRevocationPort tokenRevocationPort;
+    private final ServiceApiKeyRepositoryPort serviceApiKeyRepositoryPort;
+    private final Map<Set<String>, List<GrantedAuthority>> authorities = new ConcurrentHashMap<>();
+
+    @Value("${application.security.jwt.stateless.enabled:false}")
+    private boolean stateless = false;
+
+    @Value("${application.security.jwt.stateless.active-check:true}")
+    private boolean activeCheck = true;
 
     @Override
     public Mono<Void> save(ServerWebExchange exchange, SecurityContext context) {
@@ -26,20 +67,53 @@ public class BearerTokenServerSecurityContextRepository implements ServerSecurit
 
     @Override
     public Mono<SecurityContext> load(ServerWebExchange exchange) {
+        String apiKey = exchange.getRequest().getHeaders().getFirst(API_KEY_HEADER);
+        if (apiKey != null) {
+            return Mono.justOrEmpty(serviceApiKeyRepositoryPort.findServiceName(apiKey))
+                    .map(service -> new SecurityContextImpl(
+                            new UsernamePasswordAuthenticationToken("service:" + service, null, SERVICE_AUTHORITIES)));
+        }
         return Mono.justOrEmpty(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION))
-                .filter(authHeader -> authHeader.startsWith("Bearer "))
-                .flatMap(authHeader -> {
-                    String authToken = authHeader.substring(7);
-                    return jwtServicePort.extractUsername(authToken)
-                            .flatMap(username -> jwtServicePort.validateToken(authToken)
-                                    .filter(isValid -> isValid)
-                                    .flatMap(isValid -> userDetailsService.findByUsername(username))
-                                    .map(userDetails -> {
-                                        UsernamePasswordAuthenticationToken authentication =
-                                                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                                        return (SecurityContext) new SecurityContextImpl(authentication);
-                                    }));
-                })
-                .switchIfEmpty(Mono.empty());
+                .filter(authHeader -> authHeader.startsWith(BEARER_PREFIX))
+                .map(authHeader -> authHeader.substring(BEARER_PREFIX.length()))
+                .flatMap(token -> jwtServicePort.verify(token)
+                        .filter(claims -> !tokenRevocationPort.isRevoked(token, claims)))
+                .flatMap(claims -> stateless ? fromClaims(claims) : userDetailsService.findByUsername(claims.getSubject()))
+                .map(userDetails -> {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    return (SecurityContext) new SecurityContextImpl(authentication);
+                });
+    }
+
+    private Mono<UserDetails> fromClaims(TokenClaims claims) {
+        if (claims.getSubject() == null) {
+            return Mono.empty();
+        }
+        UserDetails userDetails = User.withUsername(claims.getSubject())
+                .password("")
+                .authorities(authoritiesFor(claims.getRoles()))
+                .build();
+        if (!activeCheck) {
+            return Mono.just(userDetails);
+        }
+        if (claims.getUserId() == null) {
+            return Mono.empty();
+        }
+        return userRepositoryPort.findById(claims.getUserId())
+                .filter(user -> Boolean.TRUE.equals(user.getActive()) && claims.getSubject().equals(user.getUsername()))
+                .map(user -> userDetails);
+    }
+
+    private List<GrantedAuthority> authoritiesFor(Set<String> roles) {
+        List<GrantedAuthority> shared = authorities.get(roles);
+        if (shared != null) {
+            return shared;
+        }
+        List<GrantedAuthority> built = roles.stream().<GrantedAuthority>map(SimpleGrantedAuthority::new).toList();
+        if (authorities.size() < MAX_SHARED_AUTHORITY_SETS) {
+            authorities.putIfAbsent(Set.copyOf(roles), built);
+        }
+        return built;
     }
-}
\ No newline at end of file
+}
@@ -1,19 +1,27 @@
 package com.projectArka.user_service.infrastructure.config.security;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
 import org.springframework.security.web.server.context.ServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
 
 @Configuration
 @EnableWebFluxSecurity
@@ -24,9 +32,20 @@ public class SecurityConfig {
     private final ReactiveUserDetailsService userDetailsService;
     private final ServerSecurityContextRepository securityContextRepository;
 
+    @Value("${application.security.password.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    /**
+     * New hashes are {@code {bcrypt}}-prefixed at the configured cost. Hashes stored before the prefix
+     * was introduced still match as bcrypt; they and hashes of a lower cost are upgraded on the next
+     * successful login.
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     @Bean
@@ -47,16 +66,31 @@ public class SecurityConfig {
                 .securityContextRepository(securityContextRepository)
                 .authorizeExchange(exchanges -> exchanges
 
-                        .pathMatchers(HttpMethod.POST, "/api/auth/register", "/api/auth/login").permitAll()
+                        .pathMatchers(HttpMethod.POST, "/api/auth/register", "/api/auth/login", "/api/auth/refresh").permitAll()
+                        .pathMatchers(HttpMethod.GET, "/api/auth/availability").permitAll()
+                        .pathMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
                         .pathMatchers("/swagger-ui/**", "/v3/api-docs/**", "/webjars/**").permitAll()
+                        .pathMatchers("/actuator/health/**").permitAll()
 
+                        .pathMatchers("/api/service-keys/**").hasRole("ADMIN")
+                        .pathMatchers(HttpMethod.POST, "/api/auth/revoke/**").hasRole("ADMIN")
                         .pathMatchers(HttpMethod.POST, "/api/users").hasRole("ADMIN")
+                        .pathMatchers(HttpMethod.POST, "/api/users/deactivate", "/api/users/reactivate").hasRole("ADMIN")
                         .pathMatchers(HttpMethod.PUT, "/api/users/**").hasAnyRole("ADMIN", "USER")
                         .pathMatchers(HttpMethod.DELETE, "/api/users/**").hasAnyRole("ADMIN", "USER")
 
-                        .pathMatchers("/api/users/**").authenticated()
-                        .anyExchange().authenticated()
+                        .pathMatchers(HttpMethod.GET, "/api/users/*", "/api/users/*/exists").authenticated()
+                        .pathMatchers("/api/users/**").access(SecurityConfig::userPrincipal)
+                        .anyExchange().access(SecurityConfig::userPrincipal)
                 )
                 .build();
     }
+
+    /** Authenticated as a user; service API keys only reach the user lookups allowed above. */
+    private static Mono<AuthorizationDecision> userPrincipal(Mono<Authentication> authentication, AuthorizationContext context) {
+        return authentication
+                .map(auth -> new AuthorizationDecision(auth.isAuthenticated() && auth.getAuthorities().stream()
+                        .noneMatch(authority -> BearerTokenServerSecurityContextRepository.SERVICE_ROLE.equals(authority.getAuthority()))))
+                .defaultIfEmpty(new AuthorizationDecision(false));
+    }
 }
\ No newline at end of file
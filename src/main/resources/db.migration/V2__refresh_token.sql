@@ -0,0 +1,17 @@
+-- V2__refresh_token.sql
+-- Refresh tokens: one row per issued token, grouped by family (one family per login)
+
+CREATE TABLE public.refresh_token (
+	id uuid DEFAULT gen_random_uuid() NOT NULL,
+	family_id uuid NOT NULL,
+	user_id uuid NOT NULL,
+	expires_at timestamp NOT NULL,
+	rotated_at timestamp NULL,
+	revoked_at timestamp NULL,
+	CONSTRAINT refresh_token_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX refresh_token_family_idx ON public.refresh_token (family_id);
+CREATE INDEX refresh_token_expires_at_idx ON public.refresh_token (expires_at);
+
+ALTER TABLE public.refresh_token ADD CONSTRAINT fk_refresh_token_user FOREIGN KEY (user_id) REFERENCES public.users(id) ON DELETE CASCADE;
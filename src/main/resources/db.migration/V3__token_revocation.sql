@@ -0,0 +1,18 @@
+-- V3__token_revocation.sql
+-- Revoked access tokens (by SHA-256 digest, kept until they expire) and per-user revoke-all cutoffs
+
+CREATE TABLE public.revoked_token (
+	token_digest bytea NOT NULL,
+	expires_at timestamp NOT NULL,
+	CONSTRAINT revoked_token_pkey PRIMARY KEY (token_digest)
+);
+
+CREATE INDEX revoked_token_expires_at_idx ON public.revoked_token (expires_at);
+
+CREATE TABLE public.user_token_revocation (
+	user_id uuid NOT NULL,
+	not_before timestamp NOT NULL,
+	CONSTRAINT user_token_revocation_pkey PRIMARY KEY (user_id)
+);
+
+ALTER TABLE public.user_token_revocation ADD CONSTRAINT fk_user_token_revocation_user FOREIGN KEY (user_id) REFERENCES public.users(id) ON DELETE CASCADE;
@@ -0,0 +1,5 @@
+-- V4__login_activity.sql
+-- Last successful login and failed attempts since then, written in batches by the login activity buffer
+
+ALTER TABLE public.users ADD COLUMN last_login_at timestamp NULL;
+ALTER TABLE public.users ADD COLUMN failed_login_attempts int4 DEFAULT 0 NOT NULL;
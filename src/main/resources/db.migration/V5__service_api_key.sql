@@ -0,0 +1,12 @@
+-- V5__service_api_key.sql
+-- API keys of internal services, stored as keyed hashes (HMAC-SHA256 with a server-side pepper)
+
+CREATE TABLE public.service_api_key (
+	id uuid DEFAULT gen_random_uuid() NOT NULL,
+	"name" varchar(100) NOT NULL,
+	key_digest bytea NOT NULL,
+	created_at timestamp DEFAULT CURRENT_TIMESTAMP NOT NULL,
+	CONSTRAINT service_api_key_pkey PRIMARY KEY (id),
+	CONSTRAINT service_api_key_name_key UNIQUE (name),
+	CONSTRAINT service_api_key_digest_key UNIQUE (key_digest)
+);
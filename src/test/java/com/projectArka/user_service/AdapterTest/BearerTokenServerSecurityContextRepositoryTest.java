@@ -0,0 +1,162 @@
+package com.projectArka.user_service.AdapterTest;
+
+import com.projectArka.user_service.application.port.out.JwtServicePort;
+import com.projectArka.user_service.application.port.out.TokenClaims;
+import com.projectArka.user_service.application.port.out.TokenRevocationPort;
+import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.domain.port.out.ServiceApiKeyRepositoryPort;
+import com.projectArka.user_service.domain.port.out.UserRepositoryPort;
+import com.projectArka.user_service.infrastructure.config.security.BearerTokenServerSecurityContextRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BearerTokenServerSecurityContextRepositoryTest {
+
+    @Mock
+    private JwtServicePort jwtServicePort;
+
+    @Mock
+    private ReactiveUserDetailsService userDetailsService;
+
+    @Mock
+    private UserRepositoryPort userRepositoryPort;
+
+    @Mock
+    private TokenRevocationPort tokenRevocationPort;
+
+    @Mock
+    private ServiceApiKeyRepositoryPort serviceApiKeyRepositoryPort;
+
+    @InjectMocks
+    private BearerTokenServerSecurityContextRepository repository;
+
+    private final TokenClaims claims = TokenClaims.builder()
+            .subject("alice")
+            .userId("user-1")
+            .roles(Set.of("ROLE_ADMIN"))
+            .issuedAt(Instant.now())
+            .expiresAt(Instant.now().plusSeconds(600))
+            .build();
+
+    private MockServerWebExchange exchangeWithToken() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/users")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token"));
+    }
+
+    @Test
+    void load_shouldBuildContextFromClaims_whenStatelessWithoutActiveCheck() {
+        ReflectionTestUtils.setField(repository, "stateless", true);
+        ReflectionTestUtils.setField(repository, "activeCheck", false);
+        when(jwtServicePort.verify("token")).thenReturn(Mono.just(claims));
+
+        StepVerifier.create(repository.load(exchangeWithToken()))
+                .assertNext(context -> {
+                    assertThat(context.getAuthentication().getName()).isEqualTo("alice");
+                    assertThat(context.getAuthentication().getAuthorities())
+                            .extracting(GrantedAuthority::getAuthority)
+                            .containsExactly("ROLE_ADMIN");
+                })
+                .verifyComplete();
+
+        verifyNoInteractions(userDetailsService, userRepositoryPort);
+    }
+
+    @Test
+    void load_shouldRejectInactiveUser_whenStatelessWithActiveCheck() {
+        ReflectionTestUtils.setField(repository, "stateless", true);
+        when(jwtServicePort.verify("token")).thenReturn(Mono.just(claims));
+        when(userRepositoryPort.findById("user-1"))
+                .thenReturn(Mono.just(User.builder().id("user-1").username("alice").active(false).build()));
+
+        StepVerifier.create(repository.load(exchangeWithToken())).verifyComplete();
+
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void load_shouldReloadUserDetails_whenNotStateless() {
+        when(jwtServicePort.verify("token")).thenReturn(Mono.just(claims));
+        when(userDetailsService.findByUsername("alice")).thenReturn(Mono.just(
+                org.springframework.security.core.userdetails.User.withUsername("alice")
+                        .password("hash")
+                        .authorities("ROLE_USER")
+                        .build()));
+
+        StepVerifier.create(repository.load(exchangeWithToken()))
+                .assertNext(context -> assertThat(context.getAuthentication().getAuthorities())
+                        .extracting(GrantedAuthority::getAuthority)
+                        .containsExactly("ROLE_USER"))
+                .verifyComplete();
+
+        verifyNoInteractions(userRepositoryPort);
+    }
+
+    @Test
+    void load_shouldBeEmpty_whenTokenDoesNotVerify() {
+        when(jwtServicePort.verify(anyString())).thenReturn(Mono.empty());
+
+        StepVerifier.create(repository.load(exchangeWithToken())).verifyComplete();
+
+        verifyNoInteractions(userDetailsService, userRepositoryPort);
+    }
+
+    @Test
+    void load_shouldBeEmpty_whenTokenIsRevoked() {
+        when(jwtServicePort.verify("token")).thenReturn(Mono.just(claims));
+        when(tokenRevocationPort.isRevoked("token", claims)).thenReturn(true);
+
+        StepVerifier.create(repository.load(exchangeWithToken())).verifyComplete();
+
+        verifyNoInteractions(userDetailsService, userRepositoryPort);
+    }
+
+    @Test
+    void load_shouldAuthenticateServiceFromApiKey_withoutTokensOrUserLookups() {
+        when(serviceApiKeyRepositoryPort.findServiceName("sk_valid")).thenReturn(Optional.of("order-service"));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/users/user-1")
+                .header(BearerTokenServerSecurityContextRepository.API_KEY_HEADER, "sk_valid"));
+
+        StepVerifier.create(repository.load(exchange))
+                .assertNext(context -> {
+                    assertThat(context.getAuthentication().getName()).isEqualTo("service:order-service");
+                    assertThat(context.getAuthentication().getAuthorities())
+                            .extracting(GrantedAuthority::getAuthority)
+                            .containsExactly("ROLE_SERVICE");
+                })
+                .verifyComplete();
+
+        verifyNoInteractions(jwtServicePort, userDetailsService, userRepositoryPort);
+    }
+
+    @Test
+    void load_shouldLeaveRequestUnauthenticated_whenApiKeyIsUnknown() {
+        when(serviceApiKeyRepositoryPort.findServiceName("sk_unknown")).thenReturn(Optional.empty());
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/users/user-1")
+                .header(BearerTokenServerSecurityContextRepository.API_KEY_HEADER, "sk_unknown")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token"));
+
+        StepVerifier.create(repository.load(exchange)).verifyComplete();
+
+        verifyNoInteractions(jwtServicePort);
+    }
+}
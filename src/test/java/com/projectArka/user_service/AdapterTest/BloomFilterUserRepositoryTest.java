@@ -0,0 +1,79 @@
+package com.projectArka.user_service.AdapterTest;
+
+import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.domain.port.out.UserRepositoryPort;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.BloomFilterUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BloomFilterUserRepositoryTest {
+
+    @Mock
+    private UserRepositoryPort delegate;
+
+    private BloomFilterUserRepository bloomFilterUserRepository;
+
+    @BeforeEach
+    void setUp() {
+        Flux<User> existing = Flux.just(User.builder().id(UUID.randomUUID().toString()).username("Alice").email("alice@example.com").build());
+        bloomFilterUserRepository = new BloomFilterUserRepository(delegate, () -> existing, 1000, 0.01, Duration.ofHours(1), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void existsChecks_shouldFallThroughToDatabase_untilFilterIsBuilt() {
+        when(delegate.existsByUsername("bob")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(bloomFilterUserRepository.existsByUsername("bob")).expectNext(false).verifyComplete();
+
+        verify(delegate).existsByUsername("bob");
+    }
+
+    @Test
+    void definiteMiss_shouldBeAnsweredWithoutDatabase() {
+        bloomFilterUserRepository.rebuild().block();
+
+        StepVerifier.create(bloomFilterUserRepository.existsByUsername("bob")).expectNext(false).verifyComplete();
+        StepVerifier.create(bloomFilterUserRepository.existsByEmail("bob@example.com")).expectNext(false).verifyComplete();
+
+        verify(delegate, never()).existsByUsername(anyString());
+        verify(delegate, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    void possibleHit_shouldBeConfirmedAgainstDatabase_usingNormalizedKeys() {
+        bloomFilterUserRepository.rebuild().block();
+        when(delegate.existsByUsername(" alice ")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(bloomFilterUserRepository.existsByUsername(" alice ")).expectNext(false).verifyComplete();
+
+        verify(delegate).existsByUsername(" alice ");
+    }
+
+    @Test
+    void save_shouldAddIdentifiersToFilter() {
+        bloomFilterUserRepository.rebuild().block();
+        User bob = User.builder().id(UUID.randomUUID().toString()).username("bob").email("bob@example.com").build();
+        when(delegate.save(any(User.class))).thenReturn(Mono.just(bob));
+        when(delegate.existsByEmail("bob@example.com")).thenReturn(Mono.just(true));
+
+        bloomFilterUserRepository.save(bob).block();
+
+        StepVerifier.create(bloomFilterUserRepository.existsByEmail("bob@example.com")).expectNext(true).verifyComplete();
+        verify(delegate).existsByEmail("bob@example.com");
+    }
+}
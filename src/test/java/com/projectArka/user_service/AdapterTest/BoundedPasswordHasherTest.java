@@ -0,0 +1,115 @@
+package com.projectArka.user_service.AdapterTest;
+
+import com.projectArka.user_service.domain.exception.HashingCapacityExceededException;
+import com.projectArka.user_service.infrastructure.adapter.out.security.BoundedPasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BoundedPasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordHasher hasher;
+
+    private final PasswordEncoder blockingEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return ("hashed:" + rawPassword).equals(encodedPassword);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (hasher != null) {
+            hasher.destroy();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_shouldRunOnTheHashingPool() {
+        release.countDown();
+        hasher = new BoundedPasswordHasher(blockingEncoder, meterRegistry, 2, 4, Duration.ofSeconds(1));
+
+        StepVerifier.create(hasher.encode("secret")).expectNext("hashed:secret").verifyComplete();
+        StepVerifier.create(hasher.matches("secret", "hashed:secret")).expectNext(true).verifyComplete();
+        StepVerifier.create(hasher.matches("other", "hashed:secret")).expectNext(false).verifyComplete();
+
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void encode_shouldDeliverResultsOffTheHashingPool() {
+        release.countDown();
+        hasher = new BoundedPasswordHasher(blockingEncoder, meterRegistry, 1, 4, Duration.ofSeconds(1));
+
+        StepVerifier.create(hasher.encode("secret").map(hash -> Thread.currentThread().getName()))
+                .assertNext(thread -> assertThat(thread).doesNotStartWith("password-hasher-"))
+                .verifyComplete();
+    }
+
+    @Test
+    void encode_shouldFailFast_whenPoolAndQueueAreFull() throws InterruptedException {
+        hasher = new BoundedPasswordHasher(blockingEncoder, meterRegistry, 1, 1, Duration.ofSeconds(2));
+
+        Disposable running = hasher.encode("first").subscribe();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Disposable queued = hasher.encode("second").subscribe();
+
+        StepVerifier.create(hasher.encode("third"))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(HashingCapacityExceededException.class)
+                        .extracting(e -> ((HashingCapacityExceededException) e).getRetryAfter())
+                        .isEqualTo(Duration.ofSeconds(2)))
+                .verify(Duration.ofSeconds(1));
+
+        assertThat(meterRegistry.get("password.hashing.rejected").tag("operation", "encode").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("password.hashing.queue").gauge().value()).isEqualTo(1.0);
+        queued.dispose();
+        assertThat(meterRegistry.get("password.hashing.queue").gauge().value()).isZero();
+        running.dispose();
+    }
+
+    @Test
+    void needsRehash_shouldFlagUnprefixedAndWeakerHashes() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(5);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        hasher = new BoundedPasswordHasher(encoder, meterRegistry, 1, 4, Duration.ofSeconds(1));
+
+        String legacy = new BCryptPasswordEncoder(5).encode("secret");
+        String weaker = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret");
+        String current = encoder.encode("secret");
+
+        StepVerifier.create(hasher.matches("secret", legacy)).expectNext(true).verifyComplete();
+        assertThat(hasher.needsRehash(legacy)).isTrue();
+        assertThat(hasher.needsRehash(weaker)).isTrue();
+        assertThat(hasher.needsRehash(current)).isFalse();
+    }
+}
@@ -0,0 +1,162 @@
+package com.projectArka.user_service.AdapterTest;
+
+import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.domain.model.UserFilter;
+import com.projectArka.user_service.domain.port.out.UserRepositoryPort;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.CachingUserRepository;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.InvalidationEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingUserRepositoryTest {
+
+    @Mock
+    private UserRepositoryPort delegate;
+
+    private CachingUserRepository cachingUserRepository;
+
+    private final String USER_ID = UUID.randomUUID().toString();
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        cachingUserRepository = new CachingUserRepository(delegate, 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        testUser = User.builder()
+                .id(USER_ID)
+                .username("testuser")
+                .name("Test User")
+                .email("test@example.com")
+                .password("encoded_password")
+                .active(true)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .roles(new HashSet<>(Set.of("ROLE_USER")))
+                .build();
+    }
+
+    @Test
+    void findById_shouldHitDelegateOnlyOnce() {
+        when(delegate.findById(USER_ID)).thenReturn(Mono.just(testUser));
+
+        StepVerifier.create(cachingUserRepository.findById(USER_ID)).expectNext(testUser).verifyComplete();
+        StepVerifier.create(cachingUserRepository.findById(USER_ID)).expectNext(testUser).verifyComplete();
+
+        verify(delegate, times(1)).findById(USER_ID);
+    }
+
+    @Test
+    void findByUsernameAndEmail_shouldBeServedFromEntryLoadedById() {
+        when(delegate.findById(USER_ID)).thenReturn(Mono.just(testUser));
+
+        StepVerifier.create(cachingUserRepository.findById(USER_ID)).expectNext(testUser).verifyComplete();
+        StepVerifier.create(cachingUserRepository.findByUsername("testuser")).expectNext(testUser).verifyComplete();
+        StepVerifier.create(cachingUserRepository.findByEmail("test@example.com")).expectNext(testUser).verifyComplete();
+
+        verify(delegate, never()).findByUsername(any());
+        verify(delegate, never()).findByEmail(any());
+    }
+
+    @Test
+    void cachedUser_shouldNotBeAffectedByCallerMutations() {
+        when(delegate.findById(USER_ID)).thenReturn(Mono.just(testUser));
+
+        cachingUserRepository.findById(USER_ID).block().setName("Mutated");
+
+        StepVerifier.create(cachingUserRepository.findById(USER_ID))
+                .expectNextMatches(user -> user.getName().equals("Test User"))
+                .verifyComplete();
+    }
+
+    @Test
+    void save_shouldInvalidateCachedEntry() {
+        User renamed = testUser.toBuilder().username("renamed").build();
+        when(delegate.findById(USER_ID)).thenReturn(Mono.just(testUser)).thenReturn(Mono.just(renamed));
+        when(delegate.save(any(User.class))).thenReturn(Mono.just(renamed));
+        when(delegate.findByUsername("testuser")).thenReturn(Mono.empty());
+
+        cachingUserRepository.findById(USER_ID).block();
+        cachingUserRepository.save(renamed).block();
+
+        StepVerifier.create(cachingUserRepository.findById(USER_ID)).expectNext(renamed).verifyComplete();
+        StepVerifier.create(cachingUserRepository.findByUsername("testuser")).verifyComplete();
+        verify(delegate, times(2)).findById(USER_ID);
+    }
+
+    @Test
+    void deleteById_shouldInvalidateCachedEntry() {
+        when(delegate.findById(USER_ID)).thenReturn(Mono.just(testUser)).thenReturn(Mono.empty());
+        when(delegate.deleteById(USER_ID)).thenReturn(Mono.empty());
+
+        cachingUserRepository.findById(USER_ID).block();
+        cachingUserRepository.deleteById(USER_ID).block();
+
+        StepVerifier.create(cachingUserRepository.findById(USER_ID)).verifyComplete();
+    }
+
+    @Test
+    void updateActiveByFilter_shouldInvalidateTouchedUsers() {
+        UserFilter filter = UserFilter.builder().ids(List.of(USER_ID)).build();
+        when(delegate.findById(USER_ID)).thenReturn(Mono.just(testUser)).thenReturn(Mono.just(testUser.toBuilder().active(false).build()));
+        when(delegate.updateActiveByFilter(filter, false)).thenReturn(Flux.just(USER_ID));
+
+        cachingUserRepository.findById(USER_ID).block();
+        StepVerifier.create(cachingUserRepository.updateActiveByFilter(filter, false)).expectNext(USER_ID).verifyComplete();
+
+        StepVerifier.create(cachingUserRepository.findById(USER_ID))
+                .expectNextMatches(user -> !user.getActive())
+                .verifyComplete();
+    }
+
+    @Test
+    void remoteInvalidation_shouldEvictUserAndFlushShouldEvictEverything() {
+        when(delegate.findById(USER_ID)).thenReturn(Mono.just(testUser));
+
+        cachingUserRepository.findById(USER_ID).block();
+        cachingUserRepository.onInvalidation(new InvalidationEvent(InvalidationEvent.Entity.USER, InvalidationEvent.Operation.SAVE, USER_ID));
+        cachingUserRepository.findById(USER_ID).block();
+        cachingUserRepository.onInvalidation(InvalidationEvent.flush());
+        cachingUserRepository.findById(USER_ID).block();
+        cachingUserRepository.findById(USER_ID).block();
+
+        verify(delegate, times(3)).findById(USER_ID);
+    }
+
+    @Test
+    void loadRacingWithWrite_shouldNotRepopulateStaleEntry() {
+        Sinks.One<User> slowRead = Sinks.one();
+        User updated = testUser.toBuilder().name("Updated").build();
+        when(delegate.findById(USER_ID)).thenReturn(slowRead.asMono()).thenReturn(Mono.just(updated));
+        when(delegate.save(any(User.class))).thenReturn(Mono.just(updated));
+
+        StepVerifier.create(cachingUserRepository.findById(USER_ID))
+                .then(() -> {
+                    cachingUserRepository.save(updated).block();
+                    slowRead.tryEmitValue(testUser);
+                })
+                .expectNext(testUser)
+                .verifyComplete();
+
+        StepVerifier.create(cachingUserRepository.findById(USER_ID))
+                .expectNextMatches(user -> user.getName().equals("Updated"))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,120 @@
+package com.projectArka.user_service.AdapterTest;
+
+import com.projectArka.user_service.application.port.out.TokenClaims;
+import com.projectArka.user_service.infrastructure.adapter.out.security.CompactClaims;
+import com.projectArka.user_service.infrastructure.adapter.out.security.Hs256TokenCodec;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class Hs256TokenCodecTest {
+
+    private static final byte[] KEY_BYTES = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final long IAT = 1_700_000_000L;
+    private static final long EXP = 4_100_000_000L;
+
+    private final Key key = Keys.hmacShaKeyFor(KEY_BYTES);
+    private final Hs256TokenCodec codec = new Hs256TokenCodec(KEY_BYTES);
+
+    private String jjwtToken(String subject, String userId, Set<String> roles, long exp) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .claim("userId", userId)
+                .claim("roles", roles)
+                .setIssuedAt(new Date(IAT * 1000))
+                .setExpiration(new Date(exp * 1000))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Test
+    void encode_shouldMatchJjwtByteForByte() {
+        Set<String> roles = new LinkedHashSet<>(List.of("ROLE_USER", "ROLE_ADMIN"));
+        for (String subject : List.of("alice", "quote\"back\\slash", "tab\tand\u0001control", "ñandú-日本-😀")) {
+            assertThat(codec.encode(subject, "4f1c2d3e-0000-4000-8000-000000000001", roles, IAT, EXP))
+                    .isEqualTo(jjwtToken(subject, "4f1c2d3e-0000-4000-8000-000000000001", roles, EXP));
+        }
+        assertThat(codec.encode("bob", null, null, IAT, EXP)).isEqualTo(jjwtToken("bob", null, null, EXP));
+        assertThat(codec.encode("carol", "id", Set.of(), IAT, EXP)).isEqualTo(jjwtToken("carol", "id", Set.of(), EXP));
+    }
+
+    @Test
+    void encodeCompact_shouldMatchJjwtAndDecodeThroughRoleMasks() {
+        String compactUserId = CompactClaims.compactUserId("4f1c2d3e-0000-4000-8000-000000000001");
+        String token = codec.encodeCompact("alice", compactUserId, 3L, 0xABCDEF, IAT, EXP);
+
+        assertThat(token).isEqualTo(Jwts.builder()
+                .setSubject("alice")
+                .claim(CompactClaims.USER_ID, compactUserId)
+                .claim(CompactClaims.ROLE_MASK, 3L)
+                .claim(CompactClaims.ROLE_VERSION, 0xABCDEF)
+                .setIssuedAt(new Date(IAT * 1000))
+                .setExpiration(new Date(EXP * 1000))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact());
+
+        Set<String> roles = Set.of("ROLE_USER", "ROLE_ADMIN");
+        TokenClaims claims = codec.decode(token, System.currentTimeMillis(),
+                (version, mask) -> version == 0xABCDEF && mask == 3L ? roles : null);
+        assertThat(claims.getUserId()).isEqualTo("4f1c2d3e-0000-4000-8000-000000000001");
+        assertThat(claims.getRoles()).isSameAs(roles);
+        assertThat(codec.decode(token, System.currentTimeMillis())).isNull();
+    }
+
+    @Test
+    void decode_shouldAcceptJjwtTokensAndJjwtShouldAcceptEncodedTokens() {
+        Set<String> roles = new LinkedHashSet<>(List.of("ROLE_USER"));
+        TokenClaims claims = codec.decode(jjwtToken("ñandú \"x\"", "id-1", roles, EXP), System.currentTimeMillis());
+
+        assertThat(claims.getSubject()).isEqualTo("ñandú \"x\"");
+        assertThat(claims.getUserId()).isEqualTo("id-1");
+        assertThat(claims.getRoles()).containsExactly("ROLE_USER");
+        assertThat(claims.getIssuedAt()).isEqualTo(Instant.ofEpochSecond(IAT));
+        assertThat(claims.getExpiresAt()).isEqualTo(Instant.ofEpochSecond(EXP));
+
+        Claims parsed = Jwts.parserBuilder().setSigningKey(key).build()
+                .parseClaimsJws(codec.encode("dave", "id-2", roles, IAT, EXP))
+                .getBody();
+        assertThat(parsed.getSubject()).isEqualTo("dave");
+        assertThat(parsed.get("userId", String.class)).isEqualTo("id-2");
+    }
+
+    @Test
+    void decode_shouldRejectForgedAndExpiredTokens() {
+        String token = codec.encode("erin", "id-3", Set.of("ROLE_USER"), IAT, EXP);
+        String forged = codec.encode("erin", "id-3", Set.of("ROLE_ADMIN"), IAT, EXP);
+        String spliced = forged.substring(0, forged.lastIndexOf('.')) + token.substring(token.lastIndexOf('.'));
+
+        assertThatThrownBy(() -> codec.decode(spliced, System.currentTimeMillis()))
+                .isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> codec.decode(codec.encode("erin", "id-3", Set.of(), IAT, IAT + 1), System.currentTimeMillis()))
+                .isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void decode_shouldReturnNull_forTokensOutsideTheFixedShape() {
+        String withExtraClaim = Jwts.builder()
+                .setSubject("frank")
+                .claim("tenant", "acme")
+                .setExpiration(new Date(EXP * 1000))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThat(codec.decode(withExtraClaim, System.currentTimeMillis())).isNull();
+    }
+}
@@ -0,0 +1,67 @@
+package com.projectArka.user_service.AdapterTest;
+
+import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.domain.port.out.UserRepositoryPort;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.IdSetUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IdSetUserRepositoryTest {
+
+    @Mock
+    private UserRepositoryPort delegate;
+
+    private final UUID EXISTING_ID = UUID.randomUUID();
+    private final Sinks.Many<UUID> ids = Sinks.many().unicast().onBackpressureBuffer();
+
+    private IdSetUserRepository idSetUserRepository;
+
+    @BeforeEach
+    void setUp() {
+        idSetUserRepository = new IdSetUserRepository(delegate, ids::asFlux, Duration.ofMinutes(15), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void existsById_shouldBeAnsweredFromMemoryOnceLoaded() {
+        ids.tryEmitNext(EXISTING_ID);
+        ids.tryEmitComplete();
+        idSetUserRepository.reload().block();
+
+        StepVerifier.create(idSetUserRepository.existsById(EXISTING_ID.toString())).expectNext(true).verifyComplete();
+        StepVerifier.create(idSetUserRepository.existsById(UUID.randomUUID().toString())).expectNext(false).verifyComplete();
+        verify(delegate, never()).existsById(anyString());
+    }
+
+    @Test
+    void writesDuringReload_shouldBeReplayedOntoNewSet() {
+        UUID createdId = UUID.randomUUID();
+        when(delegate.save(any(User.class))).thenReturn(Mono.just(User.builder().id(createdId.toString()).build()));
+        when(delegate.deleteById(EXISTING_ID.toString())).thenReturn(Mono.empty());
+
+        Mono<Void> reload = idSetUserRepository.reload().cache();
+        reload.subscribe();
+        ids.tryEmitNext(EXISTING_ID);
+        idSetUserRepository.save(User.builder().build()).block();
+        idSetUserRepository.deleteById(EXISTING_ID.toString()).block();
+        ids.tryEmitComplete();
+        reload.block();
+
+        StepVerifier.create(idSetUserRepository.existsById(createdId.toString())).expectNext(true).verifyComplete();
+        StepVerifier.create(idSetUserRepository.existsById(EXISTING_ID.toString())).expectNext(false).verifyComplete();
+    }
+}
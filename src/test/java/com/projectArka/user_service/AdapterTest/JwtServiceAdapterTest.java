@@ -0,0 +1,286 @@
+package com.projectArka.user_service.AdapterTest;
+
+import com.projectArka.user_service.application.port.out.RefreshTokenClaims;
+import com.projectArka.user_service.application.port.out.TokenClaims;
+import com.projectArka.user_service.domain.model.RefreshToken;
+import com.projectArka.user_service.domain.model.Role;
+import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.RoleCatalog;
+import com.projectArka.user_service.infrastructure.adapter.out.r2dbc.adapter.RoleRepositoryAdapter;
+import com.projectArka.user_service.infrastructure.adapter.out.security.JwtServiceAdapter;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class JwtServiceAdapterTest {
+
+    private static final String SECRET = "c2VjcmV0LWtleS1mb3ItdGVzdHMtdGhhdC1pcy1sb25nLWVub3VnaC0xMjM0NTY=";
+
+    private JwtServiceAdapter jwtServiceAdapter;
+
+    private final User user = User.builder()
+            .id("user-1")
+            .username("alice")
+            .roles(Set.of("ROLE_USER"))
+            .build();
+
+    private final RoleRepositoryAdapter roleRepository = mock(RoleRepositoryAdapter.class);
+
+    @TempDir
+    Path keyDirectory;
+
+    @BeforeEach
+    void setUp() {
+        when(roleRepository.currentCatalog()).thenReturn(RoleCatalog.of(List.of(
+                new Role("r-1", "ROLE_USER"), new Role("r-2", "ROLE_ADMIN"))));
+        jwtServiceAdapter = newAdapter();
+    }
+
+    private JwtServiceAdapter newAdapter() {
+        return newAdapter(true);
+    }
+
+    private JwtServiceAdapter newAdapter(boolean fastCodec) {
+        JwtServiceAdapter adapter = new JwtServiceAdapter(new SimpleMeterRegistry(), roleRepository, true, 100, fastCodec);
+        ReflectionTestUtils.setField(adapter, "secretKey", SECRET);
+        ReflectionTestUtils.setField(adapter, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(adapter, "refreshExpiration", 120_000L);
+        return adapter;
+    }
+
+    private JwtServiceAdapter compactAdapter(boolean fastCodec) {
+        JwtServiceAdapter adapter = newAdapter(fastCodec);
+        ReflectionTestUtils.setField(adapter, "compact", true);
+        return adapter;
+    }
+
+    private JwtServiceAdapter es256Adapter(String activeKid, boolean acceptHs256) {
+        JwtServiceAdapter adapter = newAdapter();
+        ReflectionTestUtils.setField(adapter, "algorithm", "ES256");
+        ReflectionTestUtils.setField(adapter, "keyLocation", keyDirectory.toString());
+        ReflectionTestUtils.setField(adapter, "activeKid", activeKid);
+        ReflectionTestUtils.setField(adapter, "acceptHs256", acceptHs256);
+        return adapter;
+    }
+
+    private KeyPair writeKeyPair(String kid) throws GeneralSecurityException, IOException {
+        return writeKeyPair(kid, "secp256r1");
+    }
+
+    private KeyPair writeKeyPair(String kid, String curve) throws GeneralSecurityException, IOException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec(curve));
+        KeyPair pair = generator.generateKeyPair();
+        Files.writeString(keyDirectory.resolve(kid + ".key"), pem("PRIVATE KEY", pair.getPrivate().getEncoded()));
+        Files.writeString(keyDirectory.resolve(kid + ".pub"), pem("PUBLIC KEY", pair.getPublic().getEncoded()));
+        return pair;
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+
+    private static String header(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void verify_shouldReturnClaimsAndServeRepeatsFromCache() {
+        String token = jwtServiceAdapter.generateToken(user).block();
+
+        TokenClaims first = jwtServiceAdapter.verify(token).block();
+        TokenClaims second = jwtServiceAdapter.verify(token).block();
+
+        assertThat(first).isNotNull();
+        assertThat(first.getSubject()).isEqualTo("alice");
+        assertThat(first.getUserId()).isEqualTo("user-1");
+        assertThat(first.getRoles()).containsExactly("ROLE_USER");
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void verify_shouldBeEmpty_whenSignatureDoesNotMatch() {
+        String token = jwtServiceAdapter.generateToken(user).block();
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        StepVerifier.create(jwtServiceAdapter.verify(tampered)).verifyComplete();
+        StepVerifier.create(jwtServiceAdapter.validateToken(tampered)).expectNext(false).verifyComplete();
+    }
+
+    @Test
+    void verify_shouldBeEmpty_whenTokenExpired() {
+        String token = jwtServiceAdapter.generateToken(new HashMap<>(), user, -1_000L).block();
+
+        StepVerifier.create(jwtServiceAdapter.verify(token)).verifyComplete();
+    }
+
+    @Test
+    void es256_shouldSignWithActiveKidAndKeepVerifyingRotatedOutKeys() throws Exception {
+        writeKeyPair("2024-01");
+        String oldToken = es256Adapter("2024-01", true).generateToken(user).block();
+
+        writeKeyPair("2024-07");
+        Files.delete(keyDirectory.resolve("2024-01.key"));
+        JwtServiceAdapter rotated = es256Adapter("2024-07", true);
+        String newToken = rotated.generateToken(user).block();
+
+        assertThat(header(oldToken)).contains("\"kid\":\"2024-01\"").contains("ES256");
+        assertThat(header(newToken)).contains("\"kid\":\"2024-07\"");
+        StepVerifier.create(rotated.verify(oldToken).map(TokenClaims::getSubject)).expectNext("alice").verifyComplete();
+        StepVerifier.create(rotated.verify(newToken).map(TokenClaims::getSubject)).expectNext("alice").verifyComplete();
+
+        Map<String, Object> jwks = rotated.publicKeySet().block();
+        assertThat((List<?>) jwks.get("keys"))
+                .extracting(key -> (Object) ((Map<?, ?>) key).get("kid"))
+                .containsExactly("2024-01", "2024-07");
+    }
+
+    @Test
+    void es256_shouldAcceptLegacyHs256TokensOnlyWhileAllowed() throws Exception {
+        writeKeyPair("k1");
+        String legacyToken = jwtServiceAdapter.generateToken(user).block();
+
+        StepVerifier.create(es256Adapter("k1", true).verify(legacyToken)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(es256Adapter("k1", false).verify(legacyToken)).verifyComplete();
+    }
+
+    @Test
+    void es256_shouldFailAtStartup_whenActiveKeyIsMissing() throws Exception {
+        writeKeyPair("k1");
+
+        assertThatThrownBy(() -> es256Adapter("k2", true).afterPropertiesSet())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("k2.pub");
+    }
+
+    @Test
+    void es256_shouldRejectKeysThatAreNotP256() throws Exception {
+        writeKeyPair("k1");
+        writeKeyPair("p384", "secp384r1");
+
+        assertThatThrownBy(() -> es256Adapter("k1", true).afterPropertiesSet())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("is not a P-256 key");
+    }
+
+    @Test
+    void publicKeySet_shouldBeEmpty_whenSigningWithSharedSecret() {
+        assertThat(jwtServiceAdapter.publicKeySet().block()).isEqualTo(Map.of("keys", List.of()));
+    }
+
+    @Test
+    void refreshTokens_shouldOnlyVerifyAsRefreshTokens() {
+        RefreshToken stored = RefreshToken.builder()
+                .id("6b0f6d9c-0000-4000-8000-000000000001")
+                .familyId("6b0f6d9c-0000-4000-8000-000000000002")
+                .userId("user-1")
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build();
+        String refreshToken = jwtServiceAdapter.generateRefreshToken(user, stored).block();
+        String accessToken = jwtServiceAdapter.generateToken(user).block();
+
+        RefreshTokenClaims claims = jwtServiceAdapter.verifyRefreshToken(refreshToken).block();
+        assertThat(claims.getTokenId()).isEqualTo(stored.getId());
+        assertThat(claims.getFamilyId()).isEqualTo(stored.getFamilyId());
+        assertThat(claims.getUserId()).isEqualTo("user-1");
+
+        StepVerifier.create(jwtServiceAdapter.verify(refreshToken)).verifyComplete();
+        StepVerifier.create(jwtServiceAdapter.verifyRefreshToken(accessToken)).verifyComplete();
+    }
+
+    @Test
+    void es256_refreshTokens_shouldNotVerifyAsAccessTokens() throws Exception {
+        KeyPair pair = writeKeyPair("k1");
+        JwtServiceAdapter adapter = es256Adapter("k1", true);
+        RefreshToken stored = RefreshToken.builder()
+                .id("6b0f6d9c-0000-4000-8000-000000000001")
+                .familyId("6b0f6d9c-0000-4000-8000-000000000002")
+                .userId("user-1")
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build();
+        String refreshToken = adapter.generateRefreshToken(user, stored).block();
+        String accessToken = adapter.generateToken(user).block();
+
+        assertThat(header(accessToken)).contains("\"typ\":\"at+jwt\"");
+        assertThat(header(refreshToken)).doesNotContain("kid").doesNotContain("at+jwt");
+        StepVerifier.create(adapter.verify(refreshToken)).verifyComplete();
+        StepVerifier.create(jwtServiceAdapter.verify(refreshToken)).verifyComplete();
+        StepVerifier.create(adapter.verifyRefreshToken(refreshToken).map(RefreshTokenClaims::getTokenId))
+                .expectNext(stored.getId())
+                .verifyComplete();
+
+        JwtParser gateway = Jwts.parserBuilder().setSigningKey(pair.getPublic()).build();
+        assertThat(gateway.parseClaimsJws(accessToken).getHeader().getType()).isEqualTo("at+jwt");
+        assertThatThrownBy(() -> gateway.parseClaimsJws(refreshToken)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void compactTokens_shouldBeSmallerAndResolveToSharedRoleSets() {
+        User admin = user.toBuilder().id("4f1c2d3e-0000-4000-8000-000000000001").roles(Set.of("ROLE_USER", "ROLE_ADMIN")).build();
+        JwtServiceAdapter adapter = compactAdapter(true);
+
+        String regular = jwtServiceAdapter.generateToken(admin).block();
+        String compact = adapter.generateToken(admin).block();
+        String another = adapter.generateToken(admin.toBuilder().username("bob").build()).block();
+
+        assertThat(compact.length()).isLessThan(regular.length());
+        TokenClaims claims = adapter.verify(compact).block();
+        assertThat(claims.getSubject()).isEqualTo("alice");
+        assertThat(claims.getUserId()).isEqualTo(admin.getId());
+        assertThat(claims.getRoles()).containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        assertThat(adapter.verify(another).block().getRoles()).isSameAs(claims.getRoles());
+        assertThat(newAdapter(false).verify(compact).block().getRoles()).isEqualTo(claims.getRoles());
+    }
+
+    @Test
+    void compactTokens_shouldFallBackToRegularClaims_whenRoleOrIdCannotBeEncoded() {
+        JwtServiceAdapter adapter = compactAdapter(true);
+        User withUnknownRole = user.toBuilder().id("4f1c2d3e-0000-4000-8000-000000000001").roles(Set.of("ROLE_AUDITOR")).build();
+
+        String unknownRole = adapter.generateToken(withUnknownRole).block();
+        String nonUuidId = adapter.generateToken(user).block();
+
+        assertThat(unknownRole).isEqualTo(jwtServiceAdapter.generateToken(withUnknownRole).block());
+        assertThat(adapter.verify(unknownRole).block().getRoles()).containsExactly("ROLE_AUDITOR");
+        assertThat(adapter.verify(nonUuidId).block().getUserId()).isEqualTo("user-1");
+    }
+
+    @Test
+    void compactTokens_shouldNotVerify_againstAnUnknownRoleCatalog() {
+        User withId = user.toBuilder().id("4f1c2d3e-0000-4000-8000-000000000001").build();
+        String compact = compactAdapter(true).generateToken(withId).block();
+
+        when(roleRepository.currentCatalog()).thenReturn(RoleCatalog.of(List.of(new Role("r-3", "ROLE_OTHER"))));
+
+        StepVerifier.create(newAdapter(true).verify(compact)).verifyComplete();
+        StepVerifier.create(newAdapter(false).verify(compact)).verifyComplete();
+    }
+}
@@ -0,0 +1,110 @@
+package com.projectArka.user_service.AdapterTest;
+
+import com.projectArka.user_service.infrastructure.adapter.out.r2dbc.adapter.LoginActivityRepositoryAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LoginActivityRepositoryAdapterTest {
+
+    private static final String USER_ID = UUID.randomUUID().toString();
+    private static final String OTHER_ID = UUID.randomUUID().toString();
+
+    @Mock
+    private DatabaseClient databaseClient;
+
+    @Mock
+    private DatabaseClient.GenericExecuteSpec spec;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LoginActivityRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new LoginActivityRepositoryAdapter(databaseClient, meterRegistry, true, Duration.ofSeconds(5), 2, 500);
+    }
+
+    private void stubUpdates(Mono<Void> result) {
+        when(databaseClient.sql(anyString())).thenReturn(spec);
+        lenient().when(spec.bind(anyString(), any())).thenReturn(spec);
+        lenient().when(spec.bindNull(anyString(), any())).thenReturn(spec);
+        when(spec.then()).thenReturn(result);
+    }
+
+    @Test
+    void flush_shouldFoldOutcomesPerUserIntoOneBatchedUpdate() {
+        stubUpdates(Mono.empty());
+        adapter.recordFailure(USER_ID);
+        adapter.recordFailure(USER_ID);
+        adapter.recordSuccess(USER_ID);
+        adapter.recordFailure(USER_ID);
+        adapter.recordFailure(OTHER_ID);
+
+        StepVerifier.create(adapter.flush()).verifyComplete();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(databaseClient, times(1)).sql(sql.capture());
+        assertThat(sql.getValue()).startsWith("UPDATE users AS u SET").contains("FROM (VALUES (");
+        int userIndex = indexOf(USER_ID);
+        int otherIndex = 1 - userIndex;
+        verify(spec).bind("failures" + userIndex, 1);
+        verify(spec).bind("reset" + userIndex, true);
+        verify(spec).bind(eq("at" + userIndex), any(LocalDateTime.class));
+        verify(spec).bind("failures" + otherIndex, 1);
+        verify(spec).bind("reset" + otherIndex, false);
+        verify(spec).bindNull("at" + otherIndex, LocalDateTime.class);
+        assertThat(meterRegistry.get("users.login-activity.written").counter().count()).isEqualTo(2);
+
+        StepVerifier.create(adapter.flush()).verifyComplete();
+        verifyNoMoreInteractions(databaseClient);
+    }
+
+    @Test
+    void record_shouldDropNewUsersOnceTheBufferIsFull() {
+        adapter.recordFailure(USER_ID);
+        adapter.recordFailure(OTHER_ID);
+        adapter.recordFailure(UUID.randomUUID().toString());
+        adapter.recordFailure(USER_ID);
+
+        assertThat(meterRegistry.get("users.login-activity.pending").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("users.login-activity.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void flush_shouldKeepFailedBatchesForTheNextFlush() {
+        stubUpdates(Mono.error(new IllegalStateException("connection refused")));
+        adapter.recordFailure(USER_ID);
+
+        StepVerifier.create(adapter.flush()).verifyComplete();
+        adapter.recordFailure(USER_ID);
+
+        assertThat(meterRegistry.get("users.login-activity.pending").gauge().value()).isEqualTo(1);
+        StepVerifier.create(adapter.flush()).verifyComplete();
+        verify(spec, times(1)).bind("failures0", 1);
+        verify(spec, times(1)).bind("failures0", 2);
+    }
+
+    private int indexOf(String userId) {
+        ArgumentCaptor<Object> ids = ArgumentCaptor.forClass(Object.class);
+        verify(spec).bind(eq("id0"), ids.capture());
+        return ids.getValue().equals(UUID.fromString(userId)) ? 0 : 1;
+    }
+}
@@ -0,0 +1,62 @@
+package com.projectArka.user_service.AdapterTest;
+
+import com.projectArka.user_service.infrastructure.adapter.out.cache.InvalidationEvent;
+import com.projectArka.user_service.infrastructure.adapter.out.r2dbc.notification.PostgresInvalidationPublisher;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class PostgresInvalidationPublisherTest {
+
+    private final PostgresInvalidationPublisher node = new PostgresInvalidationPublisher(mock(DatabaseClient.class), true);
+    private final PostgresInvalidationPublisher otherNode = new PostgresInvalidationPublisher(mock(DatabaseClient.class), true);
+
+    private static String format(PostgresInvalidationPublisher publisher, InvalidationEvent.Entity entity,
+                                 InvalidationEvent.Operation operation, String id) {
+        return ReflectionTestUtils.invokeMethod(publisher, "format", entity, operation, id);
+    }
+
+    private static InvalidationEvent parse(PostgresInvalidationPublisher publisher, String payload) {
+        return ReflectionTestUtils.invokeMethod(publisher, "parse", payload);
+    }
+
+    @Test
+    void parse_shouldRestoreEventsFormattedByAnotherNode() {
+        for (InvalidationEvent.Entity entity : InvalidationEvent.Entity.values()) {
+            String payload = format(otherNode, entity, InvalidationEvent.Operation.DELETE, "id|with|separators");
+
+            assertThat(parse(node, payload))
+                    .isEqualTo(new InvalidationEvent(entity, InvalidationEvent.Operation.DELETE, "id|with|separators"));
+        }
+    }
+
+    @Test
+    void parse_shouldTreatFlushPayloadsAsFlush() {
+        String payload = format(otherNode, InvalidationEvent.Entity.USER, InvalidationEvent.Operation.FLUSH, "*");
+
+        InvalidationEvent event = parse(node, payload);
+
+        assertThat(event.isFlush()).isTrue();
+        assertThat(event.concerns(InvalidationEvent.Entity.ROLE)).isTrue();
+    }
+
+    @Test
+    void parse_shouldIgnoreThisNodesOwnEchoes() {
+        String payload = format(node, InvalidationEvent.Entity.USER, InvalidationEvent.Operation.SAVE, "user-1");
+
+        assertThat(parse(node, payload)).isNull();
+        assertThat(parse(otherNode, payload)).isNotNull();
+    }
+
+    @Test
+    void parse_shouldIgnoreMalformedPayloads() {
+        assertThat(parse(node, "")).isNull();
+        assertThat(parse(node, "other-node|USER|SAVE")).isNull();
+        assertThat(parse(node, "other-node|ACCOUNT|SAVE|user-1")).isNull();
+        assertThat(parse(node, "other-node|USER|UPSERT|user-1")).isNull();
+        assertThat(parse(node, "other-node|user|SAVE|user-1")).isNull();
+    }
+}
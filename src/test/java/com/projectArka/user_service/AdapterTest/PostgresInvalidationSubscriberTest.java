@@ -0,0 +1,124 @@
+package com.projectArka.user_service.AdapterTest;
+
+import com.projectArka.user_service.infrastructure.adapter.out.cache.CacheInvalidationListener;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.InvalidationEvent;
+import com.projectArka.user_service.infrastructure.adapter.out.r2dbc.notification.PostgresInvalidationPublisher;
+import com.projectArka.user_service.infrastructure.adapter.out.r2dbc.notification.PostgresInvalidationSubscriber;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.postgresql.api.PostgresqlStatement;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PostgresInvalidationSubscriberTest {
+
+    @Mock
+    private ObjectProvider<CacheInvalidationListener> listeners;
+
+    @Mock
+    private CacheInvalidationListener listener;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    private final PostgresInvalidationPublisher otherNode = new PostgresInvalidationPublisher(mock(DatabaseClient.class), true);
+    private final Deque<PostgresqlConnection> connections = new ArrayDeque<>();
+    private PostgresInvalidationSubscriber subscriber;
+
+    @BeforeEach
+    void setUp() {
+        when(listeners.orderedStream()).thenAnswer(invocation -> Stream.of(listener));
+        when(connectionFactory.create()).thenAnswer(invocation -> Mono.fromSupplier(connections::remove));
+        subscriber = new PostgresInvalidationSubscriber(new R2dbcProperties(),
+                new PostgresInvalidationPublisher(mock(DatabaseClient.class), true), listeners);
+    }
+
+    private PostgresqlConnection connection(Flux<Notification> notifications) {
+        PostgresqlConnection connection = mock(PostgresqlConnection.class);
+        PostgresqlStatement statement = mock(PostgresqlStatement.class);
+        PostgresqlResult result = mock(PostgresqlResult.class);
+        when(connection.createStatement(anyString())).thenReturn(statement);
+        when(statement.execute()).thenReturn(Flux.just(result));
+        when(result.getRowsUpdated()).thenReturn(Mono.just(0L));
+        when(connection.getNotifications()).thenReturn(notifications);
+        when(connection.close()).thenReturn(Mono.empty());
+        return connection;
+    }
+
+    private Notification notification(String payload) {
+        Notification notification = mock(Notification.class);
+        when(notification.getParameter()).thenReturn(payload);
+        return notification;
+    }
+
+    private Flux<InvalidationEvent> events() {
+        return ReflectionTestUtils.invokeMethod(subscriber, "events", connectionFactory);
+    }
+
+    @Test
+    void events_shouldFlushListenersAfterEverySuccessfulListen() {
+        PostgresqlConnection first = connection(Flux.error(new IOException("Connection reset")));
+        String payload = ReflectionTestUtils.invokeMethod(otherNode, "format",
+                InvalidationEvent.Entity.USER, InvalidationEvent.Operation.SAVE, "user-1");
+        PostgresqlConnection second = connection(Flux.just(notification(payload)).concatWith(Flux.never()));
+        connections.add(first);
+        connections.add(second);
+
+        StepVerifier.withVirtualTime(this::events)
+                .expectSubscription()
+                .then(() -> verify(listener, times(1)).onInvalidation(InvalidationEvent.flush()))
+                .thenAwait(Duration.ofSeconds(2))
+                .expectNext(new InvalidationEvent(InvalidationEvent.Entity.USER, InvalidationEvent.Operation.SAVE, "user-1"))
+                .thenCancel()
+                .verify();
+
+        ArgumentCaptor<InvalidationEvent> dispatched = ArgumentCaptor.forClass(InvalidationEvent.class);
+        verify(listener, times(2)).onInvalidation(dispatched.capture());
+        assertThat(dispatched.getAllValues()).containsExactly(InvalidationEvent.flush(), InvalidationEvent.flush());
+        verify(first).close();
+        verify(second).createStatement("LISTEN arka_user_service_invalidation");
+    }
+
+    @Test
+    void events_shouldNotFlush_whenListenFails() {
+        PostgresqlConnection failing = mock(PostgresqlConnection.class);
+        PostgresqlStatement statement = mock(PostgresqlStatement.class);
+        when(failing.createStatement(anyString())).thenReturn(statement);
+        when(statement.execute()).thenReturn(Flux.error(new IOException("Connection refused")));
+        when(failing.close()).thenReturn(Mono.empty());
+        connections.add(failing);
+        connections.add(connection(Flux.never()));
+
+        StepVerifier.withVirtualTime(this::events)
+                .expectSubscription()
+                .then(() -> verify(listener, never()).onInvalidation(any()))
+                .thenAwait(Duration.ofSeconds(2))
+                .then(() -> verify(listener, times(1)).onInvalidation(InvalidationEvent.flush()))
+                .thenCancel()
+                .verify();
+    }
+}
@@ -0,0 +1,85 @@
+package com.projectArka.user_service.AdapterTest;
+
+import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.domain.port.out.UserRepositoryPort;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.RequestMemoUserRepository;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.RequestUserMemo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RequestMemoUserRepositoryTest {
+
+    @Mock
+    private UserRepositoryPort delegate;
+
+    private RequestMemoUserRepository requestMemoUserRepository;
+
+    private final String USER_ID = UUID.randomUUID().toString();
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        requestMemoUserRepository = new RequestMemoUserRepository(delegate);
+        testUser = User.builder()
+                .id(USER_ID)
+                .username("testuser")
+                .email("test@example.com")
+                .roles(new HashSet<>(Set.of("ROLE_USER")))
+                .build();
+    }
+
+    @Test
+    void lookupsWithinOneRequest_shouldLoadUserOnce() {
+        when(delegate.findByUsername("testuser")).thenReturn(Mono.just(testUser));
+
+        Mono<User> request = requestMemoUserRepository.findByUsername("testuser")
+                .then(requestMemoUserRepository.findById(USER_ID))
+                .contextWrite(context -> context.put(RequestUserMemo.class, new RequestUserMemo()));
+
+        StepVerifier.create(request).expectNext(testUser).verifyComplete();
+        verify(delegate, times(1)).findByUsername("testuser");
+        verify(delegate, never()).findById(anyString());
+    }
+
+    @Test
+    void separateRequests_shouldNotShareLoadedUsers() {
+        when(delegate.findById(USER_ID)).thenReturn(Mono.just(testUser));
+
+        for (int i = 0; i < 2; i++) {
+            requestMemoUserRepository.findById(USER_ID)
+                    .contextWrite(context -> context.put(RequestUserMemo.class, new RequestUserMemo()))
+                    .block();
+        }
+        requestMemoUserRepository.findById(USER_ID).block();
+
+        verify(delegate, times(3)).findById(USER_ID);
+    }
+
+    @Test
+    void save_shouldClearMemo() {
+        when(delegate.findById(USER_ID)).thenReturn(Mono.just(testUser));
+        when(delegate.save(any(User.class))).thenReturn(Mono.just(testUser));
+
+        Mono<User> request = requestMemoUserRepository.findById(USER_ID)
+                .flatMap(requestMemoUserRepository::save)
+                .then(requestMemoUserRepository.findById(USER_ID))
+                .contextWrite(context -> context.put(RequestUserMemo.class, new RequestUserMemo()));
+
+        StepVerifier.create(request).expectNextCount(1).verifyComplete();
+        verify(delegate, times(2)).findById(USER_ID);
+    }
+}
@@ -0,0 +1,132 @@
+package com.projectArka.user_service.AdapterTest;
+
+import com.projectArka.user_service.application.mapper.IPersistenceRoleMapper;
+import com.projectArka.user_service.domain.model.Role;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.CacheInvalidationPublisher;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.InvalidationEvent;
+import com.projectArka.user_service.infrastructure.adapter.out.r2dbc.adapter.RoleRepositoryAdapter;
+import com.projectArka.user_service.infrastructure.adapter.out.r2dbc.repository.SpringDataRoleRepository;
+import com.projectArka.user_service.infrastructure.entity.RoleEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RoleRepositoryAdapterTest {
+
+    @Mock
+    private SpringDataRoleRepository springDataRoleRepository;
+
+    @Mock
+    private CacheInvalidationPublisher invalidationPublisher;
+
+    private RoleRepositoryAdapter roleRepositoryAdapter;
+
+    private final UUID USER_ROLE_ID = UUID.randomUUID();
+    private final UUID ADMIN_ROLE_ID = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        roleRepositoryAdapter = new RoleRepositoryAdapter(springDataRoleRepository, Mappers.getMapper(IPersistenceRoleMapper.class), invalidationPublisher);
+    }
+
+    @Test
+    void lookups_shouldBeServedFromCatalogOnceLoaded() {
+        when(springDataRoleRepository.findAll()).thenReturn(Flux.just(
+                new RoleEntity(USER_ROLE_ID, "ROLE_USER"),
+                new RoleEntity(ADMIN_ROLE_ID, "ROLE_ADMIN")));
+
+        roleRepositoryAdapter.reload().block();
+
+        StepVerifier.create(roleRepositoryAdapter.findByName("ROLE_USER"))
+                .expectNext(new Role(USER_ROLE_ID.toString(), "ROLE_USER"))
+                .verifyComplete();
+        StepVerifier.create(roleRepositoryAdapter.findById(ADMIN_ROLE_ID.toString()))
+                .expectNext(new Role(ADMIN_ROLE_ID.toString(), "ROLE_ADMIN"))
+                .verifyComplete();
+        StepVerifier.create(roleRepositoryAdapter.findAll())
+                .expectNextCount(2)
+                .verifyComplete();
+
+        verify(springDataRoleRepository, never()).findByName(anyString());
+        verify(springDataRoleRepository, never()).findById(any(UUID.class));
+        verify(springDataRoleRepository, times(1)).findAll();
+    }
+
+    @Test
+    void findByName_shouldFallBackToDatabaseAndRememberRole_whenCatalogMisses() {
+        when(springDataRoleRepository.findByName("ROLE_USER")).thenReturn(Mono.just(new RoleEntity(USER_ROLE_ID, "ROLE_USER")));
+
+        StepVerifier.create(roleRepositoryAdapter.findByName("ROLE_USER")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(roleRepositoryAdapter.findByName("ROLE_USER")).expectNextCount(1).verifyComplete();
+
+        verify(springDataRoleRepository, times(1)).findByName("ROLE_USER");
+    }
+
+    @Test
+    void findByName_shouldNotRememberRole_whenDeletedWhileTheLookupWasInFlight() {
+        Sinks.One<RoleEntity> pending = Sinks.one();
+        when(springDataRoleRepository.findByName("ROLE_ADMIN"))
+                .thenReturn(pending.asMono())
+                .thenReturn(Mono.empty());
+        when(springDataRoleRepository.deleteById(ADMIN_ROLE_ID)).thenReturn(Mono.empty());
+        when(springDataRoleRepository.findAll()).thenReturn(Flux.just(new RoleEntity(USER_ROLE_ID, "ROLE_USER")));
+        when(invalidationPublisher.publish(any(), any(), any())).thenReturn(Mono.empty());
+
+        Mono<Role> lookup = roleRepositoryAdapter.findByName("ROLE_ADMIN").cache();
+        lookup.subscribe();
+        StepVerifier.create(roleRepositoryAdapter.deleteById(ADMIN_ROLE_ID.toString())).verifyComplete();
+        pending.tryEmitValue(new RoleEntity(ADMIN_ROLE_ID, "ROLE_ADMIN"));
+
+        StepVerifier.create(lookup).expectNextCount(1).verifyComplete();
+        assertThat(roleRepositoryAdapter.currentCatalog().findById(ADMIN_ROLE_ID.toString())).isEmpty();
+        StepVerifier.create(roleRepositoryAdapter.findByName("ROLE_ADMIN")).verifyComplete();
+        verify(springDataRoleRepository, times(2)).findByName("ROLE_ADMIN");
+    }
+
+    @Test
+    void save_shouldSwapInReloadedCatalog() {
+        RoleEntity saved = new RoleEntity(ADMIN_ROLE_ID, "ROLE_ADMIN");
+        when(springDataRoleRepository.save(any(RoleEntity.class))).thenReturn(Mono.just(saved));
+        when(springDataRoleRepository.findAll()).thenReturn(Flux.just(saved));
+        when(invalidationPublisher.publish(any(), any(), any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(roleRepositoryAdapter.save(new Role(null, "ROLE_ADMIN")))
+                .expectNext(new Role(ADMIN_ROLE_ID.toString(), "ROLE_ADMIN"))
+                .verifyComplete();
+
+        StepVerifier.create(roleRepositoryAdapter.findByName("ROLE_ADMIN")).expectNextCount(1).verifyComplete();
+        verify(springDataRoleRepository, never()).findByName(anyString());
+        verify(invalidationPublisher).publish(InvalidationEvent.Entity.ROLE, InvalidationEvent.Operation.SAVE, List.of(ADMIN_ROLE_ID.toString()));
+    }
+
+    @Test
+    void onInvalidation_shouldReloadCatalog_whenAnotherNodeChangedRoles() {
+        when(springDataRoleRepository.findAll())
+                .thenReturn(Flux.just(new RoleEntity(USER_ROLE_ID, "ROLE_USER")))
+                .thenReturn(Flux.just(new RoleEntity(USER_ROLE_ID, "ROLE_USER"), new RoleEntity(ADMIN_ROLE_ID, "ROLE_ADMIN")));
+        roleRepositoryAdapter.reload().block();
+
+        roleRepositoryAdapter.onInvalidation(new InvalidationEvent(InvalidationEvent.Entity.USER, InvalidationEvent.Operation.SAVE, "any"));
+        roleRepositoryAdapter.onInvalidation(new InvalidationEvent(InvalidationEvent.Entity.ROLE, InvalidationEvent.Operation.SAVE, ADMIN_ROLE_ID.toString()));
+
+        StepVerifier.create(roleRepositoryAdapter.findByName("ROLE_ADMIN")).expectNextCount(1).verifyComplete();
+        verify(springDataRoleRepository, times(2)).findAll();
+        verify(springDataRoleRepository, never()).findByName(anyString());
+    }
+}
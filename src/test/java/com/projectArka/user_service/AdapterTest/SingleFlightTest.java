@@ -0,0 +1,142 @@
+package com.projectArka.user_service.AdapterTest;
+
+import com.projectArka.user_service.infrastructure.adapter.out.cache.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<String, String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("findByUsername", meterRegistry);
+    }
+
+    @Test
+    void concurrentCallers_shouldShareOneLoad() {
+        Sinks.One<String> result = Sinks.one();
+        AtomicInteger loads = new AtomicInteger();
+
+        Mono<String> first = singleFlight.execute("service-account", key -> {
+            loads.incrementAndGet();
+            return result.asMono();
+        });
+        Mono<String> second = singleFlight.execute("service-account", key -> {
+            loads.incrementAndGet();
+            return result.asMono();
+        });
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> result.tryEmitValue("user"))
+                .expectNextMatches(pair -> pair.getT1().equals("user") && pair.getT2().equals("user"))
+                .verifyComplete();
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("users.lookups.single-flight").tag("result", "coalesced").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void follower_shouldReceiveTheValue_whenJoiningBetweenValueAndCompletion() {
+        Sinks.One<String> result = Sinks.one();
+        AtomicInteger loads = new AtomicInteger();
+        AtomicReference<String> followerValue = new AtomicReference<>();
+        AtomicBoolean followerCompleted = new AtomicBoolean();
+
+        Mono<String> leader = singleFlight.execute("service-account", key -> {
+            loads.incrementAndGet();
+            return result.asMono();
+        });
+
+        StepVerifier.create(leader.doOnNext(value -> singleFlight.execute("service-account", key -> {
+                            loads.incrementAndGet();
+                            return Mono.just("reloaded");
+                        })
+                        .subscribe(followerValue::set, error -> { }, () -> followerCompleted.set(true))))
+                .then(() -> result.tryEmitValue("user"))
+                .expectNext("user")
+                .verifyComplete();
+
+        assertThat(followerCompleted).isTrue();
+        assertThat(followerValue.get()).isEqualTo("user");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void errors_shouldPropagateToEveryCaller_andReleaseTheKey() {
+        Sinks.One<String> result = Sinks.one();
+
+        Mono<String> first = singleFlight.execute("key", key -> result.asMono());
+        Mono<String> second = singleFlight.execute("key", key -> result.asMono());
+
+        StepVerifier.create(Mono.zipDelayError(first.onErrorReturn("failed"), second.onErrorReturn("failed")))
+                .then(() -> result.tryEmitError(new IllegalStateException("DB down")))
+                .expectNextMatches(pair -> pair.getT1().equals("failed") && pair.getT2().equals("failed"))
+                .verifyComplete();
+
+        StepVerifier.create(singleFlight.execute("key", key -> Mono.just("recovered")))
+                .expectNext("recovered")
+                .verifyComplete();
+    }
+
+    @Test
+    void load_shouldBeCancelledOnlyWhenAllCallersCancel() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Mono<String> never = Mono.<String>never().doOnCancel(() -> cancelled.set(true));
+
+        Disposable first = singleFlight.execute("key", key -> never).subscribe();
+        Disposable second = singleFlight.execute("key", key -> never).subscribe();
+
+        first.dispose();
+        assertThat(cancelled).isFalse();
+
+        second.dispose();
+        assertThat(cancelled).isTrue();
+    }
+
+    @Test
+    void sequentialCallers_shouldNotBeCoalesced() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("key", key -> Mono.fromCallable(loads::incrementAndGet).map(String::valueOf)).block();
+        singleFlight.execute("key", key -> Mono.fromCallable(loads::incrementAndGet).map(String::valueOf)).block();
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void forgetAll_shouldMakeLaterCallersStartAFreshLoad() {
+        Sinks.One<String> stale = Sinks.one();
+        AtomicInteger loads = new AtomicInteger();
+
+        Disposable leader = singleFlight.execute("key", key -> {
+            loads.incrementAndGet();
+            return stale.asMono();
+        }).subscribe();
+
+        singleFlight.forgetAll();
+
+        StepVerifier.create(singleFlight.execute("key", key -> {
+                    loads.incrementAndGet();
+                    return Mono.just("fresh");
+                }))
+                .expectNext("fresh")
+                .verifyComplete();
+
+        assertThat(loads.get()).isEqualTo(2);
+        leader.dispose();
+    }
+}
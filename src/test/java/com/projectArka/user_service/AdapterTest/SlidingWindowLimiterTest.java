@@ -0,0 +1,87 @@
+package com.projectArka.user_service.AdapterTest;
+
+import com.projectArka.user_service.infrastructure.adapter.in.webflux.SlidingWindowLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SlidingWindowLimiterTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(60);
+
+    private final AtomicLong now = new AtomicLong(WINDOW.toNanos() * 1_000);
+    private final SlidingWindowLimiter limiter = new SlidingWindowLimiter(3, WINDOW, 100, now::get);
+
+    @Test
+    void tryAcquire_shouldRejectOnceTheLimitIsReached() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("key")).isZero();
+        }
+
+        Duration wait = limiter.tryAcquire("key");
+
+        assertThat(wait).isPositive().isLessThanOrEqualTo(WINDOW.multipliedBy(2));
+        assertThat(limiter.tryAcquire("other")).isZero();
+    }
+
+    @Test
+    void tryAcquire_shouldWeighThePreviousWindowByItsOverlap() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("key");
+        }
+
+        advance(WINDOW.plusSeconds(10));
+        assertThat(limiter.tryAcquire("key")).isZero();
+        assertThat(limiter.tryAcquire("key")).isPositive();
+
+        advance(Duration.ofSeconds(31));
+        assertThat(limiter.tryAcquire("key")).isZero();
+    }
+
+    @Test
+    void tryAcquire_shouldAllowAgainAfterTheReportedWait() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("key");
+        }
+        advance(Duration.ofSeconds(20));
+
+        Duration wait = limiter.tryAcquire("key");
+        advance(wait.minusNanos(2));
+        assertThat(limiter.tryAcquire("key")).isPositive();
+
+        advance(Duration.ofNanos(2));
+        assertThat(limiter.tryAcquire("key")).isZero();
+    }
+
+    @Test
+    void checkAndRecord_shouldCountOnlyRecordedEvents() {
+        assertThat(limiter.check("user")).isZero();
+        limiter.record("user");
+        limiter.record("user");
+        assertThat(limiter.check("user")).isZero();
+
+        limiter.record("user");
+
+        assertThat(limiter.check("user")).isPositive();
+        advance(WINDOW.multipliedBy(2));
+        assertThat(limiter.check("user")).isZero();
+    }
+
+    @Test
+    void constructor_shouldRejectLimitsBelowOne() {
+        assertThatThrownBy(() -> new SlidingWindowLimiter(0, WINDOW, 100, now::get))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SlidingWindowLimiter(-1, WINDOW, 100, now::get))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SlidingWindowLimiter(1, Duration.ZERO, 100, now::get))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,70 @@
+package com.projectArka.user_service.AdapterTest;
+
+import com.projectArka.user_service.infrastructure.adapter.out.cache.TokenDenyList;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenDenyListTest {
+
+    private final TokenDenyList denyList = new TokenDenyList(Duration.ofHours(1));
+
+    @Test
+    void isRevoked_shouldMatchRevokedTokenOnly() {
+        denyList.revoke(TokenDenyList.digest("a.b.c"), Instant.now().plusSeconds(600));
+
+        assertThat(denyList.isRevoked(TokenDenyList.digest("a.b.c"), "user-1", Instant.now())).isTrue();
+        assertThat(denyList.isRevoked(TokenDenyList.digest("a.b.d"), "user-1", Instant.now())).isFalse();
+    }
+
+    @Test
+    void revoke_shouldIgnoreTokensThatAlreadyExpired() {
+        denyList.revoke(TokenDenyList.digest("a.b.c"), Instant.now().minusSeconds(1));
+
+        assertThat(denyList.isRevoked(TokenDenyList.digest("a.b.c"), "user-1", Instant.now())).isFalse();
+        assertThat(denyList.size()).isZero();
+    }
+
+    @Test
+    void isRevoked_shouldRejectTokensIssuedBeforeNotBefore() {
+        Instant cutoff = Instant.now();
+        denyList.revokeAllBefore("user-1", cutoff);
+
+        assertThat(denyList.isRevoked(TokenDenyList.digest("old"), "user-1", cutoff.minusSeconds(5))).isTrue();
+        assertThat(denyList.isRevoked(TokenDenyList.digest("new"), "user-1", cutoff.plusSeconds(5))).isFalse();
+        assertThat(denyList.isRevoked(TokenDenyList.digest("old"), "user-2", cutoff.minusSeconds(5))).isFalse();
+    }
+
+    @Test
+    void isRevoked_shouldAcceptTokensIssuedAfterCutoffWithinTheSameSecond() {
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        denyList.revokeAllBefore("user-1", issuedAt.plusMillis(400));
+
+        assertThat(denyList.isRevoked(TokenDenyList.digest("relogin"), "user-1", issuedAt)).isFalse();
+        assertThat(denyList.isRevoked(TokenDenyList.digest("old"), "user-1", issuedAt.minusSeconds(1))).isTrue();
+    }
+
+    @Test
+    void notBeforeFor_shouldRejectTokensIssuedEarlierInTheRevokesOwnSecond() {
+        Instant second = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Instant revokedAt = second.plusMillis(700);
+        denyList.revokeAllBefore("user-1", TokenDenyList.notBeforeFor(revokedAt));
+
+        assertThat(TokenDenyList.notBeforeFor(revokedAt)).isEqualTo(second.plusSeconds(1));
+        assertThat(denyList.isRevoked(TokenDenyList.digest("same-second"), "user-1", second)).isTrue();
+        assertThat(denyList.isRevoked(TokenDenyList.digest("next-second"), "user-1", second.plusSeconds(1))).isFalse();
+    }
+
+    @Test
+    void revokeAllBefore_shouldKeepLatestCutoff() {
+        Instant cutoff = Instant.now();
+        denyList.revokeAllBefore("user-1", cutoff);
+        denyList.revokeAllBefore("user-1", cutoff.minusSeconds(60));
+
+        assertThat(denyList.isRevoked(TokenDenyList.digest("t"), "user-1", cutoff.minusSeconds(30))).isTrue();
+    }
+}
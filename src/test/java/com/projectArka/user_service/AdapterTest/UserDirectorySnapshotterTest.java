@@ -0,0 +1,90 @@
+package com.projectArka.user_service.AdapterTest;
+
+import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.domain.port.out.UserRepositoryPort;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.CachingUserRepository;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.UserDirectorySnapshot;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.UserDirectorySnapshotter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserDirectorySnapshotterTest {
+
+    @Mock
+    private UserRepositoryPort delegate;
+
+    @TempDir
+    Path directory;
+
+    private User user(String username) {
+        return User.builder()
+                .id(UUID.randomUUID().toString())
+                .username(username)
+                .name("Name " + username)
+                .email(username + "@example.com")
+                .password("$2a$10$hash")
+                .active(true)
+                .createdAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                .updatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                .roles(new HashSet<>(Set.of("ROLE_USER", "ROLE_ADMIN")))
+                .build();
+    }
+
+    @Test
+    void snapshot_shouldRoundTripThroughFile() throws IOException {
+        User user = user("alice");
+        User sparse = User.builder().id(UUID.randomUUID().toString()).username("bob").email("bob@example.com")
+                .active(false).roles(new HashSet<>()).build();
+        Path file = directory.resolve("users.snapshot");
+        LocalDateTime watermark = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        new UserDirectorySnapshot(watermark, List.of(user, sparse)).writeTo(file);
+        UserDirectorySnapshot restored = UserDirectorySnapshot.readFrom(file);
+
+        assertThat(restored.watermark()).isEqualTo(watermark);
+        assertThat(restored.users()).containsExactly(user, sparse);
+    }
+
+    @Test
+    void restore_shouldWarmCacheAndEvictUsersChangedOrDeletedSinceWatermark() {
+        User fresh = user("fresh");
+        User updated = user("updated");
+        User deleted = user("deleted");
+        CachingUserRepository source = new CachingUserRepository(delegate, 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        source.warm(List.of(fresh, updated, deleted));
+        Path file = directory.resolve("users.snapshot");
+        new UserDirectorySnapshotter(source, file, Duration.ofMinutes(5), Duration.ofMinutes(1), Duration.ofSeconds(5),
+                Mono.empty(), since -> Flux.empty(), ids -> Flux.fromIterable(ids)).write();
+
+        CachingUserRepository restarted = new CachingUserRepository(delegate, 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        new UserDirectorySnapshotter(restarted, file, Duration.ofMinutes(5), Duration.ofMinutes(1), Duration.ofSeconds(5),
+                Mono.empty(),
+                since -> Flux.just(updated.getId()),
+                ids -> Flux.fromIterable(ids).filter(id -> !id.equals(deleted.getId()))).restore();
+
+        StepVerifier.create(restarted.findByUsername("fresh")).expectNext(fresh).verifyComplete();
+        assertThat(restarted.snapshot()).extracting(User::getUsername).containsExactly("fresh");
+        verify(delegate, never()).findByUsername("fresh");
+    }
+}
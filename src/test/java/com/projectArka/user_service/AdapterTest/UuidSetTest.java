@@ -0,0 +1,52 @@
+package com.projectArka.user_service.AdapterTest;
+
+import com.projectArka.user_service.infrastructure.adapter.out.cache.UuidSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UuidSetTest {
+
+    @Test
+    void randomAddsAndRemoves_shouldMatchHashSet() {
+        UuidSet uuidSet = new UuidSet();
+        Set<UUID> expected = new HashSet<>();
+        List<UUID> universe = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            universe.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+        universe.add(new UUID(0, 0));
+
+        for (int i = 0; i < 20_000; i++) {
+            UUID id = universe.get(random.nextInt(universe.size()));
+            if (random.nextBoolean()) {
+                assertThat(uuidSet.add(id)).isEqualTo(expected.add(id));
+            } else {
+                assertThat(uuidSet.remove(id)).isEqualTo(expected.remove(id));
+            }
+        }
+
+        assertThat(uuidSet.size()).isEqualTo(expected.size());
+        for (UUID id : universe) {
+            assertThat(uuidSet.contains(id)).isEqualTo(expected.contains(id));
+        }
+    }
+
+    @Test
+    void memoryBytes_shouldStayWithinTwoLongsPerIdOverLoadFactor() {
+        UuidSet uuidSet = new UuidSet();
+        for (int i = 0; i < 10_000; i++) {
+            uuidSet.add(UUID.randomUUID());
+        }
+
+        assertThat(uuidSet.memoryBytes()).isLessThanOrEqualTo(10_000L * 16 * 3);
+    }
+}
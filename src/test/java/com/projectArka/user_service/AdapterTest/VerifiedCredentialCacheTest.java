@@ -0,0 +1,63 @@
+package com.projectArka.user_service.AdapterTest;
+
+import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.InvalidationEvent;
+import com.projectArka.user_service.infrastructure.adapter.out.cache.VerifiedCredentialCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VerifiedCredentialCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VerifiedCredentialCache cache = new VerifiedCredentialCache(meterRegistry, true, Duration.ofMinutes(5), 100);
+
+    private final User user = User.builder()
+            .id(UUID.randomUUID().toString())
+            .username("robot")
+            .password("{bcrypt}$2a$10$storedhash")
+            .build();
+
+    @Test
+    void isVerified_shouldAcceptOnlyTheRememberedPassword() {
+        assertThat(cache.isVerified(user, "secret")).isFalse();
+
+        cache.remember(user, "secret");
+
+        assertThat(cache.isVerified(user, "secret")).isTrue();
+        assertThat(cache.isVerified(user, "Secret")).isFalse();
+        assertThat(meterRegistry.get("auth.credentials.cache").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.credentials.cache").tag("result", "miss").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void isVerified_shouldReject_whenTheStoredHashChanged() {
+        cache.remember(user, "secret");
+
+        User changed = user.toBuilder().password("{bcrypt}$2a$10$otherhash").build();
+
+        assertThat(cache.isVerified(changed, "secret")).isFalse();
+    }
+
+    @Test
+    void onInvalidation_shouldForgetSavedOrDeletedUsers() {
+        cache.remember(user, "secret");
+
+        cache.onInvalidation(new InvalidationEvent(InvalidationEvent.Entity.USER, InvalidationEvent.Operation.SAVE, user.getId()));
+
+        assertThat(cache.isVerified(user, "secret")).isFalse();
+    }
+
+    @Test
+    void isVerified_shouldAlwaysMiss_whenDisabled() {
+        VerifiedCredentialCache disabled = new VerifiedCredentialCache(new SimpleMeterRegistry(), false, Duration.ofMinutes(5), 100);
+
+        disabled.remember(user, "secret");
+
+        assertThat(disabled.isVerified(user, "secret")).isFalse();
+    }
+}
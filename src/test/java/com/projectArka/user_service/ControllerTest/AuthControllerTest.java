@@ -1,12 +1,17 @@
 package com.projectArka.user_service.ControllerTest;
 
 import com.projectArka.user_service.application.dto.AuthResponseDTO;
+import com.projectArka.user_service.application.dto.AvailabilityResponseDTO;
 import com.projectArka.user_service.application.dto.LoginRequestDTO;
+import com.projectArka.user_service.application.dto.RefreshTokenRequestDTO;
 import com.projectArka.user_service.application.dto.UserRegisterRequestDTO;
 import com.projectArka.user_service.application.usecase.AuthenticationUseCase;
 import com.projectArka.user_service.infrastructure.adapter.in.webflux.AuthController;
+import com.projectArka.user_service.infrastructure.adapter.in.webflux.IdempotencyStore;
+import com.projectArka.user_service.infrastructure.adapter.in.webflux.LoginThrottle;
 import com.projectArka.user_service.domain.exception.UserAlreadyExistsException;
 import com.projectArka.user_service.domain.exception.InvalidCredentialsException;
+import com.projectArka.user_service.domain.exception.HashingCapacityExceededException;
 import com.projectArka.user_service.infrastructure.config.GlobalExceptionHandler;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -14,15 +19,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -32,6 +44,13 @@ public class AuthControllerTest {
     @Mock
     private AuthenticationUseCase authenticationUseCase;
 
+    @Spy
+    private IdempotencyStore idempotencyStore = new IdempotencyStore(
+            Jackson2ObjectMapperBuilder.json().build(), 100, Duration.ofMinutes(5), true, new SimpleMeterRegistry());
+
+    @Spy
+    private LoginThrottle loginThrottle = new LoginThrottle(100, 2, Duration.ofMinutes(1), 100, true, new SimpleMeterRegistry());
+
     @InjectMocks
     private AuthController authController;
 
@@ -108,6 +127,171 @@ public class AuthControllerTest {
                 });
     }
 
+    @Test
+    void registerUser_shouldReplayResult_whenIdempotencyKeyIsReused() {
+        UserRegisterRequestDTO requestDTO = new UserRegisterRequestDTO(
+                "retrier", "Retry Name", "retry@example.com", "password123", "1234567890");
+        AuthResponseDTO expectedResponse = AuthResponseDTO.builder()
+                .token("firstToken")
+                .userId(UUID.randomUUID().toString())
+                .username("retrier")
+                .email("retry@example.com")
+                .build();
+
+        when(authenticationUseCase.registerUser(any(UserRegisterRequestDTO.class)))
+                .thenReturn(Mono.just(expectedResponse));
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            webTestClient.post().uri("/api/auth/register")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(IdempotencyStore.HEADER, "register-retry-1")
+                    .bodyValue(requestDTO)
+                    .exchange()
+                    .expectStatus().isCreated()
+                    .expectBody(AuthResponseDTO.class)
+                    .value(response -> assertThat(response.getToken()).isEqualTo("firstToken"));
+        }
+
+        verify(authenticationUseCase, times(1)).registerUser(any(UserRegisterRequestDTO.class));
+    }
+
+    @Test
+    void registerUser_shouldReturnUnprocessableEntity_whenIdempotencyKeyIsReusedWithDifferentBody() {
+        UserRegisterRequestDTO first = new UserRegisterRequestDTO(
+                "first", "First Name", "first@example.com", "password123", "1234567890");
+        UserRegisterRequestDTO second = new UserRegisterRequestDTO(
+                "second", "Second Name", "second@example.com", "password123", "1234567890");
+
+        when(authenticationUseCase.registerUser(any(UserRegisterRequestDTO.class)))
+                .thenReturn(Mono.just(AuthResponseDTO.builder().token("token").username("first").build()));
+
+        webTestClient.post().uri("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(IdempotencyStore.HEADER, "register-reuse-1")
+                .bodyValue(first)
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.post().uri("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(IdempotencyStore.HEADER, "register-reuse-1")
+                .bodyValue(second)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+
+        verify(authenticationUseCase, times(1)).registerUser(any(UserRegisterRequestDTO.class));
+    }
+
+    @Test
+    void registerUser_shouldRunAgain_whenIdempotentAttemptFailed() {
+        UserRegisterRequestDTO requestDTO = new UserRegisterRequestDTO(
+                "flaky", "Flaky Name", "flaky@example.com", "password123", "1234567890");
+
+        when(authenticationUseCase.registerUser(any(UserRegisterRequestDTO.class)))
+                .thenReturn(Mono.error(new IllegalStateException("database unavailable")))
+                .thenReturn(Mono.just(AuthResponseDTO.builder().token("token").username("flaky").build()));
+
+        webTestClient.post().uri("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(IdempotencyStore.HEADER, "register-flaky-1")
+                .bodyValue(requestDTO)
+                .exchange()
+                .expectStatus().is5xxServerError();
+
+        webTestClient.post().uri("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(IdempotencyStore.HEADER, "register-flaky-1")
+                .bodyValue(requestDTO)
+                .exchange()
+                .expectStatus().isCreated();
+    }
+
+    @Test
+    void refreshToken_shouldReturnRenewedTokens() {
+        when(authenticationUseCase.refresh("old-refresh"))
+                .thenReturn(Mono.just(AuthResponseDTO.builder().token("access").refreshToken("new-refresh").build()));
+
+        webTestClient.post().uri("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RefreshTokenRequestDTO("old-refresh"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AuthResponseDTO.class)
+                .value(response -> assertThat(response.getRefreshToken()).isEqualTo("new-refresh"));
+    }
+
+    @Test
+    void refreshToken_shouldReturnUnauthorized_whenTokenWasAlreadyUsed() {
+        when(authenticationUseCase.refresh("used-refresh"))
+                .thenReturn(Mono.error(new InvalidCredentialsException("Invalid refresh token")));
+
+        webTestClient.post().uri("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RefreshTokenRequestDTO("used-refresh"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void loginUser_shouldReturnServiceUnavailableWithRetryAfter_whenHashingIsSaturated() {
+        when(authenticationUseCase.authenticateAndGenerateToken(any(LoginRequestDTO.class)))
+                .thenReturn(Mono.error(new HashingCapacityExceededException("Too many concurrent authentication requests, retry later",
+                        Duration.ofSeconds(2))));
+
+        webTestClient.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new LoginRequestDTO("tester", "password"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "2");
+    }
+
+    @Test
+    void loginUser_shouldReturnTooManyRequests_afterRepeatedFailuresForTheUsername() {
+        when(authenticationUseCase.authenticateAndGenerateToken(any(LoginRequestDTO.class)))
+                .thenReturn(Mono.error(new InvalidCredentialsException("Invalid username or password")));
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            webTestClient.post().uri("/api/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new LoginRequestDTO("victim", "guess" + attempt))
+                    .exchange()
+                    .expectStatus().isUnauthorized();
+        }
+
+        webTestClient.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new LoginRequestDTO("Victim", "guess"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS)
+                .expectHeader().exists(HttpHeaders.RETRY_AFTER);
+
+        verify(authenticationUseCase, times(2)).authenticateAndGenerateToken(any(LoginRequestDTO.class));
+    }
+
+    @Test
+    void logout_shouldRevokeBearerAndRefreshTokens() {
+        when(authenticationUseCase.logout("access", "refresh")).thenReturn(Mono.empty());
+
+        webTestClient.post().uri("/api/auth/logout")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer access")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RefreshTokenRequestDTO("refresh"))
+                .exchange()
+                .expectStatus().isNoContent();
+
+        verify(authenticationUseCase).logout("access", "refresh");
+    }
+
+    @Test
+    void revokeAllTokens_shouldReturnNoContent() {
+        when(authenticationUseCase.revokeAllTokens("user-1")).thenReturn(Mono.empty());
+
+        webTestClient.post().uri("/api/auth/revoke/user-1")
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
     @Test
     void registerUser_shouldReturnConflictForUserAlreadyExists() {
         UserRegisterRequestDTO requestDTO = new UserRegisterRequestDTO(
@@ -140,4 +324,18 @@ public class AuthControllerTest {
                 .expectBody()
                 .jsonPath("$.message").isEqualTo("Invalid username or password");
     }
-}
\ No newline at end of file
+
+    @Test
+    void checkAvailability_shouldReturnAvailabilityOfUsername() {
+        when(authenticationUseCase.checkAvailability("tester", null))
+                .thenReturn(Mono.just(AvailabilityResponseDTO.builder().username("tester").usernameAvailable(true).build()));
+
+        webTestClient.get().uri("/api/auth/availability?username=tester")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.username").isEqualTo("tester")
+                .jsonPath("$.usernameAvailable").isEqualTo(true)
+                .jsonPath("$.emailAvailable").doesNotExist();
+    }
+}
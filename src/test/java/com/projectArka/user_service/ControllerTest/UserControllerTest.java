@@ -3,12 +3,17 @@ package com.projectArka.user_service.ControllerTest;
 import com.projectArka.user_service.application.dto.RoleDTO;
 import com.projectArka.user_service.application.dto.UserRegisterRequestDTO;
 import com.projectArka.user_service.application.dto.UserResponseDTO;
+import com.projectArka.user_service.application.dto.UserStatusFilterRequestDTO;
 import com.projectArka.user_service.application.dto.UserUpdateRequestDTO;
 import com.projectArka.user_service.application.mapper.IUserMapper;
 import com.projectArka.user_service.application.usecase.UserUseCase;
+import com.projectArka.user_service.domain.exception.InvalidRequestException;
 import com.projectArka.user_service.domain.exception.UserAlreadyExistsException;
 import com.projectArka.user_service.domain.exception.UserNotFoundException;
 import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.domain.model.UserFilter;
+import com.projectArka.user_service.infrastructure.adapter.in.webflux.EncodedUserResponseCache;
+import com.projectArka.user_service.infrastructure.adapter.in.webflux.IdempotencyStore;
 import com.projectArka.user_service.infrastructure.adapter.in.webflux.UserController;
 import com.projectArka.user_service.infrastructure.config.GlobalExceptionHandler;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,20 +21,30 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 
@@ -44,6 +59,14 @@ public class UserControllerTest {
     @Mock
     private IUserMapper userMapper;
 
+    @Spy
+    private EncodedUserResponseCache encodedUserResponseCache = new EncodedUserResponseCache(
+            Jackson2ObjectMapperBuilder.json().build(), 100, Duration.ofMinutes(5), true, true, new SimpleMeterRegistry());
+
+    @Spy
+    private IdempotencyStore idempotencyStore = new IdempotencyStore(
+            Jackson2ObjectMapperBuilder.json().build(), 100, Duration.ofMinutes(5), true, new SimpleMeterRegistry());
+
     @InjectMocks
     private UserController userController;
 
@@ -169,6 +192,110 @@ public class UserControllerTest {
         verify(userMapper, times(1)).toDTO(testUser);
     }
 
+    @Test
+    void getUserById_shouldServeRepeatedReadsFromEncodedCache() {
+        when(userUseCase.getUserById(USER_ID)).thenReturn(Mono.just(testUser));
+        when(userMapper.toDTO(testUser)).thenReturn(testUserResponseDTO);
+
+        webTestClient.get().uri("/api/users/{id}", USER_ID).exchange().expectStatus().isOk();
+        byte[] gzipped = webTestClient.get().uri("/api/users/{id}", USER_ID)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .expectBody().returnResult().getResponseBody();
+
+        assertThat(gunzip(gzipped)).contains("\"username\":\"testuser\"");
+        verify(userUseCase, times(1)).getUserById(USER_ID);
+        verify(userMapper, times(1)).toDTO(testUser);
+
+        encodedUserResponseCache.evicted(USER_ID);
+        webTestClient.get().uri("/api/users/{id}", USER_ID).exchange().expectStatus().isOk();
+        verify(userUseCase, times(2)).getUserById(USER_ID);
+    }
+
+    @Test
+    void getUserById_shouldNotGzip_whenTheClientRefusesGzip() {
+        when(userUseCase.getUserById(USER_ID)).thenReturn(Mono.just(testUser));
+        when(userMapper.toDTO(testUser)).thenReturn(testUserResponseDTO);
+
+        for (String acceptEncoding : new String[] {"gzip;q=0", "identity;q=1, *;q=0, x-gzip;q=0", "*;q=0", "br"}) {
+            webTestClient.get().uri("/api/users/{id}", USER_ID)
+                    .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().doesNotExist(HttpHeaders.CONTENT_ENCODING)
+                    .expectHeader().value(HttpHeaders.ETAG, etag -> assertThat(etag).doesNotEndWith("-gz\""))
+                    .expectBody(UserResponseDTO.class)
+                    .isEqualTo(testUserResponseDTO);
+        }
+
+        webTestClient.get().uri("/api/users/{id}", USER_ID)
+                .header(HttpHeaders.ACCEPT_ENCODING, "identity;q=0.5, x-gzip;q=0.8")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+
+    private static String gunzip(byte[] body) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void getUserById_shouldAnswerNotModifiedFromVersionLookup() {
+        when(userUseCase.getUserById(USER_ID)).thenReturn(Mono.just(testUser));
+        when(userMapper.toDTO(testUser)).thenReturn(testUserResponseDTO);
+        when(userUseCase.getUserVersion(USER_ID)).thenReturn(Mono.just(testUser.getUpdatedAt()));
+
+        String etag = webTestClient.get().uri("/api/users/{id}", USER_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().cacheControl(org.springframework.http.CacheControl.noCache().cachePrivate())
+                .returnResult(String.class).getResponseHeaders().getETag();
+        encodedUserResponseCache.evicted(USER_ID);
+
+        webTestClient.get().uri("/api/users/{id}", USER_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag);
+
+        verify(userUseCase, times(1)).getUserById(USER_ID);
+        verify(userUseCase, times(1)).getUserVersion(USER_ID);
+    }
+
+    @Test
+    void checkUserExists_shouldReturnETagAndHonourIfNoneMatch() {
+        when(userUseCase.userExists(USER_ID)).thenReturn(Mono.just(true));
+
+        String etag = webTestClient.get().uri("/api/users/{id}/exists", USER_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().cacheControl(CacheControl.maxAge(Duration.ofSeconds(30)).cachePrivate())
+                .expectBody(Boolean.class).isEqualTo(true)
+                .returnResult().getResponseHeaders().getETag();
+
+        webTestClient.get().uri("/api/users/{id}/exists", USER_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void checkUserExists_shouldNotLetCachesKeepANegativeAnswer() {
+        when(userUseCase.userExists(USER_ID)).thenReturn(Mono.just(false));
+
+        webTestClient.get().uri("/api/users/{id}/exists", USER_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().cacheControl(CacheControl.noCache().cachePrivate())
+                .expectBody(Boolean.class).isEqualTo(false);
+    }
+
     @Test
     void getUserById_shouldReturnNotFound() {
         when(userUseCase.getUserById(USER_ID)).thenReturn(Mono.error(new UserNotFoundException("User not found")));
@@ -310,4 +437,65 @@ public class UserControllerTest {
 
         verify(userUseCase, times(1)).deleteUserById(USER_ID);
     }
-}
\ No newline at end of file
+
+    @Test
+    void deactivateUsers_shouldReturnAffectedCount() {
+        UserStatusFilterRequestDTO filterRequestDTO = UserStatusFilterRequestDTO.builder()
+                .emailDomain("churned.example.com")
+                .build();
+        UserFilter filter = UserFilter.builder().emailDomain("churned.example.com").build();
+
+        when(userMapper.toFilter(any(UserStatusFilterRequestDTO.class))).thenReturn(filter);
+        when(userUseCase.deactivateUsers(filter)).thenReturn(Mono.just(42L));
+
+        webTestClient.post().uri("/api/users/deactivate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(filterRequestDTO)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.active").isEqualTo(false)
+                .jsonPath("$.affected").isEqualTo(42);
+
+        verify(userUseCase, times(1)).deactivateUsers(filter);
+    }
+
+    @Test
+    void reactivateUsers_shouldReturnBadRequest_whenFilterIsEmpty() {
+        UserFilter filter = UserFilter.builder().build();
+
+        when(userMapper.toFilter(any(UserStatusFilterRequestDTO.class))).thenReturn(filter);
+        when(userUseCase.reactivateUsers(filter))
+                .thenReturn(Mono.error(new InvalidRequestException("At least one filter criterion is required for a bulk status update")));
+
+        webTestClient.post().uri("/api/users/reactivate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserStatusFilterRequestDTO())
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userUseCase, times(1)).reactivateUsers(filter);
+    }
+
+    @Test
+    void deactivateUsers_shouldReturnBadRequest_whenAnIdIsMalformed() {
+        UserStatusFilterRequestDTO filterRequestDTO = UserStatusFilterRequestDTO.builder()
+                .ids(Collections.singletonList("not-a-uuid"))
+                .build();
+        UserFilter filter = UserFilter.builder().ids(Collections.singletonList("not-a-uuid")).build();
+
+        when(userMapper.toFilter(any(UserStatusFilterRequestDTO.class))).thenReturn(filter);
+        when(userUseCase.deactivateUsers(filter))
+                .thenReturn(Mono.error(new InvalidRequestException("Invalid user id: not-a-uuid")));
+
+        webTestClient.post().uri("/api/users/deactivate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(filterRequestDTO)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid user id: not-a-uuid");
+
+        verify(userUseCase, times(1)).deactivateUsers(filter);
+    }
+}
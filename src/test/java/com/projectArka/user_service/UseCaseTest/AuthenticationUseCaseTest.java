@@ -4,11 +4,22 @@ import com.projectArka.user_service.application.dto.LoginRequestDTO;
 import com.projectArka.user_service.application.dto.UserRegisterRequestDTO;
 import com.projectArka.user_service.application.mapper.IUserMapper;
 import com.projectArka.user_service.application.port.out.JwtServicePort;
+import com.projectArka.user_service.application.port.out.LoginActivityPort;
+import com.projectArka.user_service.application.port.out.RefreshTokenClaims;
+import com.projectArka.user_service.application.port.out.TokenClaims;
+import com.projectArka.user_service.application.port.out.TokenRevocationPort;
+import com.projectArka.user_service.application.port.out.VerifiedCredentialsPort;
+import com.projectArka.user_service.application.port.out.PasswordHasherPort;
 import com.projectArka.user_service.application.usecase.AuthenticationUseCase;
+import com.projectArka.user_service.domain.exception.HashingCapacityExceededException;
 import com.projectArka.user_service.domain.exception.InvalidCredentialsException;
+import com.projectArka.user_service.domain.exception.InvalidRequestException;
 import com.projectArka.user_service.domain.exception.UserAlreadyExistsException;
+import com.projectArka.user_service.domain.exception.UserNotFoundException;
+import com.projectArka.user_service.domain.model.RefreshToken;
 import com.projectArka.user_service.domain.model.Role;
 import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.domain.port.out.RefreshTokenRepositoryPort;
 import com.projectArka.user_service.domain.port.out.RoleRepositoryPort;
 import com.projectArka.user_service.domain.port.out.UserRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,15 +29,17 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -38,7 +51,7 @@ public class AuthenticationUseCaseTest {
     private UserRepositoryPort userRepositoryPort;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasherPort passwordHasher;
 
     @Mock
     private RoleRepositoryPort roleRepositoryPort;
@@ -48,6 +61,19 @@ public class AuthenticationUseCaseTest {
 
     @Mock
     private IUserMapper userMapper;
+
+    @Mock
+    private LoginActivityPort loginActivityPort;
+
+    @Mock
+    private VerifiedCredentialsPort verifiedCredentials;
+
+    @Mock
+    private RefreshTokenRepositoryPort refreshTokenRepositoryPort;
+
+    @Mock
+    private TokenRevocationPort tokenRevocationPort;
+
     @InjectMocks
     private AuthenticationUseCase authenticationUseCase;
 
@@ -58,6 +84,7 @@ public class AuthenticationUseCaseTest {
     private final String USER_ID = UUID.randomUUID().toString();
     private final String ROLE_ID = UUID.randomUUID().toString();
     private final String MOCKED_TOKEN = "mocked.jwt.token";
+    private final String MOCKED_REFRESH_TOKEN = "mocked.refresh.token";
 
     @BeforeEach
     void setUp() {
@@ -80,6 +107,14 @@ public class AuthenticationUseCaseTest {
 
         loginRequestDTO = new LoginRequestDTO(
                 "tester", "raw_password");
+
+        lenient().when(jwtServicePort.refreshTokenTtl()).thenReturn(Duration.ofDays(7));
+        lenient().when(refreshTokenRepositoryPort.save(any(RefreshToken.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.<RefreshToken>getArgument(0).toBuilder()
+                        .id(UUID.randomUUID().toString())
+                        .build()));
+        lenient().when(jwtServicePort.generateRefreshToken(any(User.class), any(RefreshToken.class)))
+                .thenReturn(Mono.just(MOCKED_REFRESH_TOKEN));
     }
 
     @Test
@@ -95,7 +130,7 @@ public class AuthenticationUseCaseTest {
 
         when(userRepositoryPort.findByUsername(anyString())).thenReturn(Mono.empty());
         when(userRepositoryPort.findByEmail(anyString())).thenReturn(Mono.empty());
-        when(passwordEncoder.encode(registerRequestDTO.getPassword())).thenReturn("encoded_rawpassword");
+        when(passwordHasher.encode(registerRequestDTO.getPassword())).thenReturn(Mono.just("encoded_rawpassword"));
 
         when(userMapper.toDomain(any(UserRegisterRequestDTO.class))).thenReturn(userMappedFromDto);
 
@@ -121,7 +156,7 @@ public class AuthenticationUseCaseTest {
 
         verify(userRepositoryPort, times(1)).findByUsername(registerRequestDTO.getUsername());
         verify(userRepositoryPort, times(1)).findByEmail(registerRequestDTO.getEmail());
-        verify(passwordEncoder, times(1)).encode(registerRequestDTO.getPassword());
+        verify(passwordHasher, times(1)).encode(registerRequestDTO.getPassword());
         verify(userMapper, times(1)).toDomain(registerRequestDTO);
         verify(roleRepositoryPort, times(1)).findByName("ROLE_USER");
 
@@ -149,7 +184,7 @@ public class AuthenticationUseCaseTest {
 
         verify(userRepositoryPort, times(1)).findByUsername(registerRequestDTO.getUsername());
         verify(userRepositoryPort, times(1)).findByEmail(registerRequestDTO.getEmail());
-        verify(passwordEncoder, never()).encode(anyString());
+        verify(passwordHasher, never()).encode(anyString());
         verify(userMapper, never()).toDomain(any(UserRegisterRequestDTO.class));
         verify(roleRepositoryPort, never()).findByName(anyString());
         verify(userRepositoryPort, never()).save(any(User.class));
@@ -168,7 +203,7 @@ public class AuthenticationUseCaseTest {
 
         verify(userRepositoryPort, times(1)).findByUsername(registerRequestDTO.getUsername());
         verify(userRepositoryPort, times(1)).findByEmail(registerRequestDTO.getEmail());
-        verify(passwordEncoder, never()).encode(anyString());
+        verify(passwordHasher, never()).encode(anyString());
         verify(userMapper, never()).toDomain(any(UserRegisterRequestDTO.class));
         verify(roleRepositoryPort, never()).findByName(anyString());
         verify(userRepositoryPort, never()).save(any(User.class));
@@ -188,7 +223,7 @@ public class AuthenticationUseCaseTest {
 
         when(userRepositoryPort.findByUsername(anyString())).thenReturn(Mono.empty());
         when(userRepositoryPort.findByEmail(anyString())).thenReturn(Mono.empty());
-        when(passwordEncoder.encode(registerRequestDTO.getPassword())).thenReturn("encoded_rawpassword");
+        when(passwordHasher.encode(registerRequestDTO.getPassword())).thenReturn(Mono.just("encoded_rawpassword"));
         when(userMapper.toDomain(any(UserRegisterRequestDTO.class))).thenReturn(userMappedFromDto);
         when(roleRepositoryPort.findByName("ROLE_USER")).thenReturn(Mono.empty());
 
@@ -199,7 +234,7 @@ public class AuthenticationUseCaseTest {
 
         verify(userRepositoryPort, times(1)).findByUsername(registerRequestDTO.getUsername());
         verify(userRepositoryPort, times(1)).findByEmail(registerRequestDTO.getEmail());
-        verify(passwordEncoder, times(1)).encode(registerRequestDTO.getPassword());
+        verify(passwordHasher, times(1)).encode(registerRequestDTO.getPassword());
         verify(userMapper, times(1)).toDomain(registerRequestDTO);
         verify(roleRepositoryPort, times(1)).findByName("ROLE_USER");
         verify(userRepositoryPort, never()).save(any(User.class));
@@ -210,14 +245,89 @@ public class AuthenticationUseCaseTest {
     @Test
     void authenticate_shouldReturnUser_whenCredentialsAreValid() {
         when(userRepositoryPort.findByUsername(loginRequestDTO.getUsername())).thenReturn(Mono.just(testUser));
-        when(passwordEncoder.matches(loginRequestDTO.getPassword(), testUser.getPassword())).thenReturn(true);
+        when(passwordHasher.matches(loginRequestDTO.getPassword(), testUser.getPassword())).thenReturn(Mono.just(true));
 
         StepVerifier.create(authenticationUseCase.authenticate(loginRequestDTO.getUsername(), loginRequestDTO.getPassword()))
                 .expectNext(testUser)
                 .verifyComplete();
 
         verify(userRepositoryPort, times(1)).findByUsername(loginRequestDTO.getUsername());
-        verify(passwordEncoder, times(1)).matches(loginRequestDTO.getPassword(), testUser.getPassword());
+        verify(passwordHasher, times(1)).matches(loginRequestDTO.getPassword(), testUser.getPassword());
+        verify(loginActivityPort).recordSuccess(testUser.getId());
+        verify(loginActivityPort, never()).recordFailure(anyString());
+    }
+
+    @Test
+    void authenticate_shouldSkipHashing_whenCredentialsWereRecentlyVerified() {
+        when(userRepositoryPort.findByUsername(loginRequestDTO.getUsername())).thenReturn(Mono.just(testUser));
+        when(verifiedCredentials.isVerified(testUser, loginRequestDTO.getPassword())).thenReturn(true);
+
+        StepVerifier.create(authenticationUseCase.authenticate(loginRequestDTO.getUsername(), loginRequestDTO.getPassword()))
+                .expectNext(testUser)
+                .verifyComplete();
+
+        verify(passwordHasher, never()).matches(anyString(), anyString());
+        verify(loginActivityPort).recordSuccess(testUser.getId());
+    }
+
+    @Test
+    void authenticate_shouldRememberOnlyVerifiedCredentials() {
+        when(userRepositoryPort.findByUsername(loginRequestDTO.getUsername())).thenReturn(Mono.just(testUser));
+        when(passwordHasher.matches(loginRequestDTO.getPassword(), testUser.getPassword()))
+                .thenReturn(Mono.just(false)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(authenticationUseCase.authenticate(loginRequestDTO.getUsername(), loginRequestDTO.getPassword()))
+                .expectError(InvalidCredentialsException.class)
+                .verify();
+        verify(verifiedCredentials, never()).remember(any(User.class), anyString());
+
+        StepVerifier.create(authenticationUseCase.authenticate(loginRequestDTO.getUsername(), loginRequestDTO.getPassword()))
+                .expectNext(testUser)
+                .verifyComplete();
+        verify(verifiedCredentials).remember(testUser, loginRequestDTO.getPassword());
+    }
+
+    @Test
+    void authenticate_shouldUpgradeOutdatedHash_afterSuccessfulLogin() {
+        when(userRepositoryPort.findByUsername(loginRequestDTO.getUsername())).thenReturn(Mono.just(testUser));
+        when(passwordHasher.matches(loginRequestDTO.getPassword(), testUser.getPassword())).thenReturn(Mono.just(true));
+        when(passwordHasher.needsRehash(testUser.getPassword())).thenReturn(true);
+        when(passwordHasher.encode(loginRequestDTO.getPassword())).thenReturn(Mono.just("{bcrypt}rehashed"));
+        when(userRepositoryPort.updatePassword(testUser.getId(), testUser.getPassword(), "{bcrypt}rehashed")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(authenticationUseCase.authenticate(loginRequestDTO.getUsername(), loginRequestDTO.getPassword()))
+                .expectNext(testUser)
+                .verifyComplete();
+
+        verify(userRepositoryPort, timeout(1000)).updatePassword(testUser.getId(), testUser.getPassword(), "{bcrypt}rehashed");
+    }
+
+    @Test
+    void authenticate_shouldStillSucceed_whenHashUpgradeFails() {
+        when(userRepositoryPort.findByUsername(loginRequestDTO.getUsername())).thenReturn(Mono.just(testUser));
+        when(passwordHasher.matches(loginRequestDTO.getPassword(), testUser.getPassword())).thenReturn(Mono.just(true));
+        when(passwordHasher.needsRehash(testUser.getPassword())).thenReturn(true);
+        when(passwordHasher.encode(loginRequestDTO.getPassword()))
+                .thenReturn(Mono.error(new HashingCapacityExceededException("busy", Duration.ofSeconds(1))));
+
+        StepVerifier.create(authenticationUseCase.authenticate(loginRequestDTO.getUsername(), loginRequestDTO.getPassword()))
+                .expectNext(testUser)
+                .verifyComplete();
+
+        verify(userRepositoryPort, never()).updatePassword(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void authenticate_shouldNotRehash_whenPasswordMismatch() {
+        when(userRepositoryPort.findByUsername(loginRequestDTO.getUsername())).thenReturn(Mono.just(testUser));
+        when(passwordHasher.matches(loginRequestDTO.getPassword(), testUser.getPassword())).thenReturn(Mono.just(false));
+
+        StepVerifier.create(authenticationUseCase.authenticate(loginRequestDTO.getUsername(), loginRequestDTO.getPassword()))
+                .expectError(InvalidCredentialsException.class)
+                .verify();
+
+        verify(passwordHasher, never()).needsRehash(anyString());
+        verify(passwordHasher, never()).encode(anyString());
     }
 
     @Test
@@ -230,13 +340,13 @@ public class AuthenticationUseCaseTest {
                 .verify();
 
         verify(userRepositoryPort, times(1)).findByUsername(loginRequestDTO.getUsername());
-        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(passwordHasher, never()).matches(anyString(), anyString());
     }
 
     @Test
     void authenticate_shouldThrowInvalidCredentialsException_whenPasswordMismatch() {
         when(userRepositoryPort.findByUsername(loginRequestDTO.getUsername())).thenReturn(Mono.just(testUser));
-        when(passwordEncoder.matches(loginRequestDTO.getPassword(), testUser.getPassword())).thenReturn(false);
+        when(passwordHasher.matches(loginRequestDTO.getPassword(), testUser.getPassword())).thenReturn(Mono.just(false));
 
         StepVerifier.create(authenticationUseCase.authenticate(loginRequestDTO.getUsername(), loginRequestDTO.getPassword()))
                 .expectErrorMatches(e -> e instanceof InvalidCredentialsException &&
@@ -244,14 +354,16 @@ public class AuthenticationUseCaseTest {
                 .verify();
 
         verify(userRepositoryPort, times(1)).findByUsername(loginRequestDTO.getUsername());
-        verify(passwordEncoder, times(1)).matches(loginRequestDTO.getPassword(), testUser.getPassword());
+        verify(passwordHasher, times(1)).matches(loginRequestDTO.getPassword(), testUser.getPassword());
+        verify(loginActivityPort).recordFailure(testUser.getId());
+        verify(loginActivityPort, never()).recordSuccess(anyString());
     }
 
 
     @Test
     void authenticateAndGenerateToken_shouldReturnAuthResponseSuccessfully() {
         when(userRepositoryPort.findByUsername(loginRequestDTO.getUsername())).thenReturn(Mono.just(testUser));
-        when(passwordEncoder.matches(loginRequestDTO.getPassword(), testUser.getPassword())).thenReturn(true);
+        when(passwordHasher.matches(loginRequestDTO.getPassword(), testUser.getPassword())).thenReturn(Mono.just(true));
         when(jwtServicePort.generateToken(testUser)).thenReturn(Mono.just(MOCKED_TOKEN));
 
         StepVerifier.create(authenticationUseCase.authenticateAndGenerateToken(loginRequestDTO))
@@ -264,7 +376,7 @@ public class AuthenticationUseCaseTest {
                 .verifyComplete();
 
         verify(userRepositoryPort, times(1)).findByUsername(loginRequestDTO.getUsername());
-        verify(passwordEncoder, times(1)).matches(loginRequestDTO.getPassword(), testUser.getPassword());
+        verify(passwordHasher, times(1)).matches(loginRequestDTO.getPassword(), testUser.getPassword());
         verify(jwtServicePort, times(1)).generateToken(testUser);
     }
 
@@ -278,7 +390,149 @@ public class AuthenticationUseCaseTest {
                 .verify();
 
         verify(userRepositoryPort, times(1)).findByUsername(loginRequestDTO.getUsername());
-        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(passwordHasher, never()).matches(anyString(), anyString());
         verify(jwtServicePort, never()).generateToken(any(User.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void authenticateAndGenerateToken_shouldIssueRefreshTokenInNewFamily() {
+        when(userRepositoryPort.findByUsername(loginRequestDTO.getUsername())).thenReturn(Mono.just(testUser));
+        when(passwordHasher.matches(loginRequestDTO.getPassword(), testUser.getPassword())).thenReturn(Mono.just(true));
+        when(jwtServicePort.generateToken(testUser)).thenReturn(Mono.just(MOCKED_TOKEN));
+
+        StepVerifier.create(authenticationUseCase.authenticateAndGenerateToken(loginRequestDTO))
+                .expectNextMatches(response -> MOCKED_REFRESH_TOKEN.equals(response.getRefreshToken()))
+                .verifyComplete();
+
+        ArgumentCaptor<RefreshToken> stored = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepositoryPort).save(stored.capture());
+        assertThat(stored.getValue().getUserId()).isEqualTo(USER_ID);
+        assertThat(stored.getValue().getFamilyId()).isNotNull();
+        assertThat(stored.getValue().getExpiresAt()).isAfter(LocalDateTime.now().plusDays(6));
+    }
+
+    @Test
+    void refresh_shouldRotateTokenWithinFamilyWithoutCheckingPassword() {
+        RefreshTokenClaims claims = RefreshTokenClaims.builder().tokenId("token-1").familyId("family-1").userId(USER_ID).build();
+        when(jwtServicePort.verifyRefreshToken("refresh")).thenReturn(Mono.just(claims));
+        when(refreshTokenRepositoryPort.markRotated("token-1")).thenReturn(Mono.just(true));
+        when(userRepositoryPort.findById(USER_ID)).thenReturn(Mono.just(testUser));
+        when(jwtServicePort.generateToken(testUser)).thenReturn(Mono.just(MOCKED_TOKEN));
+
+        StepVerifier.create(authenticationUseCase.refresh("refresh"))
+                .expectNextMatches(response -> MOCKED_TOKEN.equals(response.getToken())
+                        && MOCKED_REFRESH_TOKEN.equals(response.getRefreshToken()))
+                .verifyComplete();
+
+        verify(refreshTokenRepositoryPort).save(argThat(token -> "family-1".equals(token.getFamilyId())));
+        verify(passwordHasher, never()).matches(anyString(), anyString());
+    }
+
+    @Test
+    void refresh_shouldRevokeFamily_whenRotatedTokenIsReused() {
+        RefreshTokenClaims claims = RefreshTokenClaims.builder().tokenId("token-1").familyId("family-1").userId(USER_ID).build();
+        when(jwtServicePort.verifyRefreshToken("refresh")).thenReturn(Mono.just(claims));
+        when(refreshTokenRepositoryPort.markRotated("token-1")).thenReturn(Mono.just(false));
+        when(refreshTokenRepositoryPort.findById("token-1")).thenReturn(Mono.just(RefreshToken.builder()
+                .id("token-1").familyId("family-1").userId(USER_ID)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .rotatedAt(LocalDateTime.now().minusMinutes(1))
+                .build()));
+        when(refreshTokenRepositoryPort.revokeFamily("family-1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(authenticationUseCase.refresh("refresh"))
+                .expectError(InvalidCredentialsException.class)
+                .verify();
+
+        verify(refreshTokenRepositoryPort).revokeFamily("family-1");
+        verify(jwtServicePort, never()).generateToken(any(User.class));
+    }
+
+    @Test
+    void refresh_shouldRejectTokenThatDoesNotVerify() {
+        when(jwtServicePort.verifyRefreshToken("forged")).thenReturn(Mono.empty());
+
+        StepVerifier.create(authenticationUseCase.refresh("forged"))
+                .expectError(InvalidCredentialsException.class)
+                .verify();
+
+        verify(refreshTokenRepositoryPort, never()).markRotated(anyString());
+    }
+
+    @Test
+    void logout_shouldRevokeAccessTokenAndRefreshFamily() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        when(jwtServicePort.verify(MOCKED_TOKEN)).thenReturn(Mono.just(TokenClaims.builder()
+                .subject("tester").userId(USER_ID).issuedAt(Instant.now()).expiresAt(expiresAt).build()));
+        when(jwtServicePort.verifyRefreshToken(MOCKED_REFRESH_TOKEN)).thenReturn(Mono.just(
+                RefreshTokenClaims.builder().tokenId("token-1").familyId("family-1").userId(USER_ID).build()));
+        when(tokenRevocationPort.revokeToken(MOCKED_TOKEN, expiresAt)).thenReturn(Mono.empty());
+        when(refreshTokenRepositoryPort.revokeFamily("family-1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(authenticationUseCase.logout(MOCKED_TOKEN, MOCKED_REFRESH_TOKEN))
+                .verifyComplete();
+
+        verify(tokenRevocationPort).revokeToken(MOCKED_TOKEN, expiresAt);
+        verify(refreshTokenRepositoryPort).revokeFamily("family-1");
+    }
+
+    @Test
+    void logout_shouldNotRevokeRefreshFamilyOfAnotherUser() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        when(jwtServicePort.verify(MOCKED_TOKEN)).thenReturn(Mono.just(TokenClaims.builder()
+                .subject("tester").userId(USER_ID).issuedAt(Instant.now()).expiresAt(expiresAt).build()));
+        when(jwtServicePort.verifyRefreshToken(MOCKED_REFRESH_TOKEN)).thenReturn(Mono.just(
+                RefreshTokenClaims.builder().tokenId("token-1").familyId("family-1").userId("someone-else").build()));
+        when(tokenRevocationPort.revokeToken(MOCKED_TOKEN, expiresAt)).thenReturn(Mono.empty());
+
+        StepVerifier.create(authenticationUseCase.logout(MOCKED_TOKEN, MOCKED_REFRESH_TOKEN))
+                .verifyComplete();
+
+        verify(refreshTokenRepositoryPort, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    void revokeAllTokens_shouldRevokeAccessAndRefreshTokensOfUser() {
+        when(userRepositoryPort.findById(USER_ID)).thenReturn(Mono.just(testUser));
+        when(tokenRevocationPort.revokeAllForUser(USER_ID)).thenReturn(Mono.empty());
+        when(refreshTokenRepositoryPort.revokeAllForUser(USER_ID)).thenReturn(Mono.empty());
+
+        StepVerifier.create(authenticationUseCase.revokeAllTokens(USER_ID))
+                .verifyComplete();
+
+        verify(tokenRevocationPort).revokeAllForUser(USER_ID);
+        verify(refreshTokenRepositoryPort).revokeAllForUser(USER_ID);
+    }
+
+    @Test
+    void revokeAllTokens_shouldFail_whenUserDoesNotExist() {
+        when(userRepositoryPort.findById(USER_ID)).thenReturn(Mono.empty());
+
+        StepVerifier.create(authenticationUseCase.revokeAllTokens(USER_ID))
+                .expectError(UserNotFoundException.class)
+                .verify();
+
+        verifyNoInteractions(tokenRevocationPort);
+    }
+
+    @Test
+    void checkAvailability_shouldReportEachRequestedIdentifier() {
+        when(userRepositoryPort.existsByUsername("taken")).thenReturn(Mono.just(true));
+        when(userRepositoryPort.existsByEmail("free@example.com")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(authenticationUseCase.checkAvailability("taken", "free@example.com"))
+                .expectNextMatches(response ->
+                        !response.getUsernameAvailable() && response.getEmailAvailable())
+                .verifyComplete();
+    }
+
+    @Test
+    void checkAvailability_shouldRejectRequestWithoutIdentifiers() {
+        StepVerifier.create(authenticationUseCase.checkAvailability(" ", null))
+                .expectError(InvalidRequestException.class)
+                .verify();
+
+        verify(userRepositoryPort, never()).existsByUsername(anyString());
+        verify(userRepositoryPort, never()).existsByEmail(anyString());
+    }
+}
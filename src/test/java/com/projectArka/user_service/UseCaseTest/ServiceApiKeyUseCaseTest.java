@@ -0,0 +1,99 @@
+package com.projectArka.user_service.UseCaseTest;
+
+import com.projectArka.user_service.application.dto.ServiceApiKeyRequestDTO;
+import com.projectArka.user_service.application.usecase.ServiceApiKeyUseCase;
+import com.projectArka.user_service.domain.exception.ServiceApiKeyAlreadyExistsException;
+import com.projectArka.user_service.domain.exception.ServiceApiKeyNotFoundException;
+import com.projectArka.user_service.domain.model.ServiceApiKey;
+import com.projectArka.user_service.domain.port.out.ServiceApiKeyRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ServiceApiKeyUseCaseTest {
+
+    @Mock
+    private ServiceApiKeyRepositoryPort serviceApiKeyRepositoryPort;
+
+    @InjectMocks
+    private ServiceApiKeyUseCase serviceApiKeyUseCase;
+
+    private final ServiceApiKey orders = ServiceApiKey.builder()
+            .id(UUID.randomUUID().toString())
+            .name("order-service")
+            .createdAt(LocalDateTime.now())
+            .build();
+
+    @Test
+    void issueKey_shouldStoreAndReturnANewRandomKey() {
+        when(serviceApiKeyRepositoryPort.save(eq("order-service"), anyString())).thenReturn(Mono.just(orders));
+
+        StepVerifier.create(serviceApiKeyUseCase.issueKey(new ServiceApiKeyRequestDTO("order-service")))
+                .assertNext(response -> {
+                    assertThat(response.getName()).isEqualTo("order-service");
+                    assertThat(response.getApiKey()).startsWith("sk_").hasSizeGreaterThan(40);
+                })
+                .verifyComplete();
+
+        ArgumentCaptor<String> stored = ArgumentCaptor.forClass(String.class);
+        verify(serviceApiKeyRepositoryPort).save(eq("order-service"), stored.capture());
+        assertThat(stored.getValue()).startsWith("sk_");
+    }
+
+    @Test
+    void issueKey_shouldFail_whenTheServiceAlreadyHasAKey() {
+        when(serviceApiKeyRepositoryPort.save(eq("order-service"), anyString())).thenReturn(Mono.empty());
+
+        StepVerifier.create(serviceApiKeyUseCase.issueKey(new ServiceApiKeyRequestDTO("order-service")))
+                .expectError(ServiceApiKeyAlreadyExistsException.class)
+                .verify();
+    }
+
+    @Test
+    void issueKey_shouldFail_whenAConcurrentIssueWinsTheUniqueConstraint() {
+        when(serviceApiKeyRepositoryPort.save(eq("order-service"), anyString()))
+                .thenReturn(Mono.error(new DuplicateKeyException("duplicate key value violates unique constraint \"service_api_key_name_key\"")));
+
+        StepVerifier.create(serviceApiKeyUseCase.issueKey(new ServiceApiKeyRequestDTO("order-service")))
+                .expectErrorMatches(e -> e instanceof ServiceApiKeyAlreadyExistsException
+                        && e.getMessage().contains("order-service"))
+                .verify();
+    }
+
+    @Test
+    void listKeys_shouldNeverExposeKeys() {
+        when(serviceApiKeyRepositoryPort.findAll()).thenReturn(Flux.just(orders));
+
+        StepVerifier.create(serviceApiKeyUseCase.listKeys())
+                .assertNext(response -> {
+                    assertThat(response.getName()).isEqualTo("order-service");
+                    assertThat(response.getApiKey()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void revokeKey_shouldFail_whenTheServiceHasNoKey() {
+        when(serviceApiKeyRepositoryPort.deleteByName("unknown")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(serviceApiKeyUseCase.revokeKey("unknown"))
+                .expectError(ServiceApiKeyNotFoundException.class)
+                .verify();
+    }
+}
@@ -1,10 +1,13 @@
 package com.projectArka.user_service.UseCaseTest;
 
+import com.projectArka.user_service.application.port.out.PasswordHasherPort;
 import com.projectArka.user_service.application.usecase.UserUseCase;
+import com.projectArka.user_service.domain.exception.InvalidRequestException;
 import com.projectArka.user_service.domain.exception.UserAlreadyExistsException;
 import com.projectArka.user_service.domain.exception.UserNotFoundException;
 import com.projectArka.user_service.domain.model.Role;
 import com.projectArka.user_service.domain.model.User;
+import com.projectArka.user_service.domain.model.UserFilter;
 import com.projectArka.user_service.domain.port.out.RoleRepositoryPort;
 import com.projectArka.user_service.domain.port.out.UserRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,17 +16,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -37,7 +42,7 @@ public class UserUseCaseTest {
     private RoleRepositoryPort roleRepositoryPort;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasherPort passwordHasher;
 
     @InjectMocks
     private UserUseCase userUseCase;
@@ -68,7 +73,7 @@ public class UserUseCaseTest {
     void createUser_shouldCreateUserSuccessfully() {
         when(userRepositoryPort.findByUsername(anyString())).thenReturn(Mono.empty());
         when(userRepositoryPort.findByEmail(anyString())).thenReturn(Mono.empty());
-        when(passwordEncoder.encode(anyString())).thenReturn("encoded_password");
+        when(passwordHasher.encode(anyString())).thenReturn(Mono.just("encoded_password"));
         when(roleRepositoryPort.findByName("ROLE_USER")).thenReturn(Mono.just(testRole));
         when(userRepositoryPort.save(any(User.class))).thenReturn(Mono.just(testUser.toBuilder().password("encoded_password").build()));
 
@@ -82,7 +87,7 @@ public class UserUseCaseTest {
 
         verify(userRepositoryPort, times(1)).findByUsername(testUser.getUsername());
         verify(userRepositoryPort, times(1)).findByEmail(testUser.getEmail());
-        verify(passwordEncoder, times(1)).encode(testUser.getPassword());
+        verify(passwordHasher, times(1)).encode(testUser.getPassword());
         verify(roleRepositoryPort, times(1)).findByName("ROLE_USER");
         verify(userRepositoryPort, times(1)).save(any(User.class));
     }
@@ -100,7 +105,7 @@ public class UserUseCaseTest {
 
         verify(userRepositoryPort, times(1)).findByUsername(testUser.getUsername());
         verify(userRepositoryPort, times(1)).findByEmail(testUser.getEmail());
-        verify(passwordEncoder, never()).encode(anyString());
+        verify(passwordHasher, never()).encode(anyString());
         verify(roleRepositoryPort, never()).findByName(anyString());
         verify(userRepositoryPort, never()).save(any(User.class));
     }
@@ -117,7 +122,7 @@ public class UserUseCaseTest {
 
         verify(userRepositoryPort, times(1)).findByUsername(testUser.getUsername());
         verify(userRepositoryPort, times(1)).findByEmail(testUser.getEmail());
-        verify(passwordEncoder, never()).encode(anyString());
+        verify(passwordHasher, never()).encode(anyString());
         verify(roleRepositoryPort, never()).findByName(anyString());
         verify(userRepositoryPort, never()).save(any(User.class));
     }
@@ -126,7 +131,7 @@ public class UserUseCaseTest {
     void createUser_shouldThrowIllegalStateException_whenDefaultRoleNotFound() {
         when(userRepositoryPort.findByUsername(anyString())).thenReturn(Mono.empty());
         when(userRepositoryPort.findByEmail(anyString())).thenReturn(Mono.empty());
-        when(passwordEncoder.encode(anyString())).thenReturn("encoded_password");
+        when(passwordHasher.encode(anyString())).thenReturn(Mono.just("encoded_password"));
         when(roleRepositoryPort.findByName("ROLE_USER")).thenReturn(Mono.empty());
 
         StepVerifier.create(userUseCase.createUser(testUser))
@@ -136,7 +141,7 @@ public class UserUseCaseTest {
 
         verify(userRepositoryPort, times(1)).findByUsername(testUser.getUsername());
         verify(userRepositoryPort, times(1)).findByEmail(testUser.getEmail());
-        verify(passwordEncoder, times(1)).encode(testUser.getPassword());
+        verify(passwordHasher, times(1)).encode(testUser.getPassword());
         verify(roleRepositoryPort, times(1)).findByName("ROLE_USER");
         verify(userRepositoryPort, never()).save(any(User.class));
     }
@@ -219,7 +224,7 @@ public class UserUseCaseTest {
         User userToUpdate = testUser.toBuilder().password("new_raw_password").email("updated@example.com").build();
 
         when(userRepositoryPort.findById(USER_ID)).thenReturn(Mono.just(existingUser));
-        when(passwordEncoder.encode("new_raw_password")).thenReturn("new_encoded_password");
+        when(passwordHasher.encode("new_raw_password")).thenReturn(Mono.just("new_encoded_password"));
         when(userRepositoryPort.save(any(User.class))).thenReturn(Mono.just(updatedUser));
 
         StepVerifier.create(userUseCase.updateUser(userToUpdate))
@@ -230,7 +235,7 @@ public class UserUseCaseTest {
                 .verifyComplete();
 
         verify(userRepositoryPort, times(1)).findById(USER_ID);
-        verify(passwordEncoder, times(1)).encode("new_raw_password");
+        verify(passwordHasher, times(1)).encode("new_raw_password");
         verify(userRepositoryPort, times(1)).save(any(User.class));
     }
 
@@ -251,7 +256,7 @@ public class UserUseCaseTest {
                 .verifyComplete();
 
         verify(userRepositoryPort, times(1)).findById(USER_ID);
-        verify(passwordEncoder, never()).encode(anyString());
+        verify(passwordHasher, never()).encode(anyString());
         verify(userRepositoryPort, times(1)).save(any(User.class));
     }
 
@@ -321,4 +326,54 @@ public class UserUseCaseTest {
         verify(userRepositoryPort, times(1)).findById(USER_ID);
         verify(userRepositoryPort, times(1)).deleteById(USER_ID);
     }
-}
\ No newline at end of file
+
+    @Test
+    void deactivateUsers_shouldReturnAffectedCount() {
+        UserFilter filter = UserFilter.builder().emailDomain("churned.example.com").build();
+
+        when(userRepositoryPort.updateActiveByFilter(filter, false)).thenReturn(Flux.just(USER_ID, UUID.randomUUID().toString()));
+
+        StepVerifier.create(userUseCase.deactivateUsers(filter))
+                .expectNext(2L)
+                .verifyComplete();
+
+        verify(userRepositoryPort, times(1)).updateActiveByFilter(filter, false);
+    }
+
+    @Test
+    void reactivateUsers_shouldReturnAffectedCount() {
+        UserFilter filter = UserFilter.builder().ids(List.of(USER_ID)).build();
+
+        when(userRepositoryPort.updateActiveByFilter(filter, true)).thenReturn(Flux.just(USER_ID));
+
+        StepVerifier.create(userUseCase.reactivateUsers(filter))
+                .expectNext(1L)
+                .verifyComplete();
+
+        verify(userRepositoryPort, times(1)).updateActiveByFilter(filter, true);
+    }
+
+    @Test
+    void deactivateUsers_shouldThrowInvalidRequestException_whenFilterIsEmpty() {
+        StepVerifier.create(userUseCase.deactivateUsers(UserFilter.builder().build()))
+                .expectErrorMatches(e -> e instanceof InvalidRequestException &&
+                        e.getMessage().contains("At least one filter criterion is required"))
+                .verify();
+
+        verify(userRepositoryPort, never()).updateActiveByFilter(any(UserFilter.class), anyBoolean());
+    }
+
+    @Test
+    void deactivateUsers_shouldThrowInvalidRequestException_whenAnIdIsMalformed() {
+        UserFilter filter = UserFilter.builder()
+                .ids(Arrays.asList(UUID.randomUUID().toString(), "not-a-uuid"))
+                .build();
+
+        StepVerifier.create(userUseCase.deactivateUsers(filter))
+                .expectErrorMatches(e -> e instanceof InvalidRequestException &&
+                        e.getMessage().contains("not-a-uuid"))
+                .verify();
+
+        verify(userRepositoryPort, never()).updateActiveByFilter(any(UserFilter.class), anyBoolean());
+    }
+}